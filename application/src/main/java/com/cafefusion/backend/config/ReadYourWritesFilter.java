@@ -0,0 +1,84 @@
+package com.cafefusion.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives clients read-your-writes on top of a lagging replica.
+ * <p>
+ * Write requests (anything but GET/HEAD/OPTIONS) run pinned to the primary. Afterwards the client,
+ * identified by its Authorization header, stays pinned for the window, so e.g. the history page
+ * shows an order that was just placed. Anonymous clients are only pinned during their own writes.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    // Expired entries are purged once the map grows past this
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+
+    // Authorization header -> System.nanoTime() until which that client reads from the primary
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String client = request.getHeader("Authorization");
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+
+        if (!write && !wroteRecently(client)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+            if (write && client != null) {
+                recordWrite(client);
+            }
+        }
+    }
+
+    private boolean wroteRecently(String client) {
+        if (client == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(client);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(client, until);
+        return false;
+    }
+
+    private void recordWrite(String client) {
+        long now = System.nanoTime();
+        if (pinnedUntil.size() >= PURGE_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until - now <= 0);
+        }
+        pinnedUntil.put(client, now + windowNanos);
+    }
+}
@@ -0,0 +1,12 @@
+package com.cafefusion.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on @Scheduled jobs, e.g. the nightly order archiver.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
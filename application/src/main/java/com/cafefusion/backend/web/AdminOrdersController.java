@@ -1,17 +1,38 @@
 package com.cafefusion.backend.web;
 
 import com.cafefusion.backend.orders.api.OrdersApi;
+import com.cafefusion.backend.orders.api.model.AnalyticsGranularity;
+import com.cafefusion.backend.orders.api.model.BulkStatusUpdateRequest;
+import com.cafefusion.backend.orders.api.model.CursorPage;
 import com.cafefusion.backend.orders.api.model.OrderDto;
 import com.cafefusion.backend.orders.api.model.OrderStatus;
+import com.cafefusion.backend.orders.api.model.OrderStatusStatistics;
+import com.cafefusion.backend.orders.api.model.SalesAnalytics;
+import com.cafefusion.backend.orders.api.model.StatusUpdateResult;
 import com.cafefusion.backend.orders.api.model.UpdateOrderRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 
@@ -21,8 +42,14 @@ import java.util.Map;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminOrdersController {
 
+    private static final DateTimeFormatter EXPORT_FILE_DATE = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC);
+
     private final OrdersApi ordersApi;
 
+    private final KitchenOrderStream kitchenOrderStream;
+
+    private final ObjectMapper objectMapper;
+
     @GetMapping
     public Page<OrderDto> getAllOrders(Pageable pageable) {
         return  ordersApi.getOrders(pageable);
@@ -36,8 +63,43 @@ public class AdminOrdersController {
         return ordersApi.getOrdersByStatuses(statuses, pageable);
     }
 
+    /**
+     * Cursor-based variant of getAllOrders: no OFFSET and no count query, so deep pages stay fast.
+     */
+    @GetMapping("/cursor")
+    public CursorPage<OrderDto> getAllOrdersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ordersApi.getOrders(cursor, limit);
+    }
+
+    @GetMapping("/filter/cursor")
+    public CursorPage<OrderDto> getOrdersByStatusByCursor(
+            @RequestParam List<OrderStatus> statuses,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ordersApi.getOrdersByStatuses(statuses, cursor, limit);
+    }
+
+    /**
+     * Finished orders older than the archive horizon. They no longer appear in the listings above.
+     */
+    @GetMapping("/archive")
+    public CursorPage<OrderDto> getArchivedOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ordersApi.getArchivedOrders(cursor, limit);
+    }
+
+    @GetMapping("/archive/{id}")
+    public ResponseEntity<OrderDto> getArchivedOrderById(@PathVariable Long id) {
+        return ordersApi.getArchivedOrderById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/stats")
-    public Map<OrderStatus, Long> getStats(
+    public Map<OrderStatus, OrderStatusStatistics> getStats(
             @RequestParam(required = false) String start,
             @RequestParam(required = false) String end
     ) {
@@ -47,11 +109,77 @@ public class AdminOrdersController {
         return ordersApi.getOrderStatistics(startInstant, endInstant);
     }
 
+    /**
+     * Revenue series, top menu items and average basket for orders created in [start, end), cancelled ones excluded.
+     */
+    @GetMapping("/analytics")
+    public SalesAnalytics getSalesAnalytics(
+            @RequestParam String start,
+            @RequestParam String end,
+            @RequestParam(defaultValue = "DAY") AnalyticsGranularity granularity,
+            @RequestParam(defaultValue = "10") int top
+    ) {
+        return ordersApi.getSalesAnalytics(Instant.parse(start), Instant.parse(end), granularity, top);
+    }
+
+    /**
+     * Streams all orders created in [start, end) as CSV or NDJSON, straight from a DB cursor to the response.
+     * Meant for accounting: whole months at a time, in constant memory.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam String start,
+            @RequestParam String end,
+            @RequestParam(defaultValue = "CSV") OrderExportFormat format
+    ) {
+        Instant startInstant = Instant.parse(start);
+        Instant endInstant = Instant.parse(end);
+
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            format.writeHeader(writer);
+            ordersApi.exportOrders(startInstant, endInstant, order -> {
+                try {
+                    format.write(writer, order, objectMapper);
+                } catch (IOException e) {
+                    // The client went away: abort, which also closes the DB cursor
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+
+        String filename = "orders-" + EXPORT_FILE_DATE.format(startInstant)
+                + "-" + EXPORT_FILE_DATE.format(endInstant) + "." + format.extension();
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/kitchen")
     public Page<OrderDto> getKitchenOrders(Pageable pageable) {
         return ordersApi.getKitchenOrders(pageable);
     }
 
+    /**
+     * Live kitchen board: a "snapshot" event with the current kitchen orders, then an "order" event per change.
+     */
+    @GetMapping(path = "/kitchen/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamKitchenOrders() {
+        return kitchenOrderStream.subscribe();
+    }
+
+    /**
+     * Moves several orders to one status at once, e.g. a whole tray to READY_FOR_PICKUP.
+     * Always 200: the body tells per order whether it was updated.
+     */
+    @PutMapping("/status")
+    public List<StatusUpdateResult> bulkUpdateStatus(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        return ordersApi.bulkUpdateStatusValidated(request);
+    }
+
     @PutMapping("/{id}/status")
     public OrderDto updateStatus(
             @PathVariable Long id,
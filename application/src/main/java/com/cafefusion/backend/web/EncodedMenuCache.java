@@ -0,0 +1,75 @@
+package com.cafefusion.backend.web;
+
+import com.cafefusion.backend.menu.api.model.MenuContent;
+import com.cafefusion.backend.menu.api.model.MenuItemDto;
+import com.cafefusion.backend.menu.api.model.MenuVersion;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The menu as ready-to-send JSON bytes, plain and gzipped, so GET /api/v1/menu does no
+ * per-request serialization or compression.
+ * <p>
+ * Keyed by the menu version: the bytes are encoded once per menu change, by whichever request
+ * first sees the new version. The arrays are shared between requests and must never be modified.
+ */
+@Component
+@RequiredArgsConstructor
+public class EncodedMenuCache {
+
+    private final ObjectMapper objectMapper;
+
+    private volatile EncodedMenu encoded;
+
+    /**
+     * @param etag The menu version the bytes were encoded for.
+     */
+    record EncodedMenu(String etag, byte[] identity, byte[] gzip) {
+    }
+
+    /**
+     * The encoded menu, encoding it first if the menu has changed since.
+     * Version and items come from the same snapshot, so the bytes always match their ETag.
+     */
+    EncodedMenu get(MenuContent menu) {
+        MenuVersion version = menu.version();
+        EncodedMenu current = this.encoded;
+        if (current != null && current.etag().equals(version.etag())) {
+            return current;
+        }
+        // One request encodes a changed menu; the others wait for its result instead of repeating the work
+        synchronized (this) {
+            current = this.encoded;
+            if (current != null && current.etag().equals(version.etag())) {
+                return current;
+            }
+            current = encode(version.etag(), menu.items());
+            this.encoded = current;
+            return current;
+        }
+    }
+
+    private EncodedMenu encode(String etag, List<MenuItemDto> items) {
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(items);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(identity.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(identity);
+            }
+            return new EncodedMenu(etag, identity, compressed.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the menu", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
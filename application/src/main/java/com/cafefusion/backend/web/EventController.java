@@ -2,26 +2,80 @@ package com.cafefusion.backend.web;
 
 import com.cafefusion.backend.events.api.EventApi;
 import com.cafefusion.backend.events.api.model.CreateEventRequest;
+import com.cafefusion.backend.events.api.model.CreateEventSeriesRequest;
+import com.cafefusion.backend.events.api.model.EventAvailability;
 import com.cafefusion.backend.events.api.model.EventDto;
+import com.cafefusion.backend.events.api.model.EventPage;
+import com.cafefusion.backend.events.api.model.EventSeriesDto;
+import com.cafefusion.backend.events.api.model.EventsVersion;
+import com.cafefusion.backend.events.api.model.ReservationDto;
+import com.cafefusion.backend.events.api.model.ReserveSeatsRequest;
+import com.cafefusion.backend.events.api.model.UpcomingEvents;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/events")
-@RequiredArgsConstructor
 public class EventController {
 
     private final EventApi eventApi;
+    private final String eventsCacheControl;
 
+    public EventController(
+            EventApi eventApi,
+            @Value("${application.web.cache-control.events:no-cache}") String eventsCacheControl) {
+        this.eventApi = eventApi;
+        this.eventsCacheControl = eventsCacheControl;
+    }
+
+    /**
+     * Conditional GET: while the list's version is known in memory, a matching If-None-Match
+     * or If-Modified-Since is answered with 304 without querying the events.
+     */
     @GetMapping
-    public List<EventDto> getUpcomingEvents() {
-        return eventApi.getUpcomingEvents();
+    public ResponseEntity<List<EventDto>> getUpcomingEvents(WebRequest request) {
+        UpcomingEvents upcoming = null;
+        EventsVersion version = eventApi.getUpcomingEventsVersion().orElse(null);
+        if (version == null) {
+            upcoming = eventApi.getUpcomingEventsWithVersion();
+            version = upcoming.version();
+        }
+
+        if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .header(HttpHeaders.CACHE_CONTROL, eventsCacheControl)
+                    .build();
+        }
+
+        if (upcoming == null) {
+            upcoming = eventApi.getUpcomingEventsWithVersion();
+        }
+        return ResponseEntity.ok()
+                .eTag(upcoming.version().etag())
+                .lastModified(upcoming.version().lastModified())
+                .header(HttpHeaders.CACHE_CONTROL, eventsCacheControl)
+                .body(upcoming.events());
+    }
+
+    /**
+     * Calendar view: events starting in [from, to), as compact summaries, one page at a time.
+     */
+    @GetMapping("/calendar")
+    public EventPage getEventsBetween(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return eventApi.getEventsBetween(Instant.parse(from), Instant.parse(to), cursor, limit);
     }
 
     @GetMapping("/{id}")
@@ -31,6 +85,60 @@ public class EventController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/series/{id}")
+    public ResponseEntity<EventSeriesDto> getEventSeriesById(@PathVariable("id") Long seriesId) {
+        return eventApi.getEventSeriesById(seriesId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/series")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasRole('ADMIN')")
+    public EventSeriesDto createEventSeries(@Valid @RequestBody CreateEventSeriesRequest request) {
+        return eventApi.createEventSeries(request);
+    }
+
+    @DeleteMapping("/series/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void deleteEventSeries(@PathVariable("id") Long seriesId) {
+        eventApi.deleteEventSeries(seriesId);
+    }
+
+    /**
+     * Cancels one occurrence of a series, e.g. DELETE /api/v1/events/series/3/occurrences/2026-03-29T17:00:00Z
+     */
+    @DeleteMapping("/series/{id}/occurrences/{start}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void cancelOccurrence(@PathVariable("id") Long seriesId, @PathVariable("start") String start) {
+        eventApi.cancelOccurrence(seriesId, Instant.parse(start));
+    }
+
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<EventAvailability> getAvailability(@PathVariable("id") Long eventId) {
+        return eventApi.getAvailability(eventId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/reservations")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasRole('USER')")
+    public ReservationDto reserveSeats(
+            @PathVariable("id") Long eventId,
+            @Valid @RequestBody ReserveSeatsRequest request) {
+        return eventApi.reserveSeats(eventId, request);
+    }
+
+    @DeleteMapping("/reservations/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasRole('USER')")
+    public void cancelReservation(@PathVariable("id") Long reservationId) {
+        eventApi.cancelReservation(reservationId);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @PreAuthorize("hasRole('ADMIN')")
@@ -0,0 +1,186 @@
+package com.cafefusion.backend.web;
+
+import com.cafefusion.backend.orders.api.OrdersApi;
+import com.cafefusion.backend.orders.api.event.OrderChangedEvent;
+import com.cafefusion.backend.orders.api.model.OrderDto;
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes kitchen order changes to connected displays over Server-Sent Events.
+ * <p>
+ * A new subscriber gets one "snapshot" event with the current kitchen orders, then an "order" event
+ * per change. Changes are fanned out from committed {@link OrderChangedEvent}s, so steady-state
+ * streaming costs no queries. Each subscriber is drained on its own virtual thread: a slow display
+ * never blocks the publisher or other displays. While it lags, its pending changes are coalesced
+ * per order (only the latest state is kept), and it is disconnected once too many orders are pending.
+ */
+@Component
+@Slf4j
+public class KitchenOrderStream {
+
+    static final Set<OrderStatus> KITCHEN_STATUSES = Set.of(OrderStatus.IN_PROGRESS, OrderStatus.READY_FOR_PICKUP);
+
+    private final OrdersApi ordersApi;
+    private final Duration timeout;
+    private final int snapshotSize;
+    private final int maxPending;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public KitchenOrderStream(
+            OrdersApi ordersApi,
+            @Value("${application.kitchen.stream.timeout:PT30M}") Duration timeout,
+            @Value("${application.kitchen.stream.snapshot-size:100}") int snapshotSize,
+            @Value("${application.kitchen.stream.max-pending:500}") int maxPending) {
+        this.ordersApi = ordersApi;
+        this.timeout = timeout;
+        this.snapshotSize = snapshotSize;
+        this.maxPending = maxPending;
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Registered before the snapshot is read, so no change can fall in between;
+        // changes that arrive meanwhile are held back until the snapshot is sent
+        subscribers.add(subscriber);
+        try {
+            List<OrderDto> snapshot = ordersApi.getKitchenOrders(PageRequest.of(0, snapshotSize)).getContent();
+            emitter.send(SseEmitter.event().name("snapshot").data(snapshot));
+        } catch (IOException | IllegalStateException e) {
+            disconnect(subscriber);
+            return emitter;
+        } catch (RuntimeException e) {
+            // No snapshot to start from: fail the request rather than keep a subscriber nobody drains
+            disconnect(subscriber);
+            throw e;
+        }
+        subscriber.startDraining();
+        return emitter;
+    }
+
+    /**
+     * Fans a committed change out to every subscriber. Only changes that touch the kitchen
+     * (an order entering, moving within or leaving IN_PROGRESS/READY_FOR_PICKUP) are sent.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        boolean onBoard = !event.deleted() && KITCHEN_STATUSES.contains(event.order().status());
+        boolean wasOnBoard = event.previousStatus() != null && KITCHEN_STATUSES.contains(event.previousStatus());
+        if (!onBoard && !wasOnBoard) {
+            return;
+        }
+
+        KitchenOrderUpdate update = new KitchenOrderUpdate(event.order(), onBoard);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(update);
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        executor.shutdownNow();
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        // Guarded by 'this'. Keyed by order ID, so a lagging display only ever gets an order's latest state.
+        private final Map<Long, KitchenOrderUpdate> pending = new LinkedHashMap<>();
+
+        // True while a drain task is queued or running (and until the snapshot has been sent)
+        private final AtomicBoolean draining = new AtomicBoolean(true);
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(KitchenOrderUpdate update) {
+            synchronized (this) {
+                pending.put(update.order().orderId(), update);
+                if (pending.size() > maxPending) {
+                    log.info("Disconnecting kitchen display that is {} orders behind", pending.size());
+                    pending.clear();
+                    disconnect(this);
+                    return;
+                }
+            }
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        void startDraining() {
+            executor.execute(this::drain);
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    List<KitchenOrderUpdate> batch;
+                    synchronized (this) {
+                        if (pending.isEmpty()) {
+                            draining.set(false);
+                            return;
+                        }
+                        batch = new ArrayList<>(pending.values());
+                        pending.clear();
+                    }
+                    for (KitchenOrderUpdate update : batch) {
+                        emitter.send(SseEmitter.event()
+                                .name("order")
+                                .id(String.valueOf(update.order().orderId()))
+                                .data(update));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The display went away; the emitter callbacks will not fire for a dead connection
+                subscribers.remove(this);
+            } catch (RuntimeException e) {
+                // An update that cannot be written; 'draining' stays set, so the display must go
+                log.warn("Could not send an update to a kitchen display, disconnecting it", e);
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
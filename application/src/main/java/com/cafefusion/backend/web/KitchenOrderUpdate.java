@@ -0,0 +1,16 @@
+package com.cafefusion.backend.web;
+
+import com.cafefusion.backend.orders.api.model.OrderDto;
+
+/**
+ * One change pushed to kitchen displays.
+ *
+ * @param order The latest state of the order.
+ * @param onBoard True if the order should be shown (IN_PROGRESS or READY_FOR_PICKUP),
+ *                false if the display should remove it.
+ */
+public record KitchenOrderUpdate(
+        OrderDto order,
+        boolean onBoard
+) {
+}
@@ -3,35 +3,117 @@ package com.cafefusion.backend.web;
 
 import com.cafefusion.backend.menu.api.MenuApi;
 import com.cafefusion.backend.menu.api.model.CreateMenuItemRequest;
+import com.cafefusion.backend.menu.api.model.MenuContent;
+import com.cafefusion.backend.menu.api.model.MenuImportResult;
+import com.cafefusion.backend.menu.api.model.MenuImportRow;
 import com.cafefusion.backend.menu.api.model.MenuItemDto;
+import com.cafefusion.backend.menu.api.model.MenuVersion;
 import com.cafefusion.backend.menu.api.model.UpdateMenuItemRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1/menu")
-@RequiredArgsConstructor
 public class MenuController {
 
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+
     private final MenuApi menuApi;
+    private final EncodedMenuCache encodedMenuCache;
+    private final ObjectMapper objectMapper;
+    private final String menuCacheControl;
+    private final String menuItemCacheControl;
+
+    public MenuController(
+            MenuApi menuApi,
+            EncodedMenuCache encodedMenuCache,
+            ObjectMapper objectMapper,
+            @Value("${application.web.cache-control.menu:no-cache}") String menuCacheControl,
+            @Value("${application.web.cache-control.menu-item:no-cache}") String menuItemCacheControl) {
+        this.menuApi = menuApi;
+        this.encodedMenuCache = encodedMenuCache;
+        this.objectMapper = objectMapper;
+        this.menuCacheControl = menuCacheControl;
+        this.menuItemCacheControl = menuItemCacheControl;
+    }
 
     // --- PUBLIC ENDPOINTS ---
 
+    /**
+     * Conditional GET: the ETag and Last-Modified come from the menu version, so a matching
+     * If-None-Match or If-Modified-Since is answered with 304 before anything is encoded.
+     * Otherwise the pre-encoded bytes for the current version are sent as they are, gzipped
+     * when the client accepts it. The gzip variant has its own ETag, as its bytes differ.
+     */
     @GetMapping
-    public List<MenuItemDto> getAllMenuItems() {
-        return menuApi.getAllMenuItems();
+    public ResponseEntity<byte[]> getAllMenuItems(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        MenuContent content = menuApi.getMenu();
+        MenuVersion version = content.version();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? version.etag() + GZIP_ETAG_SUFFIX : version.etag();
+        if (request.checkNotModified(etag, version.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .header(HttpHeaders.CACHE_CONTROL, menuCacheControl)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        EncodedMenuCache.EncodedMenu menu = encodedMenuCache.get(content);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(version.lastModified())
+                .header(HttpHeaders.CACHE_CONTROL, menuCacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(menu.gzip().length)
+                    .body(menu.gzip());
+        }
+        return response.contentLength(menu.identity().length)
+                .body(menu.identity());
     }
 
+    @GetMapping("/search")
+    public List<MenuItemDto> searchMenuItems(
+            @RequestParam("q") String query,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return menuApi.searchMenuItems(query, limit);
+    }
+
+    /**
+     * Validated against the version of the whole menu: any menu change invalidates every item.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<MenuItemDto> getMenuItemById(@PathVariable Long id) {
+    public ResponseEntity<MenuItemDto> getMenuItemById(@PathVariable Long id, WebRequest request) {
+        MenuVersion version = menuApi.getMenuVersion();
+        if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+            return notModified(menuItemCacheControl);
+        }
         return menuApi.getMenuItemById(id)
-                .map(item -> ResponseEntity.ok(item))
+                .map(item -> ResponseEntity.ok()
+                        .eTag(version.etag())
+                        .lastModified(version.lastModified())
+                        .header(HttpHeaders.CACHE_CONTROL, menuItemCacheControl)
+                        .body(item))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -51,6 +133,21 @@ public class MenuController {
         return menuApi.updateMenuItem(id, request);
     }
 
+    /**
+     * Bulk create/update, matched by name. The body is read row by row as the import consumes it,
+     * so it is never held in memory as a whole.
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public MenuImportResult importMenuItems(
+            @RequestParam(defaultValue = "CSV") MenuImportFormat format,
+            InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try (Stream<MenuImportRow> rows = format.read(reader, objectMapper)) {
+            return menuApi.importMenuItems(rows);
+        }
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -58,5 +155,36 @@ public class MenuController {
         menuApi.deleteMenuItem(id);
     }
 
+    /**
+     * Whether Accept-Encoding allows gzip: listed by name, or covered by '*', and not with q=0.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean refused = parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            if (name.equalsIgnoreCase("gzip")) {
+                return !refused;
+            }
+            if (name.equals("*")) {
+                wildcard = !refused;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    /**
+     * The validators are already on the response, set by checkNotModified.
+     */
+    private static <T> ResponseEntity<T> notModified(String cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .build();
+    }
+
 
 }
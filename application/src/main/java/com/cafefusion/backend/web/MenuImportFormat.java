@@ -0,0 +1,219 @@
+package com.cafefusion.backend.web;
+
+import com.cafefusion.backend.menu.api.exception.InvalidMenuImportException;
+import com.cafefusion.backend.menu.api.model.CreateMenuItemRequest;
+import com.cafefusion.backend.menu.api.model.MenuImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Wire formats of the bulk menu import. Both are read lazily, row by row, straight from the request body.
+ */
+enum MenuImportFormat {
+
+    /**
+     * A header naming the columns ('name' and 'price' required, 'description' optional, any order),
+     * then one item per record. RFC 4180 quoting, so quoted values may hold separators and line breaks.
+     */
+    CSV {
+        @Override
+        Stream<MenuImportRow> read(BufferedReader reader, ObjectMapper objectMapper) throws IOException {
+            CsvRecordReader records = new CsvRecordReader(reader);
+            List<String> header = records.next();
+            if (header == null) {
+                return Stream.empty();
+            }
+
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                columns.putIfAbsent(column, i);
+            }
+            Integer name = columns.get("name");
+            Integer price = columns.get("price");
+            Integer description = columns.get("description");
+            if (name == null || price == null) {
+                throw new InvalidMenuImportException("The CSV header must name the columns 'name' and 'price', was: " + header);
+            }
+
+            return rows(() -> {
+                List<String> record = records.next();
+                if (record == null) {
+                    return null;
+                }
+                long line = records.recordLine();
+
+                String priceText = field(record, price);
+                BigDecimal priceValue = null;
+                if (!priceText.isEmpty()) {
+                    try {
+                        priceValue = new BigDecimal(priceText);
+                    } catch (NumberFormatException e) {
+                        return MenuImportRow.unreadable(line, "Invalid price: " + priceText);
+                    }
+                }
+                String descriptionText = description == null ? "" : field(record, description);
+                return MenuImportRow.parsed(line, new CreateMenuItemRequest(
+                        field(record, name),
+                        descriptionText.isEmpty() ? null : descriptionText,
+                        priceValue));
+            });
+        }
+    },
+
+    /**
+     * One JSON object per line, shaped like the body of POST /api/v1/menu. Blank lines are skipped.
+     */
+    NDJSON {
+        @Override
+        Stream<MenuImportRow> read(BufferedReader reader, ObjectMapper objectMapper) {
+            long[] line = {0};
+            return rows(() -> {
+                String text;
+                do {
+                    text = reader.readLine();
+                    line[0]++;
+                } while (text != null && text.isBlank());
+                if (text == null) {
+                    return null;
+                }
+
+                try {
+                    CreateMenuItemRequest request = objectMapper.readValue(text, CreateMenuItemRequest.class);
+                    return request == null
+                            ? MenuImportRow.unreadable(line[0], "Expected a JSON object")
+                            : MenuImportRow.parsed(line[0], request);
+                } catch (JsonProcessingException e) {
+                    return MenuImportRow.unreadable(line[0], "Invalid JSON: " + e.getOriginalMessage());
+                }
+            });
+        }
+    };
+
+    /**
+     * The rows of the input. Reading the header (CSV) happens right away, the rows only as the stream is consumed.
+     */
+    abstract Stream<MenuImportRow> read(BufferedReader reader, ObjectMapper objectMapper) throws IOException;
+
+    @FunctionalInterface
+    private interface RowSource {
+        /**
+         * @return The next row, or null at the end of the input.
+         */
+        MenuImportRow next() throws IOException;
+    }
+
+    private static Stream<MenuImportRow> rows(RowSource source) {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<MenuImportRow>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super MenuImportRow> action) {
+                MenuImportRow row;
+                try {
+                    row = source.next();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (row == null) {
+                    return false;
+                }
+                action.accept(row);
+                return true;
+            }
+        }, false);
+    }
+
+    private static String field(List<String> record, int index) {
+        return index < record.size() ? record.get(index).trim() : "";
+    }
+
+    /**
+     * Splits CSV input into records, one at a time, keeping track of line numbers.
+     */
+    static final class CsvRecordReader {
+
+        private final BufferedReader reader;
+
+        // Line of the next character to read, and the line the last record started on
+        private long line = 1;
+        private long recordLine;
+
+        CsvRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        /**
+         * @return The fields of the next record, or null at the end of the input. Blank lines are skipped.
+         */
+        List<String> next() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean started = false;
+            recordLine = line;
+
+            while (true) {
+                int c = reader.read();
+                if (c == -1) {
+                    if (!started) {
+                        return null;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() != '"') {
+                            // Closing quote; a doubled one is an escaped quote
+                            quoted = false;
+                            reader.reset();
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                } else if (c == '\n') {
+                    line++;
+                    if (!started) {
+                        recordLine = line;
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    started = true;
+                    if (c == '"' && field.isEmpty()) {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append((char) c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.cafefusion.backend.web;
+
+import com.cafefusion.backend.orders.api.model.OrderExportRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Wire formats of the order export. Both are written record by record, with nothing buffered across orders.
+ */
+enum OrderExportFormat {
+
+    /**
+     * One line per order item; order columns repeat on each of its lines. An order without items gets one line.
+     */
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv") {
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            writer.write("order_id,user_id,created_at,status,total_price,menu_item_id,item_name,item_price\n");
+        }
+
+        @Override
+        void write(Writer writer, OrderExportRecord order, ObjectMapper objectMapper) throws IOException {
+            List<OrderExportRecord.Line> lines = order.items().isEmpty()
+                    ? Collections.singletonList(null)
+                    : order.items();
+            for (OrderExportRecord.Line line : lines) {
+                writer.write(String.valueOf(order.orderId()));
+                writer.write(',');
+                writer.write(String.valueOf(order.userId()));
+                writer.write(',');
+                writer.write(order.createdAt().toString());
+                writer.write(',');
+                writer.write(order.status().name());
+                writer.write(',');
+                writer.write(order.totalPrice().toPlainString());
+                writer.write(',');
+                if (line != null) {
+                    writer.write(line.menuItemId() == null ? "" : String.valueOf(line.menuItemId()));
+                    writer.write(',');
+                    writer.write(escape(line.name()));
+                    writer.write(',');
+                    writer.write(line.price().toPlainString());
+                } else {
+                    writer.write(",,");
+                }
+                writer.write('\n');
+            }
+        }
+    },
+
+    /**
+     * One JSON object per order and line, items nested.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson") {
+        @Override
+        void writeHeader(Writer writer) {
+        }
+
+        @Override
+        void write(Writer writer, OrderExportRecord order, ObjectMapper objectMapper) throws IOException {
+            // writeValueAsString, not writeValue: the latter closes the target writer
+            writer.write(objectMapper.writeValueAsString(order));
+            writer.write('\n');
+        }
+    };
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    OrderExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    MediaType mediaType() {
+        return mediaType;
+    }
+
+    String extension() {
+        return extension;
+    }
+
+    abstract void writeHeader(Writer writer) throws IOException;
+
+    abstract void write(Writer writer, OrderExportRecord order, ObjectMapper objectMapper) throws IOException;
+
+    /**
+     * RFC 4180 quoting: only values containing a separator, quote or line break are quoted.
+     */
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
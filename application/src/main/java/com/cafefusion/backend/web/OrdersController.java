@@ -2,6 +2,7 @@ package com.cafefusion.backend.web;
 
 import com.cafefusion.backend.orders.api.OrdersApi;
 import com.cafefusion.backend.orders.api.model.CreateOrderRequest;
+import com.cafefusion.backend.orders.api.model.CursorPage;
 import com.cafefusion.backend.orders.api.model.OrderDto;
 import com.cafefusion.backend.orders.api.model.UpdateOrderRequest;
 import jakarta.validation.Valid;
@@ -26,11 +27,24 @@ public class OrdersController {
         return ordersApi.getMyOrderHistory();
     }
 
+    @GetMapping("/my-history/page")
+    @PreAuthorize("hasRole('USER')")
+    public CursorPage<OrderDto> getMyHistoryPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ordersApi.getMyOrderHistory(cursor, limit);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @PreAuthorize("hasRole('USER')")
-    public OrderDto createNewOrder(@Valid @RequestBody CreateOrderRequest request) {
-        return ordersApi.createOrder(request);
+    public OrderDto createNewOrder(
+            @Valid @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ordersApi.createOrder(request);
+        }
+        return ordersApi.createOrder(request, idempotencyKey);
     }
 
     @GetMapping("/{id}")
@@ -1,8 +1,23 @@
 package com.cafefusion.backend.web.exception;
 
+import com.cafefusion.backend.events.api.exception.EventNotFoundException;
+import com.cafefusion.backend.events.api.exception.EventSeriesNotFoundException;
+import com.cafefusion.backend.events.api.exception.InvalidEventQueryException;
+import com.cafefusion.backend.events.api.exception.InvalidEventSeriesException;
+import com.cafefusion.backend.events.api.exception.ReservationNotFoundException;
+import com.cafefusion.backend.events.api.exception.ReservationUnavailableException;
+import com.cafefusion.backend.menu.api.exception.DuplicateMenuItemNameException;
+import com.cafefusion.backend.menu.api.exception.InvalidMenuImportException;
+import com.cafefusion.backend.menu.api.exception.MenuItemNotFoundException;
+import com.cafefusion.backend.orders.api.exception.IdempotencyKeyReuseException;
+import com.cafefusion.backend.orders.api.exception.IdempotentRequestInProgressException;
+import com.cafefusion.backend.orders.api.exception.InvalidAnalyticsRangeException;
+import com.cafefusion.backend.orders.api.exception.InvalidCursorException;
 import com.cafefusion.backend.orders.api.exception.InvalidStatusTransitionException;
+import com.cafefusion.backend.orders.api.exception.OrderIntakeOverloadedException;
 import com.cafefusion.backend.orders.api.exception.OrderNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -37,11 +52,86 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    @ExceptionHandler(MenuItemNotFoundException.class)
+    public ResponseEntity<String> handleMenuItemNotFound(MenuItemNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(DuplicateMenuItemNameException.class)
+    public ResponseEntity<String> handleDuplicateMenuItemName(DuplicateMenuItemNameException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(EventNotFoundException.class)
+    public ResponseEntity<String> handleEventNotFound(EventNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(EventSeriesNotFoundException.class)
+    public ResponseEntity<String> handleEventSeriesNotFound(EventSeriesNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ReservationNotFoundException.class)
+    public ResponseEntity<String> handleReservationNotFound(ReservationNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ReservationUnavailableException.class)
+    public ResponseEntity<String> handleReservationUnavailable(ReservationUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
     @ExceptionHandler(InvalidStatusTransitionException.class)
     public ResponseEntity<String> handleInvalidTransition(InvalidStatusTransitionException ex) {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("The order was changed by another request, please retry");
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidEventQueryException.class)
+    public ResponseEntity<String> handleInvalidEventQuery(InvalidEventQueryException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidEventSeriesException.class)
+    public ResponseEntity<String> handleInvalidEventSeries(InvalidEventSeriesException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidMenuImportException.class)
+    public ResponseEntity<String> handleInvalidMenuImport(InvalidMenuImportException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidAnalyticsRangeException.class)
+    public ResponseEntity<String> handleInvalidAnalyticsRange(InvalidAnalyticsRangeException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<String> handleIdempotencyKeyReuse(IdempotencyKeyReuseException ex) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<String> handleIdempotentRequestInProgress(IdempotentRequestInProgressException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(OrderIntakeOverloadedException.class)
+    public ResponseEntity<String> handleIntakeOverloaded(OrderIntakeOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<String> handleAccessDenied(AccessDeniedException ex) {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Forbidden");
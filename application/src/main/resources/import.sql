@@ -10,17 +10,18 @@ INSERT INTO menu.menu_items (name, description, price) VALUES ('Espresso', 'A st
 INSERT INTO menu.menu_items (name, description, price) VALUES ('Cheesecake', 'Creamy New York style cheesecake with a berry topping.', 22.00);
 
 -- === Sample Events (schema: events) ===
-INSERT INTO events.events (name, description, event_date_time, cover_charge) VALUES ('Sunday EDM Session', 'Live DJ set by DJ R-Vibe.', '2025-12-07T18:00:00+01:00', 25.00);
+INSERT INTO events.events (name, description, event_date_time, cover_charge, capacity, reserved_seats) VALUES ('Sunday EDM Session', 'Live DJ set by DJ R-Vibe.', '2025-12-07T18:00:00+01:00', 25.00, 120, 0);
 
 -- === Sample Orders (schema: orders) ===
 -- Order 1: Placed by the USER (userId = 2)
-INSERT INTO orders.orders (user_id, created_at, total_price, status) VALUES (2, '2025-10-28T10:00:00Z', 30.50, 'PENDING_APPROVAL');
+INSERT INTO orders.orders (id, user_id, created_at, total_price, item_count, status, version) VALUES (nextval('orders.orders_seq'), 2, '2025-10-28T10:00:00Z', 30.50, 2, 'PENDING_APPROVAL', 0);
 -- Order 2: Placed by the ADMIN (userId = 1)
-INSERT INTO orders.orders (user_id, created_at, total_price, status) VALUES (1, '2025-10-29T11:00:00Z', 9.00, 'CONFIRMED');
+INSERT INTO orders.orders (id, user_id, created_at, total_price, item_count, status, version) VALUES (nextval('orders.orders_seq'), 1, '2025-10-29T11:00:00Z', 9.00, 1, 'CONFIRMED', 0);
 
 -- === Sample Order Items (schema: orders) ===
+-- Order ids come from a pooled sequence, so items look their order up instead of assuming 1 and 2
 -- Items for Order 1 (Cappuccino and Baklava)
-INSERT INTO orders.order_items (order_id, menu_item_id, name, price) VALUES (1, 1, 'Cappuccino', 12.50);
-INSERT INTO orders.order_items (order_id, menu_item_id, name, price) VALUES (1, 2, 'Baklava', 18.00);
+INSERT INTO orders.order_items (id, order_id, menu_item_id, name, price) VALUES (nextval('orders.order_items_seq'), (SELECT id FROM orders.orders WHERE user_id = 2 AND created_at = '2025-10-28T10:00:00Z'), 1, 'Cappuccino', 12.50);
+INSERT INTO orders.order_items (id, order_id, menu_item_id, name, price) VALUES (nextval('orders.order_items_seq'), (SELECT id FROM orders.orders WHERE user_id = 2 AND created_at = '2025-10-28T10:00:00Z'), 2, 'Baklava', 18.00);
 -- Item for Order 2 (Espresso)
-INSERT INTO orders.order_items (order_id, menu_item_id, name, price) VALUES (2, 3, 'Espresso', 9.00);
\ No newline at end of file
+INSERT INTO orders.order_items (id, order_id, menu_item_id, name, price) VALUES (nextval('orders.order_items_seq'), (SELECT id FROM orders.orders WHERE user_id = 1 AND created_at = '2025-10-29T11:00:00Z'), 3, 'Espresso', 9.00);
\ No newline at end of file
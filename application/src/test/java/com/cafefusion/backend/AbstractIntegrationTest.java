@@ -4,20 +4,23 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
-import org.testcontainers.junit.jupiter.Container;
-import org.testcontainers.junit.jupiter.Testcontainers;
 
-@Testcontainers
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public abstract class AbstractIntegrationTest {
 
-    @Container
+    // Singleton container: started once per JVM and shared by every integration test class.
+    // A per-class @Container would be restarted on a new port while Spring keeps the cached
+    // context (and its datasource) pointing at the stopped one.
     private static final PostgreSQLContainer<?> postgresqlContainer =
             new PostgreSQLContainer<>("postgres:16-alpine")
                     .withDatabaseName("test-db")
                     .withUsername("test-user")
                     .withPassword("test-pass");
 
+    static {
+        postgresqlContainer.start();
+    }
+
     @DynamicPropertySource
     private static void registerDynamicProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.datasource.url", postgresqlContainer::getJdbcUrl);
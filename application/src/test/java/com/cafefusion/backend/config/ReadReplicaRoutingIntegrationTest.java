@@ -0,0 +1,102 @@
+package com.cafefusion.backend.config;
+
+import com.cafefusion.backend.AbstractIntegrationTest;
+import com.cafefusion.backend.events.api.EventApi;
+import com.cafefusion.backend.menu.api.MenuApi;
+import com.cafefusion.backend.orders.internal.OrderCounters;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Runs a second database as the replica. It does not replicate, which makes it easy to tell
+ * from the answering database which pool a transaction was routed to.
+ */
+public class ReadReplicaRoutingIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String REPLICA_DATABASE = "replica-db";
+
+    private static final PostgreSQLContainer<?> replicaContainer =
+            new PostgreSQLContainer<>("postgres:16-alpine")
+                    .withDatabaseName(REPLICA_DATABASE)
+                    .withUsername("test-user")
+                    .withPassword("test-pass");
+
+    static {
+        replicaContainer.start();
+    }
+
+    @DynamicPropertySource
+    private static void registerReplicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("application.datasource.replica.url", replicaContainer::getJdbcUrl);
+        registry.add("application.datasource.replica.username", replicaContainer::getUsername);
+        registry.add("application.datasource.replica.password", replicaContainer::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MenuApi menuApi;
+    @Autowired
+    private EventApi eventApi;
+    @Autowired
+    private OrderCounters orderCounters;
+
+    private String databaseIn(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUseReplica() {
+        assertEquals(REPLICA_DATABASE, databaseIn(true));
+    }
+
+    @Test
+    void readWriteTransaction_shouldUsePrimary() {
+        assertNotEquals(REPLICA_DATABASE, databaseIn(false));
+    }
+
+    @Test
+    void readOnlyTransaction_whenPinned_shouldUsePrimary() {
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            assertNotEquals(REPLICA_DATABASE, databaseIn(true));
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    @Test
+    void menuSnapshot_shouldLoadFromPrimary() {
+        // The replica has no schema at all, so this only works if the snapshot is read from the primary
+        assertFalse(menuApi.getAllMenuItems().isEmpty());
+    }
+
+    @Test
+    void upcomingEvents_shouldLoadFromPrimary() {
+        // Even when asked from inside a read-only transaction; the replica has no events tables
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        assertDoesNotThrow(() -> readOnly.executeWithoutResult(status -> eventApi.getUpcomingEvents()));
+    }
+
+    @Test
+    void orderCounters_shouldRebuildFromPrimary() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        assertDoesNotThrow(() -> readOnly.executeWithoutResult(status -> orderCounters.rebuild()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.cafefusion.backend.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReadYourWritesFilterTest {
+
+    private static final String TOKEN = "Bearer token-1";
+
+    private boolean pinnedDuring(ReadYourWritesFilter filter, String method, String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/orders");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        AtomicBoolean pinned = new AtomicBoolean();
+        FilterChain chain = (req, res) -> pinned.set(ReplicaRoutingDataSource.isPinnedToPrimary());
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+        return pinned.get();
+    }
+
+    @Test
+    void reads_shouldUseReplicaByDefault() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+        assertFalse(pinnedDuring(filter, "GET", TOKEN));
+        assertFalse(pinnedDuring(filter, "GET", null));
+    }
+
+    @Test
+    void write_shouldPinItsClientToPrimaryForTheWindow() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+        assertTrue(pinnedDuring(filter, "POST", TOKEN));
+
+        assertTrue(pinnedDuring(filter, "GET", TOKEN));
+        // Other clients are not affected
+        assertFalse(pinnedDuring(filter, "GET", "Bearer token-2"));
+    }
+
+    @Test
+    void write_shouldStopPinningOnceTheWindowHasPassed() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMillis(50));
+
+        assertTrue(pinnedDuring(filter, "PUT", TOKEN));
+        Thread.sleep(100);
+
+        assertFalse(pinnedDuring(filter, "GET", TOKEN));
+    }
+
+    @Test
+    void anonymousWrite_shouldOnlyPinItself() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+        assertTrue(pinnedDuring(filter, "POST", null));
+        assertFalse(pinnedDuring(filter, "GET", null));
+    }
+}
@@ -3,8 +3,16 @@ package com.cafefusion.backend.web;
 
 import com.cafefusion.backend.config.SecurityConfig;
 import com.cafefusion.backend.orders.api.OrdersApi;
+import com.cafefusion.backend.orders.api.exception.InvalidAnalyticsRangeException;
+import com.cafefusion.backend.orders.api.model.AnalyticsGranularity;
+import com.cafefusion.backend.orders.api.model.BulkStatusUpdateRequest;
+import com.cafefusion.backend.orders.api.model.CursorPage;
 import com.cafefusion.backend.orders.api.model.OrderDto;
+import com.cafefusion.backend.orders.api.model.OrderExportRecord;
 import com.cafefusion.backend.orders.api.model.OrderStatus;
+import com.cafefusion.backend.orders.api.model.OrderStatusStatistics;
+import com.cafefusion.backend.orders.api.model.SalesAnalytics;
+import com.cafefusion.backend.orders.api.model.StatusUpdateResult;
 import com.cafefusion.backend.orders.api.model.UpdateOrderRequest;
 import com.cafefusion.backend.users.internal.JwtService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -22,12 +30,17 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,6 +55,8 @@ public class AdminOrdersControllerTest {
     @MockBean
     private OrdersApi ordersApi;
     @MockBean
+    private KitchenOrderStream kitchenOrderStream;
+    @MockBean
     private JwtService jwtService;
 
     @MockBean
@@ -88,12 +103,159 @@ public class AdminOrdersControllerTest {
         verify(ordersApi, times(1)).getOrdersByStatuses(anyList(), any(Pageable.class));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void getAllOrdersByCursor_shouldReturnCursorPage() throws Exception {
+        OrderDto orderDto = new OrderDto(1L, 2L, Instant.now(), OrderStatus.PENDING_APPROVAL,
+                new BigDecimal("10.00"), List.of("Cappuccino"));
+        when(ordersApi.getOrders("abc", 20)).thenReturn(new CursorPage<>(List.of(orderDto), "def", true));
+
+        mockMvc.perform(get("/api/v1/admin/orders/cursor").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].orderId").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(ordersApi, times(1)).getOrders("abc", 20);
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void getOrdersByStatusByCursor_shouldPassStatusesAndLimit() throws Exception {
+        when(ordersApi.getOrdersByStatuses(List.of(OrderStatus.IN_PROGRESS), null, 5))
+                .thenReturn(new CursorPage<>(List.of(), null, false));
+
+        mockMvc.perform(get("/api/v1/admin/orders/filter/cursor")
+                        .param("statuses", "IN_PROGRESS")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(ordersApi, times(1)).getOrdersByStatuses(List.of(OrderStatus.IN_PROGRESS), null, 5);
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void getArchivedOrders_shouldReturnCursorPage() throws Exception {
+        OrderDto orderDto = new OrderDto(7L, 2L, Instant.parse("2024-01-01T10:00:00Z"), OrderStatus.COMPLETED,
+                new BigDecimal("10.00"), List.of("Cappuccino"));
+        when(ordersApi.getArchivedOrders(null, 20)).thenReturn(new CursorPage<>(List.of(orderDto), null, false));
+
+        mockMvc.perform(get("/api/v1/admin/orders/archive"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].orderId").value(7))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void getArchivedOrderById_whenMissing_shouldReturnNotFound() throws Exception {
+        when(ordersApi.getArchivedOrderById(7L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/admin/orders/archive/7"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void getSalesAnalytics_shouldPassRangeAndDefaults() throws Exception {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        Instant end = Instant.parse("2024-01-02T00:00:00Z");
+        SalesAnalytics analytics = new SalesAnalytics(start, end, AnalyticsGranularity.DAY, 2, new BigDecimal("15.00"),
+                new BigDecimal("7.50"), 1.5,
+                List.of(new SalesAnalytics.RevenueBucket(start, 2, new BigDecimal("15.00"))),
+                List.of(new SalesAnalytics.MenuItemSales(1L, "Espresso", 3, new BigDecimal("9.00"))),
+                List.of(new SalesAnalytics.MenuItemSales(1L, "Espresso", 3, new BigDecimal("9.00"))));
+        when(ordersApi.getSalesAnalytics(start, end, AnalyticsGranularity.DAY, 10)).thenReturn(analytics);
+
+        mockMvc.perform(get("/api/v1/admin/orders/analytics")
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageOrderValue").value(7.50))
+                .andExpect(jsonPath("$.revenueSeries[0].orderCount").value(2))
+                .andExpect(jsonPath("$.topByQuantity[0].name").value("Espresso"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void getSalesAnalytics_withInvalidRange_shouldReturnBadRequest() throws Exception {
+        when(ordersApi.getSalesAnalytics(any(), any(), any(), anyInt()))
+                .thenThrow(new InvalidAnalyticsRangeException("'start' must be before 'end'"));
+
+        mockMvc.perform(get("/api/v1/admin/orders/analytics")
+                        .param("start", "2024-01-02T00:00:00Z")
+                        .param("end", "2024-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void exportOrders_shouldStreamCsv() throws Exception {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        Instant end = Instant.parse("2024-02-01T00:00:00Z");
+        doAnswer(invocation -> {
+            Consumer<OrderExportRecord> consumer = invocation.getArgument(2);
+            consumer.accept(new OrderExportRecord(1L, 2L, Instant.parse("2024-01-15T10:00:00Z"), OrderStatus.COMPLETED,
+                    new BigDecimal("7.50"), List.of(
+                            new OrderExportRecord.Line(10L, "Espresso", new BigDecimal("3.00")),
+                            new OrderExportRecord.Line(11L, "Cake, \"large\"", new BigDecimal("4.50")))));
+            return null;
+        }).when(ordersApi).exportOrders(eq(start), eq(end), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/admin/orders/export")
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders-2024-01-01-2024-02-01.csv\""))
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("""
+                        order_id,user_id,created_at,status,total_price,menu_item_id,item_name,item_price
+                        1,2,2024-01-15T10:00:00Z,COMPLETED,7.50,10,Espresso,3.00
+                        1,2,2024-01-15T10:00:00Z,COMPLETED,7.50,11,"Cake, ""large""\",4.50
+                        """));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void exportOrders_shouldStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<OrderExportRecord> consumer = invocation.getArgument(2);
+            consumer.accept(new OrderExportRecord(1L, 2L, Instant.parse("2024-01-15T10:00:00Z"), OrderStatus.COMPLETED,
+                    new BigDecimal("3.00"), List.of(new OrderExportRecord.Line(10L, "Espresso", new BigDecimal("3.00")))));
+            consumer.accept(new OrderExportRecord(2L, 2L, Instant.parse("2024-01-16T10:00:00Z"), OrderStatus.CANCELLED,
+                    new BigDecimal("0.00"), List.of()));
+            return null;
+        }).when(ordersApi).exportOrders(any(), any(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/admin/orders/export")
+                        .param("start", "2024-01-01T00:00:00Z")
+                        .param("end", "2024-02-01T00:00:00Z")
+                        .param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Espresso", objectMapper.readTree(lines[0]).at("/items/0/name").asText());
+        assertEquals("CANCELLED", objectMapper.readTree(lines[1]).get("status").asText());
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     void getStats_shouldReturnMapOfOrderStatus() throws Exception {
-        Map<OrderStatus, Long> stats = Map.of(
-                OrderStatus.PENDING_APPROVAL, 5L,
-                OrderStatus.COMPLETED, 2L
+        Map<OrderStatus, OrderStatusStatistics> stats = Map.of(
+                OrderStatus.PENDING_APPROVAL, new OrderStatusStatistics(5, new BigDecimal("52.50"), 9),
+                OrderStatus.COMPLETED, new OrderStatusStatistics(2, new BigDecimal("18.00"), 3)
         );
 
         // Match the new method signature
@@ -101,8 +263,10 @@ public class AdminOrdersControllerTest {
 
         mockMvc.perform(get("/api/v1/admin/orders/stats"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.PENDING_APPROVAL").value(5))
-                .andExpect(jsonPath("$.COMPLETED").value(2));
+                .andExpect(jsonPath("$.PENDING_APPROVAL.orderCount").value(5))
+                .andExpect(jsonPath("$.PENDING_APPROVAL.revenue").value(52.50))
+                .andExpect(jsonPath("$.PENDING_APPROVAL.itemCount").value(9))
+                .andExpect(jsonPath("$.COMPLETED.orderCount").value(2));
 
         verify(ordersApi, times(1)).getOrderStatistics(null, null);
     }
@@ -145,4 +309,63 @@ public class AdminOrdersControllerTest {
         verify(ordersApi, times(1)).updateStatusValidated(eq(1L), any(UpdateOrderRequest.class));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void bulkUpdateStatus_shouldReturnPerOrderResults() throws Exception {
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest(List.of(1L, 2L), OrderStatus.READY_FOR_PICKUP);
+        OrderDto ready = new OrderDto(1L, 2L, Instant.now(), OrderStatus.READY_FOR_PICKUP,
+                new BigDecimal("10.00"), List.of("Cappuccino"));
+
+        when(ordersApi.bulkUpdateStatusValidated(request)).thenReturn(List.of(
+                StatusUpdateResult.updated(ready),
+                StatusUpdateResult.failed(2L, "Order not found: 2")));
+
+        mockMvc.perform(put("/api/v1/admin/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].updated").value(true))
+                .andExpect(jsonPath("$[0].order.status").value("READY_FOR_PICKUP"))
+                .andExpect(jsonPath("$[1].updated").value(false))
+                .andExpect(jsonPath("$[1].error").value("Order not found: 2"));
+
+        verify(ordersApi, times(1)).bulkUpdateStatusValidated(request);
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void bulkUpdateStatus_withoutOrderIds_shouldReturnBadRequest() throws Exception {
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest(List.of(), OrderStatus.READY_FOR_PICKUP);
+
+        mockMvc.perform(put("/api/v1/admin/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.orderIds").value("At least one order ID is required"));
+
+        verify(ordersApi, never()).bulkUpdateStatusValidated(any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void streamKitchenOrders_shouldOpenEventStream() throws Exception {
+        when(kitchenOrderStream.subscribe()).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/admin/orders/kitchen/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(kitchenOrderStream, times(1)).subscribe();
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void streamKitchenOrders_whenNotAdmin_shouldBeForbidden() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/orders/kitchen/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+
+        verify(kitchenOrderStream, never()).subscribe();
+    }
+
 }
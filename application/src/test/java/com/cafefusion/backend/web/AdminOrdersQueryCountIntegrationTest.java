@@ -0,0 +1,133 @@
+package com.cafefusion.backend.web;
+
+import com.cafefusion.backend.AbstractIntegrationTest;
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+import com.cafefusion.backend.orders.internal.Order;
+import com.cafefusion.backend.orders.internal.OrderItem;
+import com.cafefusion.backend.orders.internal.OrderRepository;
+import com.cafefusion.backend.users.api.model.Role;
+import com.cafefusion.backend.users.internal.User;
+import com.cafefusion.backend.users.internal.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the admin and kitchen order pages against N+1 item loading:
+ * a page costs the same number of statements no matter how many orders it holds.
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class AdminOrdersQueryCountIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int ORDER_COUNT = 12;
+    private static final int PAGE_SIZE = 5;
+
+    // page query + count query + one batched item-name query
+    private static final long STATEMENTS_PER_PAGE = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User adminUser;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+
+        this.adminUser = new User();
+        adminUser.setFirstName("Test");
+        adminUser.setLastName("Admin");
+        adminUser.setEmail("admin@test.com");
+        adminUser.setPassword(passwordEncoder.encode("password"));
+        adminUser.setRole(Role.ADMIN);
+        userRepository.save(this.adminUser);
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order(adminUser.getId(), Instant.now().minusSeconds(i), new BigDecimal("12.00"));
+            order.setStatus(i % 2 == 0 ? OrderStatus.IN_PROGRESS : OrderStatus.READY_FOR_PICKUP);
+            order.setItems(List.of(
+                    new OrderItem(order, 1L, "Cappuccino", new BigDecimal("4.00")),
+                    new OrderItem(order, 2L, "Espresso", new BigDecimal("3.00")),
+                    new OrderItem(order, 3L, "Baklava", new BigDecimal("5.00"))));
+            orders.add(order);
+        }
+        orderRepository.saveAllAndFlush(orders);
+    }
+
+    private UsernamePasswordAuthenticationToken getAdminAuthToken() {
+        return new UsernamePasswordAuthenticationToken(
+                this.adminUser, null, this.adminUser.getAuthorities()
+        );
+    }
+
+    private long countStatements(RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(PAGE_SIZE))
+                .andExpect(jsonPath("$.content[0].itemNames.length()").value(3));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void getAllOrders_shouldLoadItemsInOneBatch() throws Exception {
+        long statements = countStatements(get("/api/v1/admin/orders")
+                .param("size", String.valueOf(PAGE_SIZE))
+                .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())));
+
+        assertEquals(STATEMENTS_PER_PAGE, statements);
+    }
+
+    @Test
+    void getOrdersByStatuses_shouldLoadItemsInOneBatch() throws Exception {
+        long statements = countStatements(get("/api/v1/admin/orders/filter")
+                .param("statuses", "IN_PROGRESS", "READY_FOR_PICKUP")
+                .param("size", String.valueOf(PAGE_SIZE))
+                .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())));
+
+        assertEquals(STATEMENTS_PER_PAGE, statements);
+    }
+
+    @Test
+    void getKitchenOrders_shouldLoadItemsInOneBatch() throws Exception {
+        long statements = countStatements(get("/api/v1/admin/orders/kitchen")
+                .param("size", String.valueOf(PAGE_SIZE))
+                .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())));
+
+        assertEquals(STATEMENTS_PER_PAGE, statements);
+    }
+}
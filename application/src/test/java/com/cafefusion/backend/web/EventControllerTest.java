@@ -2,8 +2,21 @@ package com.cafefusion.backend.web;
 
 import com.cafefusion.backend.config.SecurityConfig;
 import com.cafefusion.backend.events.api.EventApi;
+import com.cafefusion.backend.events.api.exception.InvalidEventQueryException;
+import com.cafefusion.backend.events.api.exception.InvalidEventSeriesException;
+import com.cafefusion.backend.events.api.exception.ReservationUnavailableException;
 import com.cafefusion.backend.events.api.model.CreateEventRequest;
+import com.cafefusion.backend.events.api.model.CreateEventSeriesRequest;
+import com.cafefusion.backend.events.api.model.EventAvailability;
 import com.cafefusion.backend.events.api.model.EventDto;
+import com.cafefusion.backend.events.api.model.EventPage;
+import com.cafefusion.backend.events.api.model.EventSeriesDto;
+import com.cafefusion.backend.events.api.model.EventSummary;
+import com.cafefusion.backend.events.api.model.EventsVersion;
+import com.cafefusion.backend.events.api.model.RecurrenceFrequency;
+import com.cafefusion.backend.events.api.model.ReservationDto;
+import com.cafefusion.backend.events.api.model.ReserveSeatsRequest;
+import com.cafefusion.backend.events.api.model.UpcomingEvents;
 import com.cafefusion.backend.users.internal.JwtService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -11,20 +24,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -47,20 +69,47 @@ public class EventControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    private static final EventsVersion VERSION = new EventsVersion("5f1c2a", Instant.parse("2025-06-01T10:00:00Z"));
+
     @Test
     void getUpcomingEvents_shouldReturnListOfEvents() throws Exception {
         // This is a public endpoint, no @WithMockUser is needed.
         EventDto fakeEvent = new EventDto(
                 1L, "DJ Night", "EDM", ZonedDateTime.now(), BigDecimal.TEN
         );
-        when(eventApi.getUpcomingEvents()).thenReturn(List.of(fakeEvent));
+        when(eventApi.getUpcomingEventsWithVersion()).thenReturn(new UpcomingEvents(List.of(fakeEvent), VERSION));
 
         mockMvc.perform(get("/api/v1/events"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5f1c2a\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].name").value("DJ Night"));
     }
 
+    @Test
+    void getUpcomingEvents_whenVersionKnownAndMatches_shouldReturnNotModifiedWithoutReadingEvents() throws Exception {
+        when(eventApi.getUpcomingEventsVersion()).thenReturn(Optional.of(VERSION));
+
+        mockMvc.perform(get("/api/v1/events").header(HttpHeaders.IF_NONE_MATCH, "\"5f1c2a\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5f1c2a\""))
+                .andExpect(content().string(""));
+
+        verify(eventApi, never()).getUpcomingEventsWithVersion();
+    }
+
+    @Test
+    void getUpcomingEvents_whenVersionKnownButStale_shouldReturnEvents() throws Exception {
+        EventDto fakeEvent = new EventDto(1L, "DJ Night", "EDM", ZonedDateTime.now(), BigDecimal.TEN);
+        when(eventApi.getUpcomingEventsVersion()).thenReturn(Optional.of(VERSION));
+        when(eventApi.getUpcomingEventsWithVersion()).thenReturn(new UpcomingEvents(List.of(fakeEvent), VERSION));
+
+        mockMvc.perform(get("/api/v1/events").header(HttpHeaders.IF_NONE_MATCH, "\"0ld\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("DJ Night"));
+    }
+
     @Test
     void getEventById_shouldReturnNotFound_whenMissing() throws Exception {
         when(eventApi.getEventById(99L)).thenReturn(Optional.empty());
@@ -72,7 +121,7 @@ public class EventControllerTest {
     @Test
     void createNewEvent_whenAnonymous_shouldReturnForbidden() throws Exception {
         CreateEventRequest request = new CreateEventRequest(
-                "New Event", "Desc", ZonedDateTime.now(), BigDecimal.ZERO
+                "New Event", "Desc", ZonedDateTime.now(), BigDecimal.ZERO, null
         );
 
         mockMvc.perform(post("/api/v1/events")
@@ -85,7 +134,7 @@ public class EventControllerTest {
     @WithMockUser(roles = "USER")
     void createNewEvent_whenUserRole_shouldReturnForbidden() throws Exception {
         CreateEventRequest request = new CreateEventRequest(
-                "New Event", "Desc", ZonedDateTime.now().plusDays(1), BigDecimal.ZERO
+                "New Event", "Desc", ZonedDateTime.now().plusDays(1), BigDecimal.ZERO, null
         );
 
         mockMvc.perform(post("/api/v1/events")
@@ -98,7 +147,7 @@ public class EventControllerTest {
     @WithMockUser(roles = "ADMIN")
     void createNewEvent_whenAdminRole_shouldReturnCreated() throws Exception {
         CreateEventRequest request = new CreateEventRequest(
-                "New Event", "Desc", ZonedDateTime.now().plusDays(1), BigDecimal.ZERO
+                "New Event", "Desc", ZonedDateTime.now().plusDays(1), BigDecimal.ZERO, null
         );
         EventDto responseDto = new EventDto(
                 1L, "New Event", "Desc", request.eventDateTime(), BigDecimal.ZERO
@@ -113,4 +162,128 @@ public class EventControllerTest {
                 .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    void getEventsBetween_shouldReturnPageOfSummaries() throws Exception {
+        Instant from = Instant.parse("2025-07-01T00:00:00Z");
+        Instant to = Instant.parse("2025-08-01T00:00:00Z");
+        EventSummary summary = new EventSummary(4L, "Jazz Evening", ZonedDateTime.parse("2025-07-04T19:00:00Z"), BigDecimal.TEN);
+        when(eventApi.getEventsBetween(from, to, "abc", 10)).thenReturn(new EventPage(List.of(summary), "def", true));
+
+        mockMvc.perform(get("/api/v1/events/calendar")
+                        .param("from", "2025-07-01T00:00:00Z")
+                        .param("to", "2025-08-01T00:00:00Z")
+                        .param("cursor", "abc")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Jazz Evening"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void getEventsBetween_whenQueryInvalid_shouldReturnBadRequest() throws Exception {
+        when(eventApi.getEventsBetween(any(), any(), any(), anyInt()))
+                .thenThrow(new InvalidEventQueryException("'from' must be before 'to'"));
+
+        mockMvc.perform(get("/api/v1/events/calendar")
+                        .param("from", "2025-08-01T00:00:00Z")
+                        .param("to", "2025-07-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void reserveSeats_whenUserRole_shouldReturnCreated() throws Exception {
+        when(eventApi.reserveSeats(5L, new ReserveSeatsRequest(2)))
+                .thenReturn(new ReservationDto(11L, 5L, 2, Instant.parse("2025-06-01T10:00:00Z")));
+
+        mockMvc.perform(post("/api/v1/events/5/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ReserveSeatsRequest(2))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(11L))
+                .andExpect(jsonPath("$.seats").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void reserveSeats_whenSoldOut_shouldReturnConflict() throws Exception {
+        when(eventApi.reserveSeats(any(), any())).thenThrow(new ReservationUnavailableException("Not enough seats left for event 5"));
+
+        mockMvc.perform(post("/api/v1/events/5/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ReserveSeatsRequest(1))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void reserveSeats_whenTooManySeats_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/events/5/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ReserveSeatsRequest(11))))
+                .andExpect(status().isBadRequest());
+
+        verify(eventApi, never()).reserveSeats(any(), any());
+    }
+
+    @Test
+    void getAvailability_shouldBePublic() throws Exception {
+        when(eventApi.getAvailability(5L)).thenReturn(Optional.of(new EventAvailability(5L, 100, 97, 3)));
+
+        mockMvc.perform(get("/api/v1/events/5/availability"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seatsAvailable").value(3));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void createEventSeries_whenAdminRole_shouldReturnCreated() throws Exception {
+        ZonedDateTime first = ZonedDateTime.now().plusDays(1);
+        CreateEventSeriesRequest request = new CreateEventSeriesRequest(
+                "Sunday EDM Session", "Live DJ set", first, RecurrenceFrequency.WEEKLY, null, null, BigDecimal.TEN);
+        when(eventApi.createEventSeries(any(CreateEventSeriesRequest.class))).thenReturn(new EventSeriesDto(
+                3L, "Sunday EDM Session", "Live DJ set", first, RecurrenceFrequency.WEEKLY, 1, null, BigDecimal.TEN, List.of()));
+
+        mockMvc.perform(post("/api/v1/events/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(3L))
+                .andExpect(jsonPath("$.frequency").value("WEEKLY"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void createEventSeries_whenUserRole_shouldReturnForbidden() throws Exception {
+        CreateEventSeriesRequest request = new CreateEventSeriesRequest(
+                "Quiz", "Trivia", ZonedDateTime.now().plusDays(1), RecurrenceFrequency.WEEKLY, null, null, BigDecimal.ONE);
+
+        mockMvc.perform(post("/api/v1/events/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+
+        verify(eventApi, never()).createEventSeries(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void cancelOccurrence_shouldPassOccurrenceStart() throws Exception {
+        mockMvc.perform(delete("/api/v1/events/series/3/occurrences/2026-03-29T17:00:00Z"))
+                .andExpect(status().isNoContent());
+
+        verify(eventApi).cancelOccurrence(3L, Instant.parse("2026-03-29T17:00:00Z"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void cancelOccurrence_whenNotAnOccurrence_shouldReturnBadRequest() throws Exception {
+        doThrow(new InvalidEventSeriesException("Event series 3 has no occurrence at 2026-03-30T17:00:00Z"))
+                .when(eventApi).cancelOccurrence(3L, Instant.parse("2026-03-30T17:00:00Z"));
+
+        mockMvc.perform(delete("/api/v1/events/series/3/occurrences/2026-03-30T17:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
 }
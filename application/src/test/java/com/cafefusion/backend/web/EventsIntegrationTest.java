@@ -0,0 +1,250 @@
+package com.cafefusion.backend.web;
+
+import com.cafefusion.backend.AbstractIntegrationTest;
+import com.cafefusion.backend.events.api.EventApi;
+import com.cafefusion.backend.events.api.exception.ReservationNotFoundException;
+import com.cafefusion.backend.events.api.exception.ReservationUnavailableException;
+import com.cafefusion.backend.events.api.model.CreateEventSeriesRequest;
+import com.cafefusion.backend.events.api.model.EventDto;
+import com.cafefusion.backend.events.api.model.EventSeriesDto;
+import com.cafefusion.backend.events.api.model.RecurrenceFrequency;
+import com.cafefusion.backend.events.api.model.ReservationDto;
+import com.cafefusion.backend.events.api.model.ReserveSeatsRequest;
+import com.cafefusion.backend.events.internal.Event;
+import com.cafefusion.backend.events.internal.EventRepository;
+import com.cafefusion.backend.events.internal.EventReservationRepository;
+import com.cafefusion.backend.events.internal.EventSeriesRepository;
+import com.cafefusion.backend.events.internal.EventServiceImpl;
+import com.cafefusion.backend.users.api.model.Role;
+import com.cafefusion.backend.users.internal.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+public class EventsIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventReservationRepository reservationRepository;
+    @Autowired
+    private EventSeriesRepository seriesRepository;
+    @Autowired
+    private EventApi eventApi;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        eventRepository.deleteAll();
+        seriesRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void probeUpcoming_shouldPickUpEventsWrittenElsewhere() {
+        EventServiceImpl eventService = (EventServiceImpl) eventApi;
+        eventService.probeUpcoming();
+        List<EventDto> cached = eventApi.getUpcomingEvents();
+
+        // As if another instance wrote it: straight to the DB, past this instance's service
+        eventRepository.save(new Event("Pop-up", "Elsewhere", ZonedDateTime.now().plusDays(1), BigDecimal.ONE));
+        assertEquals(cached, eventApi.getUpcomingEvents());
+
+        eventService.probeUpcoming();
+        assertEquals(List.of("Pop-up"), eventApi.getUpcomingEvents().stream().map(EventDto::name).toList());
+    }
+
+    @Test
+    void getEventsBetween_shouldPageThroughRangeInStartOrder() throws Exception {
+        ZonedDateTime july = ZonedDateTime.parse("2025-07-01T00:00:00Z");
+        // Two events share a start time, so the ID has to break the tie between pages
+        List<Event> inRange = eventRepository.saveAll(List.of(
+                new Event("Quiz", "Trivia", july.plusDays(10), BigDecimal.ONE),
+                new Event("Jam Session", "Bring your instrument", july.plusDays(3), BigDecimal.ZERO),
+                new Event("DJ Night", "EDM", july.plusDays(10), BigDecimal.TEN),
+                new Event("Jazz Evening", "Live trio", july.plusDays(20), BigDecimal.TEN),
+                new Event("Open Mic", "Anyone welcome", july, BigDecimal.ZERO)));
+        eventRepository.saveAll(List.of(
+                new Event("Summer Party", "Outside the range", july.plusMonths(1), BigDecimal.TEN),
+                new Event("Tasting", "Outside the range", july.minusSeconds(1), BigDecimal.TEN)));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/v1/events/calendar")
+                    .param("from", "2025-07-01T00:00:00Z")
+                    .param("to", "2025-08-01T00:00:00Z")
+                    .param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            for (JsonNode event : page.get("content")) {
+                assertFalse(event.has("description"));
+                seen.add(event.get("id").asLong());
+            }
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+            pages++;
+        } while (cursor != null);
+
+        List<Long> expected = inRange.stream()
+                .sorted(Comparator.comparing((Event e) -> e.getEventDateTime().toInstant()).thenComparing(Event::getId))
+                .map(Event::getId)
+                .toList();
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void getEventsBetween_whenCursorMalformed_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/events/calendar")
+                        .param("from", "2025-07-01T00:00:00Z")
+                        .param("to", "2025-08-01T00:00:00Z")
+                        .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void reserveSeats_underContention_shouldSellExactlyTheCapacity() throws Exception {
+        int capacity = 50;
+        int attempts = 300;
+        Long eventId = eventRepository.save(new Event(
+                "Sunday EDM Session", "Live DJ set", ZonedDateTime.now().plusDays(3), BigDecimal.TEN, capacity)).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                long userId = 1000L + i;
+                results.add(pool.submit(() -> {
+                    User user = User.builder().id(userId).email("fan" + userId + "@test.com").role(Role.USER).build();
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+                    try {
+                        start.await();
+                        eventApi.reserveSeats(eventId, new ReserveSeatsRequest(1));
+                        reserved.incrementAndGet();
+                    } catch (ReservationUnavailableException e) {
+                        rejected.incrementAndGet();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(capacity, reserved.get());
+        assertEquals(attempts - capacity, rejected.get());
+        assertEquals(capacity, eventRepository.findById(eventId).orElseThrow().getReservedSeats());
+        // The rejected attempts rolled back their reservation rows
+        assertEquals(capacity, reservationRepository.count());
+        assertEquals(0, eventApi.getAvailability(eventId).orElseThrow().seatsAvailable());
+    }
+
+    @Test
+    void cancelReservation_shouldGiveSeatsBack() {
+        Long eventId = eventRepository.save(new Event(
+                "Jazz Evening", "Live trio", ZonedDateTime.now().plusDays(3), BigDecimal.TEN, 4)).getId();
+        User user = User.builder().id(7L).email("fan@test.com").role(Role.USER).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        ReservationDto reservation = eventApi.reserveSeats(eventId, new ReserveSeatsRequest(4));
+        assertThrows(ReservationUnavailableException.class, () -> eventApi.reserveSeats(eventId, new ReserveSeatsRequest(1)));
+
+        eventApi.cancelReservation(reservation.id());
+
+        assertEquals(4, eventApi.getAvailability(eventId).orElseThrow().seatsAvailable());
+        assertThrows(ReservationNotFoundException.class, () -> eventApi.cancelReservation(reservation.id()));
+    }
+
+    @Test
+    void eventSeries_shouldBeExpandedIntoUpcomingAndCalendarWithoutStoringOccurrences() throws Exception {
+        // Occurrences repeat at the same wall-clock time in the cafe, also across DST changes
+        ZonedDateTime first = ZonedDateTime.now(ZoneId.of("Europe/Warsaw")).plusDays(1).truncatedTo(ChronoUnit.MINUTES);
+        EventSeriesDto series = eventApi.createEventSeries(new CreateEventSeriesRequest(
+                "Sunday EDM Session", "Live DJ set", first, RecurrenceFrequency.WEEKLY, 1, null, new BigDecimal("25.00")));
+        eventApi.cancelOccurrence(series.id(), first.plusWeeks(1).toInstant());
+
+        // The default 56-day horizon: eight weekly occurrences, one of them cancelled
+        mockMvc.perform(get("/api/v1/events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(7))
+                .andExpect(jsonPath("$[0].seriesId").value(series.id()));
+
+        // A year of calendar, read in pages of 20
+        List<Instant> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/v1/events/calendar")
+                    .param("from", first.toInstant().toString())
+                    .param("to", first.plusWeeks(52).toInstant().toString())
+                    .param("limit", "20");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            for (JsonNode occurrence : page.get("content")) {
+                seen.add(Instant.parse(occurrence.get("eventDateTime").asText()));
+            }
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertEquals(51, seen.size());
+        assertFalse(seen.contains(first.plusWeeks(1).toInstant()));
+        assertEquals(0, eventRepository.count());
+    }
+}
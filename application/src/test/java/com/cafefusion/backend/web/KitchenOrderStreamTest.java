@@ -0,0 +1,195 @@
+package com.cafefusion.backend.web;
+
+import com.cafefusion.backend.orders.api.OrdersApi;
+import com.cafefusion.backend.orders.api.event.OrderChangedEvent;
+import com.cafefusion.backend.orders.api.model.OrderDto;
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class KitchenOrderStreamTest {
+
+    private final OrdersApi ordersApi = mock(OrdersApi.class);
+
+    private final KitchenOrderStream stream = new KitchenOrderStream(ordersApi, Duration.ofMinutes(1), 100, 3);
+
+    /**
+     * Records what is sent; sends of "order" events block until 'release' is counted down.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<Sent> sent = new LinkedBlockingQueue<>();
+        final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String name = null;
+            Object data = null;
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text && text.startsWith("event:")) {
+                    name = text.substring("event:".length(), text.indexOf('\n'));
+                } else if (!(part.getData() instanceof String)) {
+                    data = part.getData();
+                }
+            }
+            if ("order".equals(name)) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(new Sent(name, data));
+        }
+    }
+
+    private record Sent(String name, Object data) {
+    }
+
+    private OrderDto order(long id, OrderStatus status) {
+        return new OrderDto(id, 2L, Instant.now(), status, new BigDecimal("10.00"), List.of("Cappuccino"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void subscribe_shouldSendSnapshotThenChanges() throws Exception {
+        OrderDto cooking = order(1L, OrderStatus.IN_PROGRESS);
+        when(ordersApi.getKitchenOrders(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(cooking)));
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+
+        stream.subscribe(emitter);
+        stream.onOrderChanged(OrderChangedEvent.statusChanged(order(1L, OrderStatus.READY_FOR_PICKUP), OrderStatus.IN_PROGRESS));
+        stream.onOrderChanged(OrderChangedEvent.statusChanged(order(1L, OrderStatus.COMPLETED), OrderStatus.READY_FOR_PICKUP));
+
+        Sent snapshot = emitter.sent.poll(5, TimeUnit.SECONDS);
+        assertEquals("snapshot", snapshot.name());
+        assertEquals(List.of(cooking), snapshot.data());
+
+        KitchenOrderUpdate first = (KitchenOrderUpdate) emitter.sent.poll(5, TimeUnit.SECONDS).data();
+        KitchenOrderUpdate last = first;
+        if (first.onBoard()) {
+            // Not coalesced: the drain sent the first change before the second arrived
+            last = (KitchenOrderUpdate) emitter.sent.poll(5, TimeUnit.SECONDS).data();
+        }
+        // A completed order leaves the board
+        assertEquals(OrderStatus.COMPLETED, last.order().status());
+        assertFalse(last.onBoard());
+    }
+
+    @Test
+    void onOrderChanged_shouldIgnoreChangesOutsideTheKitchen() throws Exception {
+        when(ordersApi.getKitchenOrders(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+        stream.subscribe(emitter);
+
+        stream.onOrderChanged(OrderChangedEvent.created(order(5L, OrderStatus.PENDING_APPROVAL)));
+        stream.onOrderChanged(OrderChangedEvent.statusChanged(order(5L, OrderStatus.CONFIRMED), OrderStatus.PENDING_APPROVAL));
+        stream.onOrderChanged(OrderChangedEvent.statusChanged(order(5L, OrderStatus.IN_PROGRESS), OrderStatus.CONFIRMED));
+
+        assertEquals("snapshot", emitter.sent.poll(5, TimeUnit.SECONDS).name());
+        KitchenOrderUpdate update = (KitchenOrderUpdate) emitter.sent.poll(5, TimeUnit.SECONDS).data();
+        assertEquals(OrderStatus.IN_PROGRESS, update.order().status());
+        assertTrue(update.onBoard());
+        assertNull(emitter.sent.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void onOrderChanged_shouldCoalesceChangesForALaggingDisplay() throws Exception {
+        when(ordersApi.getKitchenOrders(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(release);
+        stream.subscribe(emitter);
+        assertEquals("snapshot", emitter.sent.poll(5, TimeUnit.SECONDS).name());
+
+        // The drain picks this up and then blocks inside send()
+        stream.onOrderChanged(OrderChangedEvent.statusChanged(order(1L, OrderStatus.IN_PROGRESS), OrderStatus.CONFIRMED));
+        Thread.sleep(100);
+        // Two changes to the same order while the display is stuck: only the latest is kept
+        stream.onOrderChanged(OrderChangedEvent.statusChanged(order(2L, OrderStatus.IN_PROGRESS), OrderStatus.CONFIRMED));
+        stream.onOrderChanged(OrderChangedEvent.statusChanged(order(2L, OrderStatus.READY_FOR_PICKUP), OrderStatus.IN_PROGRESS));
+        release.countDown();
+
+        KitchenOrderUpdate first = (KitchenOrderUpdate) emitter.sent.poll(5, TimeUnit.SECONDS).data();
+        KitchenOrderUpdate second = (KitchenOrderUpdate) emitter.sent.poll(5, TimeUnit.SECONDS).data();
+        assertEquals(1L, first.order().orderId());
+        assertEquals(2L, second.order().orderId());
+        assertEquals(OrderStatus.READY_FOR_PICKUP, second.order().status());
+        assertNull(emitter.sent.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void onOrderChanged_shouldDisconnectDisplayThatFallsTooFarBehind() throws Exception {
+        when(ordersApi.getKitchenOrders(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(release);
+        stream.subscribe(emitter);
+        assertEquals("snapshot", emitter.sent.poll(5, TimeUnit.SECONDS).name());
+        assertEquals(1, stream.subscriberCount());
+
+        stream.onOrderChanged(OrderChangedEvent.statusChanged(order(1L, OrderStatus.IN_PROGRESS), OrderStatus.CONFIRMED));
+        Thread.sleep(100);
+        // max-pending is 3: the fourth distinct order still waiting drops the subscriber
+        for (long id = 2; id <= 5; id++) {
+            stream.onOrderChanged(OrderChangedEvent.statusChanged(order(id, OrderStatus.IN_PROGRESS), OrderStatus.CONFIRMED));
+        }
+
+        assertEquals(0, stream.subscriberCount());
+        release.countDown();
+    }
+
+    @Test
+    void subscribe_whenSnapshotFails_shouldNotKeepSubscriber() {
+        when(ordersApi.getKitchenOrders(any(Pageable.class))).thenThrow(new IllegalArgumentException("query failed"));
+
+        assertThrows(IllegalArgumentException.class, () -> stream.subscribe(new RecordingEmitter(new CountDownLatch(0))));
+        assertEquals(0, stream.subscriberCount());
+    }
+
+    @Test
+    void onOrderChanged_whenUpdateCannotBeWritten_shouldDisconnectDisplay() throws Exception {
+        when(ordersApi.getKitchenOrders(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        CountDownLatch failed = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0)) {
+            @Override
+            public void send(SseEventBuilder builder) {
+                super.send(builder);
+                if (sent.size() > 1) {
+                    failed.countDown();
+                    throw new UnsupportedOperationException("not writable");
+                }
+            }
+        };
+        stream.subscribe(emitter);
+        assertEquals(1, stream.subscriberCount());
+
+        stream.onOrderChanged(OrderChangedEvent.statusChanged(order(1L, OrderStatus.IN_PROGRESS), OrderStatus.CONFIRMED));
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(0, stream.subscriberCount());
+    }
+}
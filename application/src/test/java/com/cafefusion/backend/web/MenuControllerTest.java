@@ -3,7 +3,11 @@ package com.cafefusion.backend.web;
 import com.cafefusion.backend.config.SecurityConfig;
 import com.cafefusion.backend.menu.api.MenuApi;
 import com.cafefusion.backend.menu.api.model.CreateMenuItemRequest;
+import com.cafefusion.backend.menu.api.model.MenuContent;
+import com.cafefusion.backend.menu.api.model.MenuImportResult;
+import com.cafefusion.backend.menu.api.model.MenuImportRow;
 import com.cafefusion.backend.menu.api.model.MenuItemDto;
+import com.cafefusion.backend.menu.api.model.MenuVersion;
 import com.cafefusion.backend.users.internal.JwtService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -11,21 +15,37 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(MenuController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, EncodedMenuCache.class})
 public class MenuControllerTest {
 
     @Autowired
@@ -43,6 +63,11 @@ public class MenuControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EncodedMenuCache encodedMenuCache;
+
+    private static final MenuVersion VERSION = new MenuVersion("9b2e41", Instant.parse("2025-06-01T10:00:00Z"));
+
     // --- TEST 1: ANONYMOUS User (No Login) ---
     @Test
     void createMenuItem_whenAnonymous_shouldReturnUnauthorized() throws Exception {
@@ -83,4 +108,158 @@ public class MenuControllerTest {
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.name").value("Admin Item"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllMenuItems_shouldReturnItemsWithValidators() throws Exception {
+        when(menuApi.getMenu()).thenReturn(new MenuContent(VERSION,
+                List.of(new MenuItemDto(1L, "Cappuccino", "Milk", BigDecimal.TEN))));
+
+        mockMvc.perform(get("/api/v1/menu"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"9b2e41\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Sun, 01 Jun 2025 10:00:00 GMT"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$[0].name").value("Cappuccino"));
+    }
+
+    @Test
+    void getAllMenuItems_whenETagMatches_shouldReturnNotModified() throws Exception {
+        when(menuApi.getMenu()).thenReturn(new MenuContent(VERSION, List.of()));
+
+        mockMvc.perform(get("/api/v1/menu").header(HttpHeaders.IF_NONE_MATCH, "\"9b2e41\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getMenuItemById_whenNotModifiedSince_shouldReturnNotModified() throws Exception {
+        when(menuApi.getMenuVersion()).thenReturn(VERSION);
+
+        mockMvc.perform(get("/api/v1/menu/1").header(HttpHeaders.IF_MODIFIED_SINCE, "Sun, 01 Jun 2025 10:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(menuApi, never()).getMenuItemById(1L);
+    }
+
+    @Test
+    void getAllMenuItems_whenGzipAccepted_shouldServeCompressedVariantEncodedOnce() throws Exception {
+        // A version of its own: the encoded menu cache is shared by all tests in this context
+        MenuVersion version = new MenuVersion("c0ffee", VERSION.lastModified());
+        List<MenuItemDto> items = List.of(new MenuItemDto(1L, "Cappuccino", "Milk", new BigDecimal("12.50")));
+        when(menuApi.getMenu()).thenReturn(new MenuContent(version, items));
+
+        for (int i = 0; i < 2; i++) {
+            byte[] body = mockMvc.perform(get("/api/v1/menu").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"c0ffee-gzip\""))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                assertEquals("[{\"id\":1,\"name\":\"Cappuccino\",\"description\":\"Milk\",\"price\":12.50}]",
+                        new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        // Encoded once for this menu version, then served from memory
+        assertSame(encodedMenuCache.get(new MenuContent(version, items)), encodedMenuCache.get(new MenuContent(version, items)));
+    }
+
+    @Test
+    void acceptsGzip_shouldHonourQualityValues() {
+        assertTrue(MenuController.acceptsGzip("gzip"));
+        assertTrue(MenuController.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+        assertTrue(MenuController.acceptsGzip("*"));
+        assertFalse(MenuController.acceptsGzip(null));
+        assertFalse(MenuController.acceptsGzip("identity"));
+        assertFalse(MenuController.acceptsGzip("gzip;q=0"));
+        assertFalse(MenuController.acceptsGzip("*, gzip;q=0.0"));
+    }
+
+    @Test
+    void searchMenuItems_shouldBePublic() throws Exception {
+        when(menuApi.searchMenuItems("capp", 20)).thenReturn(List.of(new MenuItemDto(1L, "Cappuccino", "Milk", BigDecimal.TEN)));
+
+        mockMvc.perform(get("/api/v1/menu/search").param("q", "capp"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Cappuccino"));
+    }
+
+    /**
+     * Makes the mocked import collect the rows it is given, and report them all as created.
+     */
+    private List<MenuImportRow> collectImportedRows() {
+        List<MenuImportRow> rows = new ArrayList<>();
+        when(menuApi.importMenuItems(any())).thenAnswer(invocation -> {
+            Stream<MenuImportRow> stream = invocation.getArgument(0);
+            stream.forEach(rows::add);
+            return new MenuImportResult(rows.size(), 0, 0, List.of());
+        });
+        return rows;
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importMenuItems_shouldReadCsvRowByRow() throws Exception {
+        List<MenuImportRow> rows = collectImportedRows();
+        String csv = """
+                price,name,description
+                12.50,Cappuccino,"Espresso, milk and ""foam""\"
+
+                18.00,Baklava,"Pistachio
+                and honey"
+                abc,Espresso,
+                """;
+
+        mockMvc.perform(post("/api/v1/menu/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(3));
+
+        assertEquals(List.of(
+                MenuImportRow.parsed(2, new CreateMenuItemRequest("Cappuccino", "Espresso, milk and \"foam\"", new BigDecimal("12.50"))),
+                MenuImportRow.parsed(4, new CreateMenuItemRequest("Baklava", "Pistachio\nand honey", new BigDecimal("18.00"))),
+                MenuImportRow.unreadable(6, "Invalid price: abc")), rows);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importMenuItems_shouldReadNdjson() throws Exception {
+        List<MenuImportRow> rows = collectImportedRows();
+        String ndjson = """
+                {"name":"Cappuccino","price":12.50}
+                {"name":
+                """;
+
+        mockMvc.perform(post("/api/v1/menu/import")
+                        .param("format", "NDJSON")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk());
+
+        assertEquals(MenuImportRow.parsed(1, new CreateMenuItemRequest("Cappuccino", null, new BigDecimal("12.50"))), rows.get(0));
+        assertEquals(2, rows.get(1).line());
+        assertTrue(rows.get(1).error().startsWith("Invalid JSON"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importMenuItems_whenCsvHeaderLacksColumns_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/menu/import")
+                        .contentType("text/csv")
+                        .content("name,cost\nCappuccino,12.50\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void importMenuItems_whenUserRole_shouldReturnForbidden() throws Exception {
+        mockMvc.perform(post("/api/v1/menu/import")
+                        .contentType("text/csv")
+                        .content("name,price\n"))
+                .andExpect(status().isForbidden());
+    }
+}
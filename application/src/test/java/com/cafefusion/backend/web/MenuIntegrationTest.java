@@ -0,0 +1,218 @@
+package com.cafefusion.backend.web;
+
+import com.cafefusion.backend.AbstractIntegrationTest;
+import com.cafefusion.backend.menu.api.model.CreateMenuItemRequest;
+import com.cafefusion.backend.menu.api.model.UpdateMenuItemRequest;
+import com.cafefusion.backend.menu.internal.MenuItem;
+import com.cafefusion.backend.menu.internal.MenuItemRepository;
+import com.cafefusion.backend.menu.internal.MenuSnapshotStore;
+import com.cafefusion.backend.users.api.model.Role;
+import com.cafefusion.backend.users.internal.User;
+import com.cafefusion.backend.users.internal.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+public class MenuIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+    @Autowired
+    private MenuSnapshotStore menuSnapshotStore;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User adminUser;
+    private MenuItem cappuccino;
+
+    @BeforeEach
+    void setUp() {
+        menuItemRepository.deleteAll();
+        userRepository.deleteAll();
+
+        this.adminUser = new User();
+        adminUser.setFirstName("Test");
+        adminUser.setLastName("Admin");
+        adminUser.setEmail("admin@test.com");
+        adminUser.setPassword(passwordEncoder.encode("password"));
+        adminUser.setRole(Role.ADMIN);
+        userRepository.save(this.adminUser);
+
+        this.cappuccino = new MenuItem();
+        cappuccino.setName("Cappuccino");
+        cappuccino.setDescription("Test Coffee");
+        cappuccino.setPrice(new BigDecimal("10.00"));
+        menuItemRepository.save(cappuccino);
+
+        // Rows written straight through the repository are only seen by the snapshot after a refresh
+        menuSnapshotStore.refresh();
+    }
+
+    private UsernamePasswordAuthenticationToken getAdminAuthToken() {
+        return new UsernamePasswordAuthenticationToken(
+                this.adminUser, null, this.adminUser.getAuthorities()
+        );
+    }
+
+    @Test
+    void createMenuItem_shouldShowUpInMenuOnceCommitted() throws Exception {
+        mockMvc.perform(post("/api/v1/menu")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateMenuItemRequest("Baklava", "Pistachio", new BigDecimal("18.00"))))
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/menu"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].name").value("Baklava"));
+    }
+
+    @Test
+    void createMenuItem_withExistingName_shouldReturnConflict() throws Exception {
+        mockMvc.perform(post("/api/v1/menu")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateMenuItemRequest("Cappuccino", "Again", new BigDecimal("9.00"))))
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isConflict());
+
+        assertEquals(1, menuItemRepository.count());
+    }
+
+    @Test
+    void createMenuItem_whenNameTakenConcurrently_shouldReturnConflict() throws Exception {
+        // Another writer inserts the name but has not committed yet, so the request's name check passes
+        CountDownLatch inserted = new CountDownLatch(1);
+        CompletableFuture<Void> rival = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO menu.menu_items (name, description, price) VALUES ('Latte', 'Rival', 9.00)");
+            inserted.countDown();
+            try {
+                // The request's INSERT waits on the unique index meanwhile, and fails once this commits
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(inserted.await(5, TimeUnit.SECONDS));
+
+        mockMvc.perform(post("/api/v1/menu")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateMenuItemRequest("Latte", "Ours", new BigDecimal("10.00"))))
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isConflict());
+
+        rival.get(5, TimeUnit.SECONDS);
+        assertEquals(2, menuItemRepository.count());
+    }
+
+    @Test
+    void updateMenuItem_shouldReplaceSnapshotEntry() throws Exception {
+        mockMvc.perform(put("/api/v1/menu/" + cappuccino.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UpdateMenuItemRequest("Cappuccino", "Test Coffee", new BigDecimal("11.00"))))
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/menu/" + cappuccino.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(11.00));
+    }
+
+    @Test
+    void deleteMenuItem_shouldDropItFromMenu() throws Exception {
+        mockMvc.perform(delete("/api/v1/menu/" + cappuccino.getId())
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/menu"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void getAllMenuItems_shouldRevalidateAgainstMenuVersion() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/menu"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/menu").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // A refresh that finds the same rows keeps the ETag
+        menuSnapshotStore.refresh();
+        mockMvc.perform(get("/api/v1/menu").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/v1/menu/" + cappuccino.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UpdateMenuItemRequest("Cappuccino", "Test Coffee", new BigDecimal("11.00"))))
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/menu").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].price").value(11.00));
+    }
+
+    @Test
+    void importMenuItems_shouldUpsertByNameAndRefreshMenuOnce() throws Exception {
+        String csv = "name,description,price\n"
+                + "Cappuccino,Test Coffee,11.50\n"
+                + "Baklava,Pistachio,18.00\n"
+                + ",Nameless,5.00\n";
+
+        mockMvc.perform(post("/api/v1/menu/import")
+                        .contentType("text/csv")
+                        .content(csv)
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(4));
+
+        mockMvc.perform(get("/api/v1/menu"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(cappuccino.getId()))
+                .andExpect(jsonPath("$[0].price").value(11.50))
+                .andExpect(jsonPath("$[1].name").value("Baklava"));
+    }
+}
@@ -3,6 +3,7 @@ package com.cafefusion.backend.web;
 import com.cafefusion.backend.config.SecurityConfig;
 import com.cafefusion.backend.orders.api.OrdersApi;
 import com.cafefusion.backend.orders.api.model.CreateOrderRequest;
+import com.cafefusion.backend.orders.api.model.CursorPage;
 import com.cafefusion.backend.orders.api.model.OrderDto;
 import com.cafefusion.backend.orders.api.model.OrderStatus;
 import com.cafefusion.backend.orders.api.model.UpdateOrderRequest;
@@ -24,6 +25,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -76,6 +80,24 @@ public class OrdersControllerTest {
                 .andExpect(jsonPath("$[0].userId").value(2L));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getMyHistoryPage_shouldPassCursorAndReturnEnvelope() throws Exception {
+        OrderDto fakeOrder = new OrderDto(
+                1L, 2L, Instant.now(), OrderStatus.PENDING_APPROVAL, new BigDecimal("30.50"), List.of("Item A")
+        );
+        when(ordersApi.getMyOrderHistory("abc", 10))
+                .thenReturn(new CursorPage<>(List.of(fakeOrder), "def", true));
+
+        mockMvc.perform(get("/api/v1/orders/my-history/page")
+                        .param("cursor", "abc")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].orderId").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void createNewOrder_whenUserRole_shouldReturnCreated() throws Exception {
@@ -94,6 +116,26 @@ public class OrdersControllerTest {
                 .andExpect(jsonPath("$.userId").value(2L));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void createNewOrder_withIdempotencyKey_shouldUseIdempotentCreate() throws Exception {
+        CreateOrderRequest request = new CreateOrderRequest(List.of(1L));
+        OrderDto fakeResponse = new OrderDto(
+                1L, 2L, Instant.now(), OrderStatus.PENDING_APPROVAL, new BigDecimal("12.50"), List.of("Cappuccino")
+        );
+        when(ordersApi.createOrder(any(CreateOrderRequest.class), eq("retry-123"))).thenReturn(fakeResponse);
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", "retry-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.orderId").value(1));
+
+        verify(ordersApi).createOrder(any(CreateOrderRequest.class), eq("retry-123"));
+        verify(ordersApi, never()).createOrder(any(CreateOrderRequest.class));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void getOrderById_whenAdminRole_shouldReturnOk() throws Exception {
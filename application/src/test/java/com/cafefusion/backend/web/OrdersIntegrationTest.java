@@ -1,6 +1,9 @@
 package com.cafefusion.backend.web;
 
 import com.cafefusion.backend.AbstractIntegrationTest;
+import com.cafefusion.backend.orders.api.OrdersApi;
+import com.cafefusion.backend.orders.api.exception.InvalidStatusTransitionException;
+import com.cafefusion.backend.orders.api.model.BulkStatusUpdateRequest;
 import com.cafefusion.backend.orders.api.model.OrderStatus;
 import com.cafefusion.backend.orders.api.model.UpdateOrderRequest;
 import com.cafefusion.backend.orders.internal.Order;
@@ -12,15 +15,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.Commit;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.cafefusion.backend.menu.internal.MenuItem;
 import com.cafefusion.backend.menu.internal.MenuItemRepository;
 import com.cafefusion.backend.users.internal.UserRepository;
 
 import com.cafefusion.backend.orders.api.model.CreateOrderRequest;
+import com.cafefusion.backend.orders.internal.OrderArchiver;
+import com.cafefusion.backend.orders.internal.OrderCounters;
+import com.cafefusion.backend.orders.internal.OrderItem;
 import com.cafefusion.backend.orders.internal.OrderRepository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,12 +38,22 @@ import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequ
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -53,6 +71,14 @@ public class OrdersIntegrationTest extends AbstractIntegrationTest {
     private UserRepository userRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private OrderCounters orderCounters;
+    @Autowired
+    private OrdersApi ordersApi;
+    @Autowired
+    private OrderArchiver orderArchiver;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     // --- Entities ---
     private User testUser;
@@ -67,6 +93,8 @@ public class OrdersIntegrationTest extends AbstractIntegrationTest {
     void setUp() {
         // Clean up
         orderRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM orders.order_items_archive");
+        jdbcTemplate.update("DELETE FROM orders.orders_archive");
         menuItemRepository.deleteAll();
         userRepository.deleteAll();
 
@@ -163,6 +191,67 @@ public class OrdersIntegrationTest extends AbstractIntegrationTest {
                 .andExpect(jsonPath("$[0].orderId").value(this.userOrder.getId()));
     }
 
+    @Test
+    void getMyHistoryPage_shouldWalkHistoryWithCursor() throws Exception {
+        // A second, older order for the same user
+        Order olderOrder = new Order(testUser.getId(), Instant.now().minusSeconds(3600), new BigDecimal("5.00"));
+        orderRepository.saveAndFlush(olderOrder);
+
+        String firstPage = mockMvc.perform(get("/api/v1/orders/my-history/page")
+                        .param("limit", "1")
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getUserAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].orderId").value(this.userOrder.getId()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/orders/my-history/page")
+                        .param("limit", "1")
+                        .param("cursor", cursor)
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getUserAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].orderId").value(olderOrder.getId()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void getAllOrdersByCursor_whenAdmin_shouldWalkAllOrders() throws Exception {
+        // userOrder and adminOrder may share a timestamp; the id tie-breaker still gives a stable order
+        String firstPage = mockMvc.perform(get("/api/v1/admin/orders/cursor")
+                        .param("limit", "1")
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        long firstId = objectMapper.readTree(firstPage).get("content").get(0).get("orderId").asLong();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        String secondPage = mockMvc.perform(get("/api/v1/admin/orders/cursor")
+                        .param("limit", "1")
+                        .param("cursor", cursor)
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andReturn().getResponse().getContentAsString();
+
+        long secondId = objectMapper.readTree(secondPage).get("content").get(0).get("orderId").asLong();
+        assertEquals(Set.of(userOrder.getId(), adminOrder.getId()), Set.of(firstId, secondId));
+
+        mockMvc.perform(get("/api/v1/admin/orders/filter/cursor")
+                        .param("statuses", "CONFIRMED")
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].orderId").value(adminOrder.getId()));
+    }
+
     @Test
     void getOrderById_whenUserIsOwner_shouldReturnOrder() throws Exception {
         // This tests the `@PreAuthorize("hasAnyRole('USER', 'ADMIN')")`
@@ -214,6 +303,60 @@ public class OrdersIntegrationTest extends AbstractIntegrationTest {
         assertEquals(OrderStatus.CONFIRMED, updatedOrder.getStatus());
     }
 
+    @Test
+    void updateStatusValidated_concurrentTransitions_shouldLetExactlyOneWin() throws Exception {
+        // Two tablets confirm the same pending order at the same moment
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Boolean> confirm = () -> {
+            start.await();
+            try {
+                ordersApi.updateStatusValidated(userOrder.getId(), new UpdateOrderRequest(OrderStatus.CONFIRMED));
+                return true;
+            } catch (InvalidStatusTransitionException e) {
+                return false;
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = executor.submit(confirm);
+            Future<Boolean> second = executor.submit(confirm);
+            start.countDown();
+
+            int wins = (first.get(10, TimeUnit.SECONDS) ? 1 : 0) + (second.get(10, TimeUnit.SECONDS) ? 1 : 0);
+            assertEquals(1, wins);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Order updatedOrder = orderRepository.findById(userOrder.getId()).get();
+        assertEquals(OrderStatus.CONFIRMED, updatedOrder.getStatus());
+        // The transition UPDATE bumps the version, so stale entity updates fail
+        assertEquals(1L, updatedOrder.getVersion());
+    }
+
+    @Test
+    void bulkUpdateStatus_whenAdmin_shouldMoveAllowedOrdersOnly() throws Exception {
+        // userOrder is PENDING_APPROVAL and may be confirmed; adminOrder already is CONFIRMED
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest(
+                List.of(userOrder.getId(), adminOrder.getId(), -1L), OrderStatus.CONFIRMED);
+
+        mockMvc.perform(put("/api/v1/admin/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].updated").value(true))
+                .andExpect(jsonPath("$[0].order.status").value("CONFIRMED"))
+                .andExpect(jsonPath("$[1].updated").value(false))
+                .andExpect(jsonPath("$[1].error").value("Cannot change status from CONFIRMED to CONFIRMED"))
+                .andExpect(jsonPath("$[2].error").value("Order not found: -1"));
+
+        assertEquals(OrderStatus.CONFIRMED, orderRepository.findById(userOrder.getId()).get().getStatus());
+    }
+
     @Test
     void deleteOrder_whenAdmin_shouldDeleteOrder() throws Exception {
         // This tests the `@PreAuthorize("hasRole('ADMIN')")`
@@ -229,4 +372,247 @@ public class OrdersIntegrationTest extends AbstractIntegrationTest {
         assertFalse(orderRepository.existsById(this.userOrder.getId()));
     }
 
-}
\ No newline at end of file
+    @Test
+    void getStats_whenAdmin_shouldAggregatePerStatus() throws Exception {
+        // A second confirmed order, outside the requested window
+        Order oldOrder = new Order(testUser.getId(), Instant.parse("2020-01-01T00:00:00Z"), new BigDecimal("5.00"));
+        oldOrder.setStatus(OrderStatus.CONFIRMED);
+        oldOrder.setItemCount(2);
+        orderRepository.saveAndFlush(oldOrder);
+        // Rows written straight through the repository are only seen by the live counters after a rebuild
+        orderCounters.rebuild();
+
+        mockMvc.perform(get("/api/v1/admin/orders/stats")
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.PENDING_APPROVAL.orderCount").value(1))
+                .andExpect(jsonPath("$.CONFIRMED.orderCount").value(2))
+                .andExpect(jsonPath("$.CONFIRMED.revenue").value(25.00))
+                .andExpect(jsonPath("$.CONFIRMED.itemCount").value(2))
+                .andExpect(jsonPath("$.CANCELLED.orderCount").value(0));
+
+        mockMvc.perform(get("/api/v1/admin/orders/stats")
+                        .param("start", Instant.now().minusSeconds(3600).toString())
+                        .param("end", Instant.now().plusSeconds(3600).toString())
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.CONFIRMED.orderCount").value(1))
+                .andExpect(jsonPath("$.CONFIRMED.revenue").value(20.00));
+    }
+
+    @Test
+    void getStats_shouldFollowStatusChangesInMemory() throws Exception {
+        orderCounters.rebuild();
+
+        mockMvc.perform(put("/api/v1/admin/orders/" + this.userOrder.getId() + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateOrderRequest(OrderStatus.CONFIRMED)))
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk());
+
+        // A window starting on the current hour runs up to now, so it is answered by the counters
+        Instant thisHour = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        mockMvc.perform(get("/api/v1/admin/orders/stats")
+                        .param("start", thisHour.toString())
+                        .param("end", thisHour.plus(1, ChronoUnit.HOURS).toString())
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.PENDING_APPROVAL.orderCount").value(0))
+                .andExpect(jsonPath("$.CONFIRMED.orderCount").value(2))
+                .andExpect(jsonPath("$.CONFIRMED.revenue").value(30.00));
+    }
+
+
+    @Test
+    void archive_shouldMoveOldFinishedOrdersOutOfTheHotTable() throws Exception {
+        Order oldOrder = new Order(testUser.getId(), Instant.parse("2020-01-01T00:00:00Z"), new BigDecimal("5.00"));
+        oldOrder.setStatus(OrderStatus.COMPLETED);
+        oldOrder.setItemCount(1);
+        oldOrder.setItems(List.of(new OrderItem(oldOrder, 1L, "Espresso", new BigDecimal("5.00"))));
+        orderRepository.saveAndFlush(oldOrder);
+
+        // An old order that is still open stays where it is
+        Order oldOpenOrder = new Order(testUser.getId(), Instant.parse("2020-01-01T00:00:00Z"), new BigDecimal("7.00"));
+        oldOpenOrder.setStatus(OrderStatus.CONFIRMED);
+        orderRepository.saveAndFlush(oldOpenOrder);
+
+        assertEquals(1, orderArchiver.archive());
+
+        assertFalse(orderRepository.existsById(oldOrder.getId()));
+        assertTrue(orderRepository.existsById(oldOpenOrder.getId()));
+
+        mockMvc.perform(get("/api/v1/admin/orders/archive")
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].orderId").value(oldOrder.getId()))
+                .andExpect(jsonPath("$.content[0].itemNames[0]").value("Espresso"));
+
+        mockMvc.perform(get("/api/v1/admin/orders/archive/" + oldOrder.getId())
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+
+        // Archived orders still count in the statistics
+        orderCounters.rebuild();
+        mockMvc.perform(get("/api/v1/admin/orders/stats")
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.COMPLETED.orderCount").value(1))
+                .andExpect(jsonPath("$.COMPLETED.itemCount").value(1));
+    }
+
+    @Test
+    void archivedOrders_shouldStayInCustomerHistoryAndLookup() throws Exception {
+        Order oldOrder = new Order(testUser.getId(), Instant.parse("2020-01-01T00:00:00Z"), new BigDecimal("5.00"));
+        oldOrder.setStatus(OrderStatus.COMPLETED);
+        oldOrder.setItemCount(1);
+        oldOrder.setItems(List.of(new OrderItem(oldOrder, 1L, "Espresso", new BigDecimal("5.00"))));
+        orderRepository.saveAndFlush(oldOrder);
+        assertEquals(1, orderArchiver.archive());
+
+        mockMvc.perform(get("/api/v1/orders/my-history")
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getUserAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].orderId").value(oldOrder.getId()));
+
+        // The cursor runs on from the hot table into the archive
+        String firstPage = mockMvc.perform(get("/api/v1/orders/my-history/page")
+                        .param("limit", "1")
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getUserAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].orderId").value(this.userOrder.getId()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/orders/my-history/page")
+                        .param("limit", "1")
+                        .param("cursor", cursor)
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getUserAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].orderId").value(oldOrder.getId()))
+                .andExpect(jsonPath("$.content[0].itemNames[0]").value("Espresso"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/api/v1/orders/" + oldOrder.getId())
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getUserAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    @Test
+    void exportOrders_shouldStreamHotAndArchivedOrders() throws Exception {
+        Order oldOrder = new Order(testUser.getId(), Instant.parse("2020-01-10T00:00:00Z"), new BigDecimal("8.00"));
+        oldOrder.setStatus(OrderStatus.COMPLETED);
+        oldOrder.setItemCount(2);
+        oldOrder.setItems(List.of(
+                new OrderItem(oldOrder, 1L, "Espresso", new BigDecimal("3.00")),
+                new OrderItem(oldOrder, 2L, "Cake, large", new BigDecimal("5.00"))));
+        orderRepository.saveAndFlush(oldOrder);
+        orderArchiver.archive();
+
+        Order recentOrder = new Order(testUser.getId(), Instant.parse("2020-01-20T00:00:00Z"), new BigDecimal("4.00"));
+        recentOrder.setStatus(OrderStatus.CONFIRMED);
+        recentOrder.setItemCount(1);
+        recentOrder.setItems(List.of(new OrderItem(recentOrder, 3L, "Latte", new BigDecimal("4.00"))));
+        orderRepository.saveAndFlush(recentOrder);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/admin/orders/export")
+                        .param("start", "2020-01-01T00:00:00Z")
+                        .param("end", "2020-02-01T00:00:00Z")
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(String.join("\n",
+                "order_id,user_id,created_at,status,total_price,menu_item_id,item_name,item_price",
+                oldOrder.getId() + "," + testUser.getId() + ",2020-01-10T00:00:00Z,COMPLETED,8.00,1,Espresso,3.00",
+                oldOrder.getId() + "," + testUser.getId() + ",2020-01-10T00:00:00Z,COMPLETED,8.00,2,\"Cake, large\",5.00",
+                recentOrder.getId() + "," + testUser.getId() + ",2020-01-20T00:00:00Z,CONFIRMED,4.00,3,Latte,4.00",
+                ""), csv);
+    }
+
+    @Test
+    void getSalesAnalytics_shouldAggregateSalesAcrossTiers() throws Exception {
+        Order archived = new Order(testUser.getId(), Instant.parse("2020-03-01T09:15:00Z"), new BigDecimal("8.00"));
+        archived.setStatus(OrderStatus.COMPLETED);
+        archived.setItemCount(2);
+        archived.setItems(List.of(
+                new OrderItem(archived, 1L, "Espresso", new BigDecimal("3.00")),
+                new OrderItem(archived, 2L, "Baklava", new BigDecimal("5.00"))));
+        orderRepository.saveAndFlush(archived);
+        orderArchiver.archive();
+
+        Order hot = new Order(testUser.getId(), Instant.parse("2020-03-02T14:00:00Z"), new BigDecimal("6.00"));
+        hot.setStatus(OrderStatus.CONFIRMED);
+        hot.setItemCount(2);
+        hot.setItems(List.of(
+                new OrderItem(hot, 1L, "Espresso", new BigDecimal("3.00")),
+                new OrderItem(hot, 1L, "Espresso", new BigDecimal("3.00"))));
+        orderRepository.saveAndFlush(hot);
+
+        // Not a sale
+        Order cancelled = new Order(testUser.getId(), Instant.parse("2020-03-02T15:00:00Z"), new BigDecimal("50.00"));
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        cancelled.setItemCount(1);
+        cancelled.setItems(List.of(new OrderItem(cancelled, 3L, "Cake", new BigDecimal("50.00"))));
+        orderRepository.saveAndFlush(cancelled);
+
+        mockMvc.perform(get("/api/v1/admin/orders/analytics")
+                        .param("start", "2020-03-01T00:00:00Z")
+                        .param("end", "2020-03-04T00:00:00Z")
+                        .param("top", "1")
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount").value(2))
+                .andExpect(jsonPath("$.revenue").value(14.00))
+                .andExpect(jsonPath("$.averageOrderValue").value(7.00))
+                .andExpect(jsonPath("$.averageBasketSize").value(2.0))
+                .andExpect(jsonPath("$.revenueSeries.length()").value(3))
+                .andExpect(jsonPath("$.revenueSeries[0].revenue").value(8.00))
+                .andExpect(jsonPath("$.revenueSeries[1].revenue").value(6.00))
+                .andExpect(jsonPath("$.revenueSeries[2].orderCount").value(0))
+                .andExpect(jsonPath("$.topByQuantity.length()").value(1))
+                .andExpect(jsonPath("$.topByQuantity[0].name").value("Espresso"))
+                .andExpect(jsonPath("$.topByQuantity[0].quantity").value(3))
+                .andExpect(jsonPath("$.topByRevenue[0].revenue").value(9.00));
+    }
+
+    @Test
+    void getSalesAnalytics_afterRename_shouldReportLatestName() throws Exception {
+        Order archived = new Order(testUser.getId(), Instant.parse("2020-03-01T09:00:00Z"), new BigDecimal("4.00"));
+        archived.setStatus(OrderStatus.COMPLETED);
+        archived.setItemCount(1);
+        archived.setItems(List.of(new OrderItem(archived, 1L, "Zebra Latte", new BigDecimal("4.00"))));
+        orderRepository.saveAndFlush(archived);
+        orderArchiver.archive();
+
+        // Sold under the old name once more, then renamed to one that sorts first
+        Order beforeRename = new Order(testUser.getId(), Instant.parse("2020-03-02T09:00:00Z"), new BigDecimal("4.00"));
+        beforeRename.setStatus(OrderStatus.CONFIRMED);
+        beforeRename.setItemCount(1);
+        beforeRename.setItems(List.of(new OrderItem(beforeRename, 1L, "Zebra Latte", new BigDecimal("4.00"))));
+        orderRepository.saveAndFlush(beforeRename);
+
+        Order afterRename = new Order(testUser.getId(), Instant.parse("2020-03-03T09:00:00Z"), new BigDecimal("4.00"));
+        afterRename.setStatus(OrderStatus.CONFIRMED);
+        afterRename.setItemCount(1);
+        afterRename.setItems(List.of(new OrderItem(afterRename, 1L, "Almond Latte", new BigDecimal("4.00"))));
+        orderRepository.saveAndFlush(afterRename);
+
+        mockMvc.perform(get("/api/v1/admin/orders/analytics")
+                        .param("start", "2020-03-01T00:00:00Z")
+                        .param("end", "2020-03-04T00:00:00Z")
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(getAdminAuthToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.topByQuantity[0].name").value("Almond Latte"))
+                .andExpect(jsonPath("$.topByQuantity[0].quantity").value(3));
+    }
+}
@@ -1,8 +1,17 @@
 package com.cafefusion.backend.events.api;
 
 import com.cafefusion.backend.events.api.model.CreateEventRequest;
+import com.cafefusion.backend.events.api.model.CreateEventSeriesRequest;
+import com.cafefusion.backend.events.api.model.EventAvailability;
 import com.cafefusion.backend.events.api.model.EventDto;
+import com.cafefusion.backend.events.api.model.EventPage;
+import com.cafefusion.backend.events.api.model.EventSeriesDto;
+import com.cafefusion.backend.events.api.model.EventsVersion;
+import com.cafefusion.backend.events.api.model.ReservationDto;
+import com.cafefusion.backend.events.api.model.ReserveSeatsRequest;
+import com.cafefusion.backend.events.api.model.UpcomingEvents;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,10 +39,85 @@ public interface EventApi {
     List<EventDto> getUpcomingEvents();
 
     /**
-     * Deletes an event by its ID.
+     * Same as {@link #getUpcomingEvents()}, together with the version of the list.
+     * @return The upcoming events and their version.
+     */
+    UpcomingEvents getUpcomingEventsWithVersion();
+
+    /**
+     * The version of the upcoming events list, if it is still known without querying the DB.
+     * @return The version, or empty when the caller has to read the list.
+     */
+    Optional<EventsVersion> getUpcomingEventsVersion();
+
+    /**
+     * Keyset-paginated calendar listing of the events starting in [from, to), in start order.
+     * @param cursor The 'nextCursor' of the previous page, or null for the first page.
+     * @param limit The maximum number of events on the page, capped at 100.
+     * @return The page, with a cursor for the next one if there are more events in the range.
+     * @throws com.cafefusion.backend.events.api.exception.InvalidEventQueryException
+     *         if 'from' is not before 'to', or the cursor is malformed.
+     */
+    EventPage getEventsBetween(Instant from, Instant to, String cursor, int limit);
+
+    /**
+     * Deletes an event by its ID, together with its reservations.
      *
      * @param eventId The ID of the event to delete.
      */
     void deleteEvent(Long eventId);
 
+    /**
+     * Creates a recurring event series. Its occurrences show up in the upcoming events and the calendar
+     * without being stored one by one.
+     * @return The newly created series as a DTO.
+     * @throws com.cafefusion.backend.events.api.exception.InvalidEventSeriesException
+     *         if 'until' is before the first occurrence.
+     */
+    EventSeriesDto createEventSeries(CreateEventSeriesRequest request);
+
+    /**
+     * Finds a recurring event series by its ID.
+     * @return An Optional containing the EventSeriesDto if found.
+     */
+    Optional<EventSeriesDto> getEventSeriesById(Long seriesId);
+
+    /**
+     * Cancels a single occurrence of a series; the other occurrences are unaffected.
+     * @param occurrenceStart The start of the occurrence, as listed.
+     * @throws com.cafefusion.backend.events.api.exception.EventSeriesNotFoundException if there is no such series.
+     * @throws com.cafefusion.backend.events.api.exception.InvalidEventSeriesException
+     *         if the series has no occurrence starting then.
+     */
+    void cancelOccurrence(Long seriesId, Instant occurrenceStart);
+
+    /**
+     * Deletes a series, and with it all its occurrences.
+     * @throws com.cafefusion.backend.events.api.exception.EventSeriesNotFoundException if there is no such series.
+     */
+    void deleteEventSeries(Long seriesId);
+
+    /**
+     * Reserves seats at an event for the current user. Only one-off events take reservations,
+     * series occurrences do not.
+     * @return The new reservation.
+     * @throws com.cafefusion.backend.events.api.exception.EventNotFoundException if there is no such event.
+     * @throws com.cafefusion.backend.events.api.exception.ReservationUnavailableException
+     *         if the event has started or does not have enough seats left.
+     */
+    ReservationDto reserveSeats(Long eventId, ReserveSeatsRequest request);
+
+    /**
+     * Cancels one of the current user's reservations and gives its seats back.
+     * @throws com.cafefusion.backend.events.api.exception.ReservationNotFoundException
+     *         if the current user has no such reservation.
+     */
+    void cancelReservation(Long reservationId);
+
+    /**
+     * The current seat counts of an event.
+     * @return The counts, or empty if there is no such event.
+     */
+    Optional<EventAvailability> getAvailability(Long eventId);
+
 }
@@ -0,0 +1,7 @@
+package com.cafefusion.backend.events.api.exception;
+
+public class EventNotFoundException extends RuntimeException {
+    public EventNotFoundException(String message) {
+        super(message);
+    }
+}
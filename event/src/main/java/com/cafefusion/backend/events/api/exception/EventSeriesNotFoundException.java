@@ -0,0 +1,7 @@
+package com.cafefusion.backend.events.api.exception;
+
+public class EventSeriesNotFoundException extends RuntimeException {
+    public EventSeriesNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cafefusion.backend.events.api.exception;
+
+public class InvalidEventQueryException extends RuntimeException {
+    public InvalidEventQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cafefusion.backend.events.api.exception;
+
+public class InvalidEventSeriesException extends RuntimeException {
+    public InvalidEventSeriesException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cafefusion.backend.events.api.exception;
+
+public class ReservationNotFoundException extends RuntimeException {
+    public ReservationNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cafefusion.backend.events.api.exception;
+
+public class ReservationUnavailableException extends RuntimeException {
+    public ReservationUnavailableException(String message) {
+        super(message);
+    }
+}
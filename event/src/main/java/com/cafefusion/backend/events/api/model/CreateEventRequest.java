@@ -19,6 +19,9 @@ public record CreateEventRequest(
 
         @NotNull(message = "Cover charge is required (can be 0)")
         @PositiveOrZero(message = "Cover charge must be zero or a positive value")
-        BigDecimal coverCharge
+        BigDecimal coverCharge,
+
+        @Positive(message = "Capacity must be a positive number of seats")
+        Integer capacity
 ) {
 }
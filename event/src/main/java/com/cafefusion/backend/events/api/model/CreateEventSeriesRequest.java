@@ -0,0 +1,36 @@
+package com.cafefusion.backend.events.api.model;
+
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * A recurring event: occurrences start at 'firstOccurrence' and repeat every 'interval' days,
+ * weeks or months at the same local time in the cafe, up to 'until' (inclusive) or indefinitely.
+ */
+public record CreateEventSeriesRequest(
+        @NotBlank(message = "event name is required")
+        @Size(max = 150, message = "Event name must be 150 characters or less")
+        String name,
+
+        @Size(max = 500, message = "Description must be 500 characters or less")
+        String description,
+
+        @NotNull(message = "First occurrence is required")
+        @Future(message = "The first occurrence must be scheduled for a future date and time")
+        ZonedDateTime firstOccurrence,
+
+        @NotNull(message = "Frequency is required")
+        RecurrenceFrequency frequency,
+
+        @Positive(message = "Interval must be a positive number")
+        Integer interval,
+
+        ZonedDateTime until,
+
+        @NotNull(message = "Cover charge is required (can be 0)")
+        @PositiveOrZero(message = "Cover charge must be zero or a positive value")
+        BigDecimal coverCharge
+) {
+}
@@ -0,0 +1,12 @@
+package com.cafefusion.backend.events.api.model;
+
+/**
+ * Seat counts of an event. 'capacity' and 'seatsAvailable' are null for events without a seat limit.
+ */
+public record EventAvailability(
+        Long eventId,
+        Integer capacity,
+        int reservedSeats,
+        Integer seatsAvailable
+) {
+}
@@ -3,11 +3,20 @@ package com.cafefusion.backend.events.api.model;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 
+/**
+ * Either a one-off event (with an 'id') or an occurrence of a recurring series
+ * (no 'id'; identified by 'seriesId' and its start time).
+ */
 public record EventDto(
         Long id,
         String name,
         String description,
         ZonedDateTime eventDateTime,
-        BigDecimal coverCharge
+        BigDecimal coverCharge,
+        Long seriesId
 ) {
+
+    public EventDto(Long id, String name, String description, ZonedDateTime eventDateTime, BigDecimal coverCharge) {
+        this(id, name, description, eventDateTime, coverCharge, null);
+    }
 }
@@ -0,0 +1,14 @@
+package com.cafefusion.backend.events.api.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated event listing.
+ * Pass 'nextCursor' back to get the following page; it is null on the last page.
+ */
+public record EventPage(
+        List<EventSummary> content,
+        String nextCursor,
+        boolean hasNext
+) {
+}
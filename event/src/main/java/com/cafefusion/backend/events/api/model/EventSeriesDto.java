@@ -0,0 +1,22 @@
+package com.cafefusion.backend.events.api.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * @param cancelledOccurrences Start times of the occurrences that were cancelled, in order.
+ */
+public record EventSeriesDto(
+        Long id,
+        String name,
+        String description,
+        ZonedDateTime firstOccurrence,
+        RecurrenceFrequency frequency,
+        int interval,
+        ZonedDateTime until,
+        BigDecimal coverCharge,
+        List<Instant> cancelledOccurrences
+) {
+}
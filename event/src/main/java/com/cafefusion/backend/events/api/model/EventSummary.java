@@ -0,0 +1,21 @@
+package com.cafefusion.backend.events.api.model;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * Compact view of an event for calendar listings: everything but the description.
+ * Like {@link EventDto}, either a one-off event or an occurrence of the series 'seriesId'.
+ */
+public record EventSummary(
+        Long id,
+        String name,
+        ZonedDateTime eventDateTime,
+        BigDecimal coverCharge,
+        Long seriesId
+) {
+
+    public EventSummary(Long id, String name, ZonedDateTime eventDateTime, BigDecimal coverCharge) {
+        this(id, name, eventDateTime, coverCharge, null);
+    }
+}
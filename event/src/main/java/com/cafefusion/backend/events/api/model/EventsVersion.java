@@ -0,0 +1,15 @@
+package com.cafefusion.backend.events.api.model;
+
+import java.time.Instant;
+
+/**
+ * Identifies the content of the upcoming events list, for HTTP conditional requests.
+ *
+ * @param etag Equal for equal lists, also across instances.
+ * @param lastModified When this instance first served the current list.
+ */
+public record EventsVersion(
+        String etag,
+        Instant lastModified
+) {
+}
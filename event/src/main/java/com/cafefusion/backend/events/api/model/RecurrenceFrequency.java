@@ -0,0 +1,7 @@
+package com.cafefusion.backend.events.api.model;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY
+}
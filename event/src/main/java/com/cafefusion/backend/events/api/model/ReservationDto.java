@@ -0,0 +1,11 @@
+package com.cafefusion.backend.events.api.model;
+
+import java.time.Instant;
+
+public record ReservationDto(
+        Long id,
+        Long eventId,
+        int seats,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,13 @@
+package com.cafefusion.backend.events.api.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record ReserveSeatsRequest(
+        @NotNull(message = "Number of seats is required")
+        @Min(value = 1, message = "At least one seat must be reserved")
+        @Max(value = 10, message = "At most 10 seats can be reserved at once")
+        Integer seats
+) {
+}
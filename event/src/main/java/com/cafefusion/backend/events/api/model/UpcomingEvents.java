@@ -0,0 +1,12 @@
+package com.cafefusion.backend.events.api.model;
+
+import java.util.List;
+
+/**
+ * The upcoming events together with the version they were read at.
+ */
+public record UpcomingEvents(
+        List<EventDto> events,
+        EventsVersion version
+) {
+}
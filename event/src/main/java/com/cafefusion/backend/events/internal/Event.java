@@ -9,7 +9,9 @@ import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 
 @Entity
-@Table(name = "events", schema = "events")
+@Table(name = "events", schema = "events", indexes = {
+        @Index(name = "idx_events_date_time_id", columnList = "event_date_time, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,10 +33,22 @@ public class Event {
     @Column(nullable = false)
     private BigDecimal coverCharge;
 
+    // Null for events without a seat limit
+    private Integer capacity;
+
+    // Only changed by the conditional updates in EventRepository; saving the entity never writes it back
+    @Column(nullable = false, updatable = false)
+    private int reservedSeats;
+
     public Event(String name, String description, ZonedDateTime eventDateTime, BigDecimal coverCharge) {
+        this(name, description, eventDateTime, coverCharge, null);
+    }
+
+    public Event(String name, String description, ZonedDateTime eventDateTime, BigDecimal coverCharge, Integer capacity) {
         this.name = name;
         this.description = description;
         this.eventDateTime = eventDateTime;
         this.coverCharge = coverCharge;
+        this.capacity = capacity;
     }
 }
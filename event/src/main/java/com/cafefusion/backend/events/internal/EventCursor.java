@@ -0,0 +1,52 @@
+package com.cafefusion.backend.events.internal;
+
+import com.cafefusion.backend.events.api.exception.InvalidEventQueryException;
+import com.cafefusion.backend.events.api.model.EventSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Position of the last entry on a calendar page, in {@link EventServiceImpl#CALENDAR_ORDER}:
+ * a one-off event ('id' set) or a series occurrence ('seriesId' set).
+ * Clients only ever see it as an opaque, URL-safe token.
+ */
+record EventCursor(Instant eventDateTime, Long id, Long seriesId) {
+
+    static EventCursor of(EventSummary event) {
+        return new EventCursor(event.eventDateTime().toInstant(), event.id(), event.seriesId());
+    }
+
+    /**
+     * The cursor as a summary, to compare entries against it.
+     */
+    EventSummary position() {
+        return new EventSummary(id, null, eventDateTime.atZone(ZoneOffset.UTC), null, seriesId);
+    }
+
+    String encode() {
+        String key = seriesId != null ? "s" + seriesId : String.valueOf(id);
+        String raw = eventDateTime.getEpochSecond() + ":" + eventDateTime.getNano() + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static EventCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new InvalidEventQueryException("Invalid page cursor: " + cursor);
+            }
+            Instant eventDateTime = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            if (parts[2].startsWith("s")) {
+                return new EventCursor(eventDateTime, null, Long.parseLong(parts[2].substring(1)));
+            }
+            return new EventCursor(eventDateTime, Long.parseLong(parts[2]), null);
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new InvalidEventQueryException("Invalid page cursor: " + cursor);
+        }
+    }
+}
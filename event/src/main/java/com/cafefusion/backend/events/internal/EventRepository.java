@@ -1,6 +1,9 @@
 package com.cafefusion.backend.events.internal;
 
+import com.cafefusion.backend.events.api.model.EventSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.ZonedDateTime;
@@ -10,4 +13,50 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     @Query("SELECT e FROM Event e WHERE e.eventDateTime >= :now ORDER BY e.eventDateTime ASC")
     List<Event> findUpcomingEvents(ZonedDateTime now);
+
+    /**
+     * A cheap fingerprint of what the upcoming list is built from. Events and series are only ever
+     * added or removed, and cancellations only added, so the row counts and highest ids change
+     * with every write, whichever instance made it.
+     */
+    @Query(value = "SELECT concat_ws(':', " +
+            "(SELECT count(*) FROM events.events), (SELECT coalesce(max(id), 0) FROM events.events), " +
+            "(SELECT count(*) FROM events.event_series), (SELECT coalesce(max(id), 0) FROM events.event_series), " +
+            "(SELECT count(*) FROM events.event_series_cancellations))", nativeQuery = true)
+    String findUpcomingDataVersion();
+
+    /**
+     * First page of events starting in [from, to), in start order. Served by the
+     * (event_date_time, id) index; the projection leaves the description unread.
+     */
+    @Query("SELECT new com.cafefusion.backend.events.api.model.EventSummary(e.id, e.name, e.eventDateTime, e.coverCharge) " +
+            "FROM Event e WHERE e.eventDateTime >= :from AND e.eventDateTime < :to " +
+            "ORDER BY e.eventDateTime, e.id")
+    List<EventSummary> findSummariesBetween(ZonedDateTime from, ZonedDateTime to, Limit limit);
+
+    /**
+     * Next page: seeks past the last (eventDateTime, id) seen instead of using OFFSET.
+     */
+    @Query("SELECT new com.cafefusion.backend.events.api.model.EventSummary(e.id, e.name, e.eventDateTime, e.coverCharge) " +
+            "FROM Event e WHERE e.eventDateTime >= :from AND e.eventDateTime < :to " +
+            "AND (e.eventDateTime, e.id) > (:eventDateTime, :id) " +
+            "ORDER BY e.eventDateTime, e.id")
+    List<EventSummary> findSummariesBetweenAfter(ZonedDateTime from, ZonedDateTime to,
+                                                 ZonedDateTime eventDateTime, Long id, Limit limit);
+
+    /**
+     * Takes seats in a single conditional UPDATE, so concurrent reservations can never oversell:
+     * Postgres re-checks the condition against the latest committed count after any wait.
+     *
+     * @return 1 if the seats were taken, 0 if the event does not exist, has started or has too few seats left.
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.reservedSeats = e.reservedSeats + :seats " +
+            "WHERE e.id = :id AND e.eventDateTime > :now " +
+            "AND (e.capacity IS NULL OR e.reservedSeats + :seats <= e.capacity)")
+    int reserveSeats(Long id, int seats, ZonedDateTime now);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.reservedSeats = e.reservedSeats - :seats WHERE e.id = :id")
+    int releaseSeats(Long id, int seats);
 }
@@ -0,0 +1,41 @@
+package com.cafefusion.backend.events.internal;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "reservations", schema = "events", indexes = {
+        @Index(name = "idx_reservations_event_id", columnList = "event_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class EventReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private int seats;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public EventReservation(Long eventId, Long userId, int seats, Instant createdAt) {
+        this.eventId = eventId;
+        this.userId = userId;
+        this.seats = seats;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,23 @@
+package com.cafefusion.backend.events.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface EventReservationRepository extends JpaRepository<EventReservation, Long> {
+
+    Optional<EventReservation> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * @return 1 if this call removed the reservation, 0 if it was already gone.
+     */
+    @Modifying
+    @Query("DELETE FROM EventReservation r WHERE r.id = :id")
+    int deleteReservation(Long id);
+
+    @Modifying
+    @Query("DELETE FROM EventReservation r WHERE r.eventId = :eventId")
+    int deleteByEventId(Long eventId);
+}
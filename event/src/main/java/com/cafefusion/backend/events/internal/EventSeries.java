@@ -0,0 +1,68 @@
+package com.cafefusion.backend.events.internal;
+
+import com.cafefusion.backend.events.api.model.RecurrenceFrequency;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A recurring event, stored as its rule plus the occurrences that were cancelled.
+ * Occurrences are never stored; see {@link EventSeriesRule}.
+ */
+@Entity
+@Table(name = "event_series", schema = "events")
+@Getter
+@Setter
+@NoArgsConstructor
+public class EventSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(nullable = false)
+    private ZonedDateTime firstOccurrence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurrenceFrequency frequency;
+
+    @Column(nullable = false)
+    private int repeatInterval;
+
+    // Null for a series without an end
+    private ZonedDateTime repeatUntil;
+
+    @Column(nullable = false)
+    private BigDecimal coverCharge;
+
+    @ElementCollection
+    @CollectionTable(name = "event_series_cancellations", schema = "events",
+            joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "occurrence_start", nullable = false)
+    private Set<Instant> cancelledOccurrences = new HashSet<>();
+
+    public EventSeries(String name, String description, ZonedDateTime firstOccurrence, RecurrenceFrequency frequency,
+                       int repeatInterval, ZonedDateTime repeatUntil, BigDecimal coverCharge) {
+        this.name = name;
+        this.description = description;
+        this.firstOccurrence = firstOccurrence;
+        this.frequency = frequency;
+        this.repeatInterval = repeatInterval;
+        this.repeatUntil = repeatUntil;
+        this.coverCharge = coverCharge;
+    }
+}
@@ -0,0 +1,24 @@
+package com.cafefusion.backend.events.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+public interface EventSeriesRepository extends JpaRepository<EventSeries, Long> {
+
+    /**
+     * The series that may have occurrences in [from, to), with their cancellations.
+     */
+    @Query("SELECT DISTINCT s FROM EventSeries s LEFT JOIN FETCH s.cancelledOccurrences " +
+            "WHERE s.firstOccurrence < :to AND (s.repeatUntil IS NULL OR s.repeatUntil >= :from)")
+    List<EventSeries> findActiveBetween(ZonedDateTime from, ZonedDateTime to);
+
+    /**
+     * The series that may have occurrences from 'from' on, however far ahead, with their cancellations.
+     */
+    @Query("SELECT DISTINCT s FROM EventSeries s LEFT JOIN FETCH s.cancelledOccurrences " +
+            "WHERE s.repeatUntil IS NULL OR s.repeatUntil >= :from")
+    List<EventSeries> findActiveFrom(ZonedDateTime from);
+}
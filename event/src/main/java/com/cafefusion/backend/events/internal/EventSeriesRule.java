@@ -0,0 +1,132 @@
+package com.cafefusion.backend.events.internal;
+
+import com.cafefusion.backend.events.api.model.EventDto;
+import com.cafefusion.backend.events.api.model.EventSummary;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable copy of a series' rule that computes its occurrences on demand.
+ * <p>
+ * Occurrences keep the first occurrence's wall-clock time in the cafe's time zone across DST changes.
+ * The n-th occurrence is computed from the first, not from the one before, so a monthly series that
+ * starts on the 31st falls on the last day of shorter months without drifting to the 28th.
+ * Expansion jumps straight to the requested window, so its cost depends on how many occurrences
+ * are read, not on how far the window lies from the first occurrence.
+ *
+ * @param until     No occurrences start after this instant; null if the series has no end.
+ * @param cancelled Start times of cancelled occurrences, which are skipped.
+ */
+record EventSeriesRule(
+        Long seriesId,
+        String name,
+        String description,
+        BigDecimal coverCharge,
+        ZonedDateTime firstOccurrence,
+        ChronoUnit unit,
+        int interval,
+        Instant until,
+        Set<Instant> cancelled
+) {
+
+    static EventSeriesRule of(EventSeries series, ZoneId zone) {
+        ChronoUnit unit = switch (series.getFrequency()) {
+            case DAILY -> ChronoUnit.DAYS;
+            case WEEKLY -> ChronoUnit.WEEKS;
+            case MONTHLY -> ChronoUnit.MONTHS;
+        };
+        return new EventSeriesRule(
+                series.getId(),
+                series.getName(),
+                series.getDescription(),
+                series.getCoverCharge(),
+                series.getFirstOccurrence().withZoneSameInstant(zone),
+                unit,
+                series.getRepeatInterval(),
+                series.getRepeatUntil() == null ? null : series.getRepeatUntil().toInstant(),
+                Set.copyOf(series.getCancelledOccurrences()));
+    }
+
+    /**
+     * The occurrences starting in [from, to), in order, without the cancelled ones.
+     * @param to Exclusive end, or null for no end other than the series' own.
+     */
+    Iterator<ZonedDateTime> occurrences(Instant from, Instant to) {
+        long firstIndex = indexNear(from);
+        return new Iterator<>() {
+            private long index = firstIndex;
+            private ZonedDateTime next = advance();
+
+            private ZonedDateTime advance() {
+                while (true) {
+                    ZonedDateTime candidate = occurrence(index++);
+                    Instant start = candidate.toInstant();
+                    if ((to != null && !start.isBefore(to)) || (until != null && start.isAfter(until))) {
+                        return null;
+                    }
+                    if (!start.isBefore(from) && !cancelled.contains(start)) {
+                        return candidate;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public ZonedDateTime next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                ZonedDateTime current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Whether the series has an occurrence starting at exactly this instant, cancelled or not.
+     */
+    boolean isOccurrence(Instant start) {
+        if (until != null && start.isAfter(until)) {
+            return false;
+        }
+        for (long index = indexNear(start); ; index++) {
+            Instant candidate = occurrence(index).toInstant();
+            if (!candidate.isBefore(start)) {
+                return candidate.equals(start);
+            }
+        }
+    }
+
+    EventDto toDto(ZonedDateTime start) {
+        return new EventDto(null, name, description, start, coverCharge, seriesId);
+    }
+
+    EventSummary toSummary(ZonedDateTime start) {
+        return new EventSummary(null, name, start, coverCharge, seriesId);
+    }
+
+    private ZonedDateTime occurrence(long index) {
+        return firstOccurrence.plus(index * interval, unit);
+    }
+
+    /**
+     * An index whose occurrence is at most one step before the instant (or the first one).
+     * The calendar-aware difference is rounded down, and one more step back covers month-end clamping.
+     */
+    private long indexNear(Instant instant) {
+        long elapsed = unit.between(firstOccurrence, instant.atZone(firstOccurrence.getZone()));
+        return Math.max(0, elapsed / interval - 1);
+    }
+}
@@ -1,28 +1,138 @@
 package com.cafefusion.backend.events.internal;
 
 import com.cafefusion.backend.events.api.EventApi;
+import com.cafefusion.backend.events.api.exception.EventNotFoundException;
+import com.cafefusion.backend.events.api.exception.EventSeriesNotFoundException;
+import com.cafefusion.backend.events.api.exception.InvalidEventQueryException;
+import com.cafefusion.backend.events.api.exception.InvalidEventSeriesException;
+import com.cafefusion.backend.events.api.exception.ReservationNotFoundException;
+import com.cafefusion.backend.events.api.exception.ReservationUnavailableException;
 import com.cafefusion.backend.events.api.model.CreateEventRequest;
+import com.cafefusion.backend.events.api.model.CreateEventSeriesRequest;
+import com.cafefusion.backend.events.api.model.EventAvailability;
 import com.cafefusion.backend.events.api.model.EventDto;
-import lombok.RequiredArgsConstructor;
+import com.cafefusion.backend.events.api.model.EventPage;
+import com.cafefusion.backend.events.api.model.EventSeriesDto;
+import com.cafefusion.backend.events.api.model.EventSummary;
+import com.cafefusion.backend.events.api.model.EventsVersion;
+import com.cafefusion.backend.events.api.model.ReservationDto;
+import com.cafefusion.backend.events.api.model.ReserveSeatsRequest;
+import com.cafefusion.backend.events.api.model.UpcomingEvents;
+import com.cafefusion.backend.users.internal.User;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+/**
+ * The upcoming events list is cached in memory; see {@link #getUpcomingEventsWithVersion()}.
+ * Writes made through this service invalidate it at once. Deployments running several instances
+ * can also set 'application.events.upcoming-probe-cron' to notice writes made by the others.
+ * <p>
+ * Recurring series are stored as rules and expanded into occurrences only for the window a
+ * listing covers: the upcoming list up to 'application.events.upcoming-horizon' ahead, the
+ * calendar for the requested range and page.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EventServiceImpl implements EventApi {
 
     private final EventRepository eventRepository;
 
+    private final EventReservationRepository reservationRepository;
+
+    private final EventSeriesRepository seriesRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Duration upcomingHorizon;
+
+    private final TransactionTemplate primaryRead;
+
     private static final ZoneId CAFE_TIMEZONE = ZoneId.of("Europe/Warsaw");
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Order of the calendar: by start; at the same start, one-off events (by ID) before series
+     * occurrences (by series ID). Calendar cursors are positions in this order.
+     */
+    static final Comparator<EventSummary> CALENDAR_ORDER = Comparator
+            .comparing((EventSummary event) -> event.eventDateTime().toInstant())
+            .thenComparing(event -> event.seriesId() != null)
+            .thenComparing(event -> event.seriesId() != null ? event.seriesId() : event.id());
+
+    private static final Comparator<EventDto> UPCOMING_ORDER = Comparator
+            .comparing((EventDto event) -> event.eventDateTime().toInstant())
+            .thenComparing(event -> event.seriesId() != null)
+            .thenComparing(event -> event.seriesId() != null ? event.seriesId() : event.id());
+
+    // Bumped after every committed write to events or series; a cached list from an older generation is void
+    private final AtomicLong generation = new AtomicLong();
+
+    // What findUpcomingDataVersion returned on the last probe, null before the first one
+    private final AtomicReference<String> upcomingDataVersion = new AtomicReference<>();
+
+    // The upcoming list as last read from the DB, null until the first read
+    private final AtomicReference<CachedUpcoming> cachedUpcoming = new AtomicReference<>();
+
+    /**
+     * @param validUntil    The next time the list changes by itself: the first event's start, when it drops
+     *                      off, or the time the next series occurrence comes within the horizon, whichever
+     *                      is sooner. Null if neither will happen, so only a write can change the list.
+     * @param series        The series that may still have occurrences, to extend the list as time passes.
+     * @param expandedUntil Series occurrences starting before this instant are in the list.
+     */
+    private record CachedUpcoming(long generation, UpcomingEvents upcoming, Instant validUntil,
+                                  List<EventSeriesRule> series, Instant expandedUntil) {
+    }
+
+    private record UpcomingRows(List<EventDto> events, List<EventSeriesRule> series) {
+    }
+
+    public EventServiceImpl(
+            EventRepository eventRepository,
+            EventReservationRepository reservationRepository,
+            EventSeriesRepository seriesRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${application.events.upcoming-horizon:P56D}") Duration upcomingHorizon) {
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.seriesRepository = seriesRepository;
+        this.eventPublisher = eventPublisher;
+        this.upcomingHorizon = upcomingHorizon;
+        // A new read-write transaction, so the reload runs on the primary even when called from a read-only one
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     @Override
     @Transactional
     public EventDto createEvent(CreateEventRequest request) {
@@ -32,10 +142,12 @@ public class EventServiceImpl implements EventApi {
                 request.name(),
                 request.description(),
                 request.eventDateTime(),
-                request.coverCharge()
+                request.coverCharge(),
+                request.capacity()
         );
 
         Event savedEvent = eventRepository.save(newEvent);
+        eventPublisher.publishEvent(new EventsChangedEvent(savedEvent.getId()));
         return toDto(savedEvent);
     }
 
@@ -48,24 +160,324 @@ public class EventServiceImpl implements EventApi {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<EventDto> getUpcomingEvents() {
-        log.info("Fetching upcoming events");
+        return getUpcomingEventsWithVersion().events();
+    }
 
+    /**
+     * Served from memory until the next committed write, or a change found by {@link #probeUpcoming()}.
+     * In between, the list only changes as time passes: its first event starting, or a series occurrence coming within the horizon.
+     * Both are applied to the cached list when they happen, without querying again.
+     * Not transactional: a cache hit must not take a connection. A miss reads in its own read-write
+     * transaction, which runs on the primary: a lagging replica could otherwise hand back the list as
+     * it was before the write that voided the cache, and it would be served under a fresh ETag.
+     */
+    @Override
+    public UpcomingEvents getUpcomingEventsWithVersion() {
         ZonedDateTime now = ZonedDateTime.now(CAFE_TIMEZONE);
+        UpcomingEvents cached = cachedUpcoming(now.toInstant());
+        if (cached != null) {
+            return cached;
+        }
+
+        log.info("Fetching upcoming events");
+        // Read before the query: a write committing meanwhile leaves this result already void
+        long seenGeneration = generation.get();
+        UpcomingRows rows = primaryRead.execute(status -> new UpcomingRows(
+                eventRepository.findUpcomingEvents(now).stream()
+                        .map(this::toDto)
+                        .collect(Collectors.toList()),
+                seriesRepository.findActiveFrom(now).stream()
+                        .map(entity -> EventSeriesRule.of(entity, CAFE_TIMEZONE))
+                        .toList()));
+        List<EventDto> events = rows.events();
+        List<EventSeriesRule> series = rows.series();
+        Instant horizonEnd = now.toInstant().plus(upcomingHorizon);
+        for (EventSeriesRule rule : series) {
+            rule.occurrences(now.toInstant(), horizonEnd).forEachRemaining(start -> events.add(rule.toDto(start)));
+        }
+        events.sort(UPCOMING_ORDER);
+
+        CachedUpcoming loaded = cache(seenGeneration, events, series, horizonEnd, now.toInstant(), cachedUpcoming.get());
+        cachedUpcoming.set(loaded);
+        return loaded.upcoming();
+    }
 
-        return eventRepository.findUpcomingEvents(now).stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    @Override
+    public Optional<EventsVersion> getUpcomingEventsVersion() {
+        return Optional.ofNullable(cachedUpcoming(Instant.now()))
+                .map(UpcomingEvents::version);
+    }
+
+    /**
+     * @return The cached list as of 'now', or null when it has to be read from the DB.
+     */
+    private UpcomingEvents cachedUpcoming(Instant now) {
+        CachedUpcoming cached = cachedUpcoming.get();
+        if (cached == null || cached.generation() != generation.get()) {
+            return null;
+        }
+        if (cached.validUntil() == null || !now.isAfter(cached.validUntil())) {
+            return cached.upcoming();
+        }
+
+        // Same filter as the query: events that have started are no longer upcoming
+        List<EventDto> remaining = new ArrayList<>();
+        Instant changedAt = cached.validUntil();
+        for (EventDto event : cached.upcoming().events()) {
+            Instant start = event.eventDateTime().toInstant();
+            if (start.isBefore(now)) {
+                changedAt = start;
+            } else {
+                remaining.add(event);
+            }
+        }
+
+        // Move the horizon along: add the occurrences that have come within it. After a quiet spell
+        // longer than the horizon, some of those have already started; they are not upcoming
+        Instant horizonEnd = now.plus(upcomingHorizon);
+        Instant expandFrom = cached.expandedUntil().isAfter(now) ? cached.expandedUntil() : now;
+        for (EventSeriesRule rule : cached.series()) {
+            Iterator<ZonedDateTime> occurrences = rule.occurrences(expandFrom, horizonEnd);
+            while (occurrences.hasNext()) {
+                ZonedDateTime start = occurrences.next();
+                remaining.add(rule.toDto(start));
+                Instant enteredAt = start.toInstant().minus(upcomingHorizon);
+                if (enteredAt.isAfter(changedAt)) {
+                    changedAt = enteredAt;
+                }
+            }
+        }
+        remaining.sort(UPCOMING_ORDER);
+
+        CachedUpcoming rolled = cache(cached.generation(), remaining, cached.series(), horizonEnd, changedAt, cached);
+        // Losing this race is fine: whoever won applied the same or a newer state
+        cachedUpcoming.compareAndSet(cached, rolled);
+        return rolled.upcoming();
+    }
+
+    /**
+     * @param changedAt When the list took this content, used as Last-Modified unless the content is unchanged.
+     */
+    private CachedUpcoming cache(long generation, List<EventDto> events, List<EventSeriesRule> series,
+                                 Instant expandedUntil, Instant changedAt, CachedUpcoming previous) {
+        String etag = fingerprint(events);
+        Instant lastModified = previous != null && previous.upcoming().version().etag().equals(etag)
+                ? previous.upcoming().version().lastModified()
+                : changedAt;
+
+        Instant validUntil = events.isEmpty() ? null : events.get(0).eventDateTime().toInstant();
+        for (EventSeriesRule rule : series) {
+            Iterator<ZonedDateTime> next = rule.occurrences(expandedUntil, null);
+            if (next.hasNext()) {
+                Instant entersAt = next.next().toInstant().minus(upcomingHorizon);
+                if (validUntil == null || entersAt.isBefore(validUntil)) {
+                    validUntil = entersAt;
+                }
+            }
+        }
+        UpcomingEvents upcoming = new UpcomingEvents(List.copyOf(events), new EventsVersion(etag, lastModified));
+        return new CachedUpcoming(generation, upcoming, validUntil, series, expandedUntil);
     }
 
+    /**
+     * One-off events are read a page at a time from the DB; each series contributes at most a page of
+     * occurrences, expanded from the cursor on. The two are merged in {@link #CALENDAR_ORDER}.
+     */
     @Override
+    @Transactional(readOnly = true)
+    public EventPage getEventsBetween(Instant from, Instant to, String cursor, int limit) {
+        if (!from.isBefore(to)) {
+            throw new InvalidEventQueryException("'from' must be before 'to'");
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        ZonedDateTime start = from.atZone(CAFE_TIMEZONE);
+        ZonedDateTime end = to.atZone(CAFE_TIMEZONE);
+
+        EventCursor after = cursor == null || cursor.isBlank() ? null : EventCursor.decode(cursor);
+        List<EventSummary> entries = new ArrayList<>();
+        if (after == null) {
+            entries.addAll(eventRepository.findSummariesBetween(start, end, fetchLimit));
+        } else {
+            // After an occurrence, every event at the same start has been listed already
+            Long afterId = after.seriesId() != null ? Long.MAX_VALUE : after.id();
+            entries.addAll(eventRepository.findSummariesBetweenAfter(
+                    start, end, after.eventDateTime().atZone(CAFE_TIMEZONE), afterId, fetchLimit));
+        }
+
+        Instant expandFrom = after != null && after.eventDateTime().isAfter(from) ? after.eventDateTime() : from;
+        EventSummary position = after == null ? null : after.position();
+        for (EventSeries series : seriesRepository.findActiveBetween(start, end)) {
+            EventSeriesRule rule = EventSeriesRule.of(series, CAFE_TIMEZONE);
+            Iterator<ZonedDateTime> occurrences = rule.occurrences(expandFrom, to);
+            int taken = 0;
+            while (taken <= pageSize && occurrences.hasNext()) {
+                EventSummary occurrence = rule.toSummary(occurrences.next());
+                if (position == null || CALENDAR_ORDER.compare(occurrence, position) > 0) {
+                    entries.add(occurrence);
+                    taken++;
+                }
+            }
+        }
+        entries.sort(CALENDAR_ORDER);
+
+        boolean hasNext = entries.size() > pageSize;
+        List<EventSummary> page = hasNext ? List.copyOf(entries.subList(0, pageSize)) : entries;
+        String nextCursor = hasNext ? EventCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new EventPage(page, nextCursor, hasNext);
+    }
+
+    /**
+     * Runs after the writing transaction has committed, so the next read sees the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventsChanged(EventsChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Fallback for multi-instance deployments, off by default: writes made through another instance
+     * do not reach this one's {@link #onEventsChanged}. Voids the cached list only when the data it
+     * is built from has changed since the last probe; this is not an expiry, an unchanged list stays.
+     */
+    @Scheduled(cron = "${application.events.upcoming-probe-cron:-}")
+    public void probeUpcoming() {
+        try {
+            String version = primaryRead.execute(status -> eventRepository.findUpcomingDataVersion());
+            // The first probe cannot tell what the cached list was read from, so it voids it once
+            if (!Objects.equals(upcomingDataVersion.getAndSet(version), version)) {
+                generation.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not probe the events for changes, keeping the cached upcoming list", e);
+        }
+    }
+
+    @Override
+    @Transactional
     public void deleteEvent(Long eventId) {
         log.info("Deleting event by ID: {}", eventId);
         if (!eventRepository.existsById(eventId)) {
             throw new RuntimeException("Event not found: " + eventId);
         }
+        reservationRepository.deleteByEventId(eventId);
         eventRepository.deleteById(eventId);
+        eventPublisher.publishEvent(new EventsChangedEvent(eventId));
+    }
+
+    @Override
+    @Transactional
+    public EventSeriesDto createEventSeries(CreateEventSeriesRequest request) {
+        log.info("Creating new event series: {}", request.name());
+        if (request.until() != null && request.until().isBefore(request.firstOccurrence())) {
+            throw new InvalidEventSeriesException("'until' must not be before the first occurrence");
+        }
+
+        EventSeries newSeries = new EventSeries(
+                request.name(),
+                request.description(),
+                request.firstOccurrence(),
+                request.frequency(),
+                request.interval() == null ? 1 : request.interval(),
+                request.until(),
+                request.coverCharge()
+        );
+
+        EventSeries savedSeries = seriesRepository.save(newSeries);
+        eventPublisher.publishEvent(new EventsChangedEvent(null));
+        return toDto(savedSeries);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EventSeriesDto> getEventSeriesById(Long seriesId) {
+        return seriesRepository.findById(seriesId)
+                .map(this::toDto);
+    }
+
+    @Override
+    @Transactional
+    public void cancelOccurrence(Long seriesId, Instant occurrenceStart) {
+        EventSeries series = seriesRepository.findById(seriesId)
+                .orElseThrow(() -> new EventSeriesNotFoundException("Event series not found: " + seriesId));
+        if (!EventSeriesRule.of(series, CAFE_TIMEZONE).isOccurrence(occurrenceStart)) {
+            throw new InvalidEventSeriesException("Event series " + seriesId + " has no occurrence at " + occurrenceStart);
+        }
+
+        if (series.getCancelledOccurrences().add(occurrenceStart)) {
+            log.info("Cancelled the occurrence of event series {} at {}", seriesId, occurrenceStart);
+            eventPublisher.publishEvent(new EventsChangedEvent(null));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteEventSeries(Long seriesId) {
+        log.info("Deleting event series by ID: {}", seriesId);
+        if (!seriesRepository.existsById(seriesId)) {
+            throw new EventSeriesNotFoundException("Event series not found: " + seriesId);
+        }
+        seriesRepository.deleteById(seriesId);
+        eventPublisher.publishEvent(new EventsChangedEvent(null));
+    }
+
+    /**
+     * The reservation row is inserted first and the seat counter taken last, so the event's
+     * row lock is held only from the counter update to the commit. Concurrent reservations for
+     * one event queue on that lock just for the length of a single UPDATE; when the seats run
+     * out, the UPDATE matches nothing and the whole transaction, insert included, rolls back.
+     */
+    @Override
+    @Transactional
+    public ReservationDto reserveSeats(Long eventId, ReserveSeatsRequest request) {
+        Long currentUserId = getCurrentUserId();
+        int seats = request.seats();
+
+        EventReservation reservation = reservationRepository.save(
+                new EventReservation(eventId, currentUserId, seats, Instant.now()));
+        ZonedDateTime now = ZonedDateTime.now(CAFE_TIMEZONE);
+        if (eventRepository.reserveSeats(eventId, seats, now) == 0) {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new EventNotFoundException("Event not found: " + eventId));
+            if (!event.getEventDateTime().isAfter(now)) {
+                throw new ReservationUnavailableException("Event " + eventId + " has already started");
+            }
+            throw new ReservationUnavailableException("Not enough seats left for event " + eventId);
+        }
+
+        log.info("User {} reserved {} seat(s) for event {}", currentUserId, seats, eventId);
+        return toDto(reservation);
+    }
+
+    @Override
+    @Transactional
+    public void cancelReservation(Long reservationId) {
+        Long currentUserId = getCurrentUserId();
+        EventReservation reservation = reservationRepository.findByIdAndUserId(reservationId, currentUserId)
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation not found: " + reservationId));
+
+        // Only the request that actually removed the row gives the seats back, so a double cancel cannot
+        if (reservationRepository.deleteReservation(reservationId) == 1) {
+            eventRepository.releaseSeats(reservation.getEventId(), reservation.getSeats());
+            log.info("User {} cancelled reservation {}", currentUserId, reservationId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EventAvailability> getAvailability(Long eventId) {
+        return eventRepository.findById(eventId)
+                .map(event -> new EventAvailability(
+                        event.getId(),
+                        event.getCapacity(),
+                        event.getReservedSeats(),
+                        event.getCapacity() == null ? null : Math.max(0, event.getCapacity() - event.getReservedSeats())));
+    }
+
+    private Long getCurrentUserId() {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return currentUser.getId();
     }
 
     /**
@@ -80,4 +492,44 @@ public class EventServiceImpl implements EventApi {
             event.getCoverCharge()
         );
     }
+
+    private EventSeriesDto toDto(EventSeries series) {
+        return new EventSeriesDto(
+                series.getId(),
+                series.getName(),
+                series.getDescription(),
+                series.getFirstOccurrence(),
+                series.getFrequency(),
+                series.getRepeatInterval(),
+                series.getRepeatUntil(),
+                series.getCoverCharge(),
+                series.getCancelledOccurrences().stream().sorted().toList()
+        );
+    }
+
+    private ReservationDto toDto(EventReservation reservation) {
+        return new ReservationDto(
+                reservation.getId(),
+                reservation.getEventId(),
+                reservation.getSeats(),
+                reservation.getCreatedAt()
+        );
+    }
+
+    private static String fingerprint(List<EventDto> events) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (EventDto event : events) {
+            String fields = event.id() + "\u001f" + event.seriesId() + "\u001f" + Objects.toString(event.name(), "") + "\u001f"
+                    + Objects.toString(event.description(), "") + "\u001f"
+                    + event.eventDateTime().toInstant() + "\u001f"
+                    + (event.coverCharge() == null ? "" : event.coverCharge().toPlainString()) + "\u001e";
+            digest.update(fields.getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
 }
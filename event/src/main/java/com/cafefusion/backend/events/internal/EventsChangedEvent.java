@@ -0,0 +1,8 @@
+package com.cafefusion.backend.events.internal;
+
+/**
+ * Published when an event or a recurring series is created, changed or deleted, so state derived
+ * from the events can be invalidated after commit. 'eventId' is null for series changes.
+ */
+record EventsChangedEvent(Long eventId) {
+}
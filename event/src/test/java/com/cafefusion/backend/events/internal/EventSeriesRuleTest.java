@@ -0,0 +1,86 @@
+package com.cafefusion.backend.events.internal;
+
+import com.cafefusion.backend.events.api.model.RecurrenceFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventSeriesRuleTest {
+
+    private static final ZoneId CAFE_TIMEZONE = ZoneId.of("Europe/Warsaw");
+
+    private EventSeriesRule rule(ZonedDateTime first, RecurrenceFrequency frequency, int interval, ZonedDateTime until) {
+        EventSeries series = new EventSeries("Sunday EDM Session", "Live DJ set",
+                first.withZoneSameInstant(ZoneId.of("UTC")), frequency, interval, until, BigDecimal.TEN);
+        series.setId(3L);
+        return EventSeriesRule.of(series, CAFE_TIMEZONE);
+    }
+
+    private static List<ZonedDateTime> toList(Iterator<ZonedDateTime> occurrences) {
+        List<ZonedDateTime> list = new ArrayList<>();
+        occurrences.forEachRemaining(list::add);
+        return list;
+    }
+
+    @Test
+    void occurrences_shouldKeepLocalTimeAcrossDaylightSavingChange() {
+        // Read back from the DB in UTC; the rule still repeats at 19:00 cafe time
+        EventSeriesRule weekly = rule(ZonedDateTime.of(2026, 3, 22, 19, 0, 0, 0, CAFE_TIMEZONE), RecurrenceFrequency.WEEKLY, 1, null);
+
+        List<ZonedDateTime> occurrences = toList(weekly.occurrences(
+                Instant.parse("2026-03-20T00:00:00Z"), Instant.parse("2026-04-06T00:00:00Z")));
+
+        assertEquals(List.of(Instant.parse("2026-03-22T18:00:00Z"), Instant.parse("2026-03-29T17:00:00Z"),
+                        Instant.parse("2026-04-05T17:00:00Z")),
+                occurrences.stream().map(ZonedDateTime::toInstant).toList());
+    }
+
+    @Test
+    void occurrences_shouldNotDriftAfterMonthEndClamping() {
+        EventSeriesRule monthly = rule(ZonedDateTime.of(2026, 1, 31, 20, 0, 0, 0, CAFE_TIMEZONE), RecurrenceFrequency.MONTHLY, 1, null);
+
+        List<Integer> days = toList(monthly.occurrences(
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-05-01T00:00:00Z")))
+                .stream().map(ZonedDateTime::getDayOfMonth).toList();
+
+        assertEquals(List.of(31, 28, 31, 30), days);
+    }
+
+    @Test
+    void occurrences_shouldStartAtWindowFarAheadAndStopAtUntil() {
+        ZonedDateTime first = ZonedDateTime.of(2026, 3, 1, 19, 0, 0, 0, CAFE_TIMEZONE);
+        EventSeriesRule everyOtherDay = rule(first, RecurrenceFrequency.DAILY, 2, first.plusYears(100));
+
+        Instant from = first.plusYears(99).toInstant();
+        List<ZonedDateTime> occurrences = toList(everyOtherDay.occurrences(from, from.plusSeconds(6 * 24 * 3600)));
+        assertEquals(3, occurrences.size());
+        assertFalse(occurrences.get(0).toInstant().isBefore(from));
+
+        EventSeriesRule ended = rule(first, RecurrenceFrequency.WEEKLY, 1, first.plusWeeks(2));
+        assertEquals(3, toList(ended.occurrences(first.toInstant(), null)).size());
+    }
+
+    @Test
+    void occurrences_shouldSkipCancelledOnes() {
+        ZonedDateTime first = ZonedDateTime.of(2026, 3, 1, 19, 0, 0, 0, CAFE_TIMEZONE);
+        EventSeries series = new EventSeries("Quiz", null, first, RecurrenceFrequency.WEEKLY, 1, null, BigDecimal.ONE);
+        series.getCancelledOccurrences().add(first.plusWeeks(1).toInstant());
+        EventSeriesRule weekly = EventSeriesRule.of(series, CAFE_TIMEZONE);
+
+        List<ZonedDateTime> occurrences = toList(weekly.occurrences(first.toInstant(), first.plusWeeks(3).toInstant()));
+
+        assertEquals(List.of(first.toInstant(), first.plusWeeks(2).toInstant()),
+                occurrences.stream().map(ZonedDateTime::toInstant).toList());
+        // Still an occurrence, just a cancelled one
+        assertTrue(weekly.isOccurrence(first.plusWeeks(1).toInstant()));
+        assertFalse(weekly.isOccurrence(first.plusDays(1).toInstant()));
+    }
+}
@@ -1,20 +1,53 @@
 package com.cafefusion.backend.events.internal;
 
 
+import com.cafefusion.backend.events.api.exception.EventNotFoundException;
+import com.cafefusion.backend.events.api.exception.InvalidEventQueryException;
+import com.cafefusion.backend.events.api.exception.InvalidEventSeriesException;
+import com.cafefusion.backend.events.api.exception.ReservationNotFoundException;
+import com.cafefusion.backend.events.api.exception.ReservationUnavailableException;
 import com.cafefusion.backend.events.api.model.CreateEventRequest;
+import com.cafefusion.backend.events.api.model.CreateEventSeriesRequest;
+import com.cafefusion.backend.events.api.model.EventAvailability;
 import com.cafefusion.backend.events.api.model.EventDto;
+import com.cafefusion.backend.events.api.model.EventPage;
+import com.cafefusion.backend.events.api.model.EventSummary;
+import com.cafefusion.backend.events.api.model.EventsVersion;
+import com.cafefusion.backend.events.api.model.RecurrenceFrequency;
+import com.cafefusion.backend.events.api.model.ReservationDto;
+import com.cafefusion.backend.events.api.model.ReserveSeatsRequest;
+import com.cafefusion.backend.users.api.model.Role;
+import com.cafefusion.backend.users.internal.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,10 +55,36 @@ public class EventServiceImplTest {
 
     @Mock
     private EventRepository eventRepository;
+    @Mock
+    private EventReservationRepository reservationRepository;
+    @Mock
+    private EventSeriesRepository seriesRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
-    @InjectMocks
     private EventServiceImpl eventService;
 
+    private static final ZoneId CAFE_TIMEZONE = ZoneId.of("Europe/Warsaw");
+
+    @BeforeEach
+    void setUp() {
+        eventService = new EventServiceImpl(
+                eventRepository, reservationRepository, seriesRepository, eventPublisher, transactionManager, Duration.ofDays(56));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void signInAs(Long userId) {
+        User user = User.builder().id(userId).email("user@cafefusion.com").role(Role.USER).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
     @Test
     void creatEvent_shouldSaveAndReturnDto() {
         // Arrange
@@ -33,7 +92,8 @@ public class EventServiceImplTest {
                 "Jam Session",
                 "Feel the vibe, grab your instrument",
                 ZonedDateTime.now().plusDays(10),
-                new BigDecimal("0.0")
+                new BigDecimal("0.0"),
+                null
         );
 
         when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> {
@@ -94,4 +154,334 @@ public class EventServiceImplTest {
         verify(eventRepository, times(1)).existsById(99L);
         verify(eventRepository, never()).deleteById(anyLong());
     }
+
+    @Test
+    void getUpcomingEventsVersion_shouldBeKnownUntilEventsChange() {
+        // Arrange
+        Event fakeEvent = new Event("Future DJ", "Music", ZonedDateTime.now().plusDays(5), BigDecimal.TEN);
+        fakeEvent.setId(1L);
+        when(eventRepository.findUpcomingEvents(any(ZonedDateTime.class))).thenReturn(List.of(fakeEvent));
+
+        // Act & Assert
+        assertTrue(eventService.getUpcomingEventsVersion().isEmpty());
+        EventsVersion version = eventService.getUpcomingEventsWithVersion().version();
+
+        assertEquals(Optional.of(version), eventService.getUpcomingEventsVersion());
+        verify(eventRepository, times(1)).findUpcomingEvents(any(ZonedDateTime.class));
+
+        eventService.onEventsChanged(new EventsChangedEvent(2L));
+        assertTrue(eventService.getUpcomingEventsVersion().isEmpty());
+
+        // Same list again: same ETag and Last-Modified
+        assertEquals(version, eventService.getUpcomingEventsWithVersion().version());
+    }
+
+    @Test
+    void getUpcomingEvents_shouldServeFromCacheUntilEventsChange() {
+        // Arrange
+        Event fakeEvent = new Event("Future DJ", "Music", ZonedDateTime.now().plusDays(5), BigDecimal.TEN);
+        fakeEvent.setId(1L);
+        when(eventRepository.findUpcomingEvents(any(ZonedDateTime.class))).thenReturn(List.of(fakeEvent));
+
+        // Act & Assert
+        List<EventDto> first = eventService.getUpcomingEvents();
+        assertSame(first, eventService.getUpcomingEvents());
+        verify(eventRepository, times(1)).findUpcomingEvents(any(ZonedDateTime.class));
+
+        eventService.onEventsChanged(new EventsChangedEvent(2L));
+        eventService.getUpcomingEvents();
+        verify(eventRepository, times(2)).findUpcomingEvents(any(ZonedDateTime.class));
+    }
+
+    @Test
+    void probeUpcoming_shouldRereadListOnlyWhenDataChanged() {
+        Event fakeEvent = new Event("Future DJ", "Music", ZonedDateTime.now().plusDays(5), BigDecimal.TEN);
+        fakeEvent.setId(1L);
+        when(eventRepository.findUpcomingEvents(any(ZonedDateTime.class))).thenReturn(List.of(fakeEvent));
+        when(eventRepository.findUpcomingDataVersion()).thenReturn("1:1:0:0:0", "1:1:0:0:0", "2:2:0:0:0");
+        eventService.probeUpcoming();
+        EventsVersion version = eventService.getUpcomingEventsWithVersion().version();
+
+        // Nothing written anywhere: the cached list stays
+        eventService.probeUpcoming();
+        assertEquals(Optional.of(version), eventService.getUpcomingEventsVersion());
+
+        // Another instance added an event
+        eventService.probeUpcoming();
+        assertTrue(eventService.getUpcomingEventsVersion().isEmpty());
+        verify(eventRepository, times(1)).findUpcomingEvents(any(ZonedDateTime.class));
+    }
+
+    @Test
+    void getUpcomingEvents_shouldReadInNewReadWriteTransaction() {
+        eventService.getUpcomingEvents();
+
+        // Read-only transactions may be routed to a lagging replica
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertFalse(definition.getValue().isReadOnly());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+    }
+
+    @Test
+    void getUpcomingEvents_shouldDropFirstEventOnceItStartsWithoutQueryingAgain() {
+        // Arrange: the first event starts while the list is cached
+        ZonedDateTime startedAt = ZonedDateTime.now().minusSeconds(1);
+        Event startingNow = new Event("Open Mic", "Music", startedAt, BigDecimal.ZERO);
+        startingNow.setId(1L);
+        Event later = new Event("Jazz Night", "Music", ZonedDateTime.now().plusDays(2), BigDecimal.TEN);
+        later.setId(2L);
+        when(eventRepository.findUpcomingEvents(any(ZonedDateTime.class))).thenReturn(List.of(startingNow, later));
+
+        // Act
+        EventsVersion loaded = eventService.getUpcomingEventsWithVersion().version();
+        List<EventDto> rolled = eventService.getUpcomingEvents();
+        EventsVersion rolledVersion = eventService.getUpcomingEventsVersion().orElseThrow();
+
+        // Assert
+        assertEquals(List.of(2L), rolled.stream().map(EventDto::id).toList());
+        assertNotEquals(loaded.etag(), rolledVersion.etag());
+        assertEquals(startedAt.toInstant(), rolledVersion.lastModified());
+        verify(eventRepository, times(1)).findUpcomingEvents(any(ZonedDateTime.class));
+    }
+
+    @Test
+    void createEvent_shouldPublishEventsChangedEvent() {
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> {
+            Event event = invocation.getArgument(0);
+            event.setId(3L);
+            return event;
+        });
+
+        eventService.createEvent(new CreateEventRequest("Quiz", "Trivia", ZonedDateTime.now().plusDays(1), BigDecimal.ONE, null));
+
+        verify(eventPublisher).publishEvent(new EventsChangedEvent(3L));
+    }
+
+    @Test
+    void getEventsBetween_shouldReturnPageWithCursorAndContinueAfterIt() {
+        Instant from = Instant.parse("2025-07-01T00:00:00Z");
+        Instant to = Instant.parse("2025-08-01T00:00:00Z");
+        EventSummary first = new EventSummary(1L, "Jam Session", ZonedDateTime.parse("2025-07-03T19:00:00Z"), BigDecimal.ZERO);
+        EventSummary second = new EventSummary(2L, "Quiz", ZonedDateTime.parse("2025-07-10T19:00:00Z"), BigDecimal.ONE);
+        EventSummary third = new EventSummary(3L, "DJ Night", ZonedDateTime.parse("2025-07-12T21:00:00Z"), BigDecimal.TEN);
+        // One row more than requested tells there is a next page
+        when(eventRepository.findSummariesBetween(any(), any(), eq(Limit.of(3)))).thenReturn(List.of(first, second, third));
+
+        EventPage page = eventService.getEventsBetween(from, to, null, 2);
+
+        assertEquals(List.of(first, second), page.content());
+        assertTrue(page.hasNext());
+        assertNotNull(page.nextCursor());
+
+        when(eventRepository.findSummariesBetweenAfter(any(), any(), any(), eq(2L), eq(Limit.of(3)))).thenReturn(List.of(third));
+
+        EventPage next = eventService.getEventsBetween(from, to, page.nextCursor(), 2);
+
+        assertEquals(List.of(third), next.content());
+        assertFalse(next.hasNext());
+        assertNull(next.nextCursor());
+        verify(eventRepository).findSummariesBetweenAfter(
+                eq(from.atZone(CAFE_TIMEZONE)), eq(to.atZone(CAFE_TIMEZONE)),
+                argThat(t -> t.toInstant().equals(second.eventDateTime().toInstant())), eq(2L), eq(Limit.of(3)));
+    }
+
+    @Test
+    void getEventsBetween_shouldRejectEmptyRangeAndMalformedCursor() {
+        Instant from = Instant.parse("2025-07-01T00:00:00Z");
+
+        assertThrows(InvalidEventQueryException.class, () -> eventService.getEventsBetween(from, from, null, 20));
+        assertThrows(InvalidEventQueryException.class,
+                () -> eventService.getEventsBetween(from, from.plusSeconds(60), "not-a-cursor", 20));
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void reserveSeats_shouldSaveReservationBeforeTakingSeats() {
+        signInAs(2L);
+        when(reservationRepository.save(any(EventReservation.class))).thenAnswer(invocation -> {
+            EventReservation reservation = invocation.getArgument(0);
+            reservation.setId(11L);
+            return reservation;
+        });
+        when(eventRepository.reserveSeats(eq(5L), eq(2), any())).thenReturn(1);
+
+        ReservationDto result = eventService.reserveSeats(5L, new ReserveSeatsRequest(2));
+
+        assertEquals(11L, result.id());
+        assertEquals(5L, result.eventId());
+        assertEquals(2, result.seats());
+        // The counter update takes the event's row lock, so it comes last
+        InOrder inOrder = inOrder(reservationRepository, eventRepository);
+        inOrder.verify(reservationRepository).save(argThat(r -> r.getUserId().equals(2L)));
+        inOrder.verify(eventRepository).reserveSeats(eq(5L), eq(2), any());
+        verify(eventRepository, never()).findById(any());
+    }
+
+    @Test
+    void reserveSeats_whenNoSeatsTaken_shouldTellSoldOutFromStartedAndMissing() {
+        signInAs(2L);
+        when(reservationRepository.save(any(EventReservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(eventRepository.reserveSeats(any(), anyInt(), any())).thenReturn(0);
+        Event soldOut = new Event("DJ Night", "EDM", ZonedDateTime.now().plusDays(1), BigDecimal.TEN, 100);
+        Event started = new Event("Quiz", "Trivia", ZonedDateTime.now().minusMinutes(5), BigDecimal.ONE, 100);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(soldOut));
+        when(eventRepository.findById(2L)).thenReturn(Optional.of(started));
+        when(eventRepository.findById(3L)).thenReturn(Optional.empty());
+
+        ReservationUnavailableException full = assertThrows(ReservationUnavailableException.class,
+                () -> eventService.reserveSeats(1L, new ReserveSeatsRequest(1)));
+        assertTrue(full.getMessage().contains("Not enough seats"));
+        ReservationUnavailableException late = assertThrows(ReservationUnavailableException.class,
+                () -> eventService.reserveSeats(2L, new ReserveSeatsRequest(1)));
+        assertTrue(late.getMessage().contains("already started"));
+        assertThrows(EventNotFoundException.class, () -> eventService.reserveSeats(3L, new ReserveSeatsRequest(1)));
+    }
+
+    @Test
+    void cancelReservation_shouldReleaseSeatsOnlyWhenThisCallRemovedTheReservation() {
+        signInAs(2L);
+        EventReservation reservation = new EventReservation(5L, 2L, 3, Instant.now());
+        reservation.setId(11L);
+        when(reservationRepository.findByIdAndUserId(11L, 2L)).thenReturn(Optional.of(reservation));
+        // A concurrent cancel got there first the second time
+        when(reservationRepository.deleteReservation(11L)).thenReturn(1, 0);
+
+        eventService.cancelReservation(11L);
+        eventService.cancelReservation(11L);
+
+        verify(eventRepository, times(1)).releaseSeats(5L, 3);
+    }
+
+    @Test
+    void cancelReservation_whenNotOwnReservation_shouldThrow() {
+        signInAs(2L);
+        when(reservationRepository.findByIdAndUserId(11L, 2L)).thenReturn(Optional.empty());
+
+        assertThrows(ReservationNotFoundException.class, () -> eventService.cancelReservation(11L));
+        verify(reservationRepository, never()).deleteReservation(any());
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void getAvailability_shouldReportSeatsLeft() {
+        Event event = new Event("DJ Night", "EDM", ZonedDateTime.now().plusDays(1), BigDecimal.TEN, 100);
+        event.setId(5L);
+        event.setReservedSeats(97);
+        when(eventRepository.findById(5L)).thenReturn(Optional.of(event));
+
+        assertEquals(Optional.of(new EventAvailability(5L, 100, 97, 3)), eventService.getAvailability(5L));
+    }
+
+    private EventSeries weeklySeries(long id, ZonedDateTime firstOccurrence) {
+        EventSeries series = new EventSeries("Sunday EDM Session", "Live DJ set", firstOccurrence,
+                RecurrenceFrequency.WEEKLY, 1, null, new BigDecimal("25.00"));
+        series.setId(id);
+        return series;
+    }
+
+    @Test
+    void getUpcomingEvents_shouldListSeriesOccurrencesWithinHorizonOnly() {
+        ZonedDateTime first = ZonedDateTime.now(CAFE_TIMEZONE).plusDays(1);
+        EventSeries series = weeklySeries(3L, first);
+        series.getCancelledOccurrences().add(first.plusWeeks(1).toInstant());
+        Event oneOff = new Event("Jazz Night", "Music", first.plusDays(2), BigDecimal.TEN);
+        oneOff.setId(1L);
+        when(eventRepository.findUpcomingEvents(any(ZonedDateTime.class))).thenReturn(List.of(oneOff));
+        when(seriesRepository.findActiveFrom(any(ZonedDateTime.class))).thenReturn(List.of(series));
+
+        List<EventDto> upcoming = eventService.getUpcomingEvents();
+
+        // 56 days ahead from tomorrow: weeks 0..7, minus the cancelled week 1, plus the one-off event
+        List<Instant> occurrences = upcoming.stream().filter(e -> e.seriesId() != null)
+                .map(e -> e.eventDateTime().toInstant()).toList();
+        assertEquals(List.of(0, 2, 3, 4, 5, 6, 7).stream().map(w -> first.plusWeeks(w).toInstant()).toList(), occurrences);
+        assertEquals(1L, upcoming.get(1).id());
+        assertNull(upcoming.get(0).id());
+        assertEquals(3L, upcoming.get(0).seriesId());
+    }
+
+    @Test
+    void getUpcomingEvents_shouldAddOccurrenceOnceItComesWithinHorizonWithoutQueryingAgain() throws InterruptedException {
+        // With a one-second horizon, the first occurrence comes within it half a second from now
+        eventService = new EventServiceImpl(
+                eventRepository, reservationRepository, seriesRepository, eventPublisher, transactionManager, Duration.ofSeconds(1));
+        EventSeries series = weeklySeries(3L, ZonedDateTime.now(CAFE_TIMEZONE).plusNanos(1_500_000_000));
+        when(seriesRepository.findActiveFrom(any(ZonedDateTime.class))).thenReturn(List.of(series));
+
+        assertTrue(eventService.getUpcomingEvents().isEmpty());
+        Thread.sleep(700);
+        List<EventDto> rolled = eventService.getUpcomingEvents();
+
+        assertEquals(List.of(3L), rolled.stream().map(EventDto::seriesId).toList());
+        verify(seriesRepository, times(1)).findActiveFrom(any(ZonedDateTime.class));
+    }
+
+    @Test
+    void getUpcomingEvents_afterQuietSpellLongerThanHorizon_shouldSkipOccurrencesThatStarted() throws InterruptedException {
+        // The occurrence comes within the 200ms horizon and starts before the next request arrives
+        eventService = new EventServiceImpl(
+                eventRepository, reservationRepository, seriesRepository, eventPublisher, transactionManager, Duration.ofMillis(200));
+        EventSeries series = weeklySeries(3L, ZonedDateTime.now(CAFE_TIMEZONE).plusNanos(500_000_000));
+        when(seriesRepository.findActiveFrom(any(ZonedDateTime.class))).thenReturn(List.of(series));
+
+        assertTrue(eventService.getUpcomingEvents().isEmpty());
+        Thread.sleep(800);
+
+        assertTrue(eventService.getUpcomingEvents().isEmpty());
+        verify(seriesRepository, times(1)).findActiveFrom(any(ZonedDateTime.class));
+    }
+
+    @Test
+    void getEventsBetween_shouldMergeOccurrencesWithEventsAcrossPages() {
+        Instant from = Instant.parse("2026-03-01T00:00:00Z");
+        Instant to = Instant.parse("2026-04-01T00:00:00Z");
+        // Sundays at 19:00 cafe time, across the switch to summer time on March 29th
+        ZonedDateTime firstSunday = ZonedDateTime.of(2026, 3, 1, 19, 0, 0, 0, CAFE_TIMEZONE);
+        EventSeries series = weeklySeries(3L, firstSunday);
+        EventSummary sameTime = new EventSummary(9L, "Guest DJ", firstSunday.plusWeeks(1), BigDecimal.TEN);
+        when(seriesRepository.findActiveBetween(any(), any())).thenReturn(List.of(series));
+        when(eventRepository.findSummariesBetween(any(), any(), eq(Limit.of(4)))).thenReturn(List.of(sameTime));
+
+        EventPage page = eventService.getEventsBetween(from, to, null, 3);
+
+        assertEquals(Arrays.asList(3L, null, 3L), page.content().stream().map(EventSummary::seriesId).toList());
+        assertEquals(9L, page.content().get(1).id());
+        assertTrue(page.hasNext());
+
+        // The cursor is an occurrence, so the DB continues strictly after its start
+        when(eventRepository.findSummariesBetweenAfter(any(), any(), any(), eq(Long.MAX_VALUE), eq(Limit.of(4)))).thenReturn(List.of());
+
+        EventPage next = eventService.getEventsBetween(from, to, page.nextCursor(), 3);
+
+        assertEquals(List.of(Instant.parse("2026-03-15T18:00:00Z"), Instant.parse("2026-03-22T18:00:00Z"),
+                        Instant.parse("2026-03-29T17:00:00Z")),
+                next.content().stream().map(e -> e.eventDateTime().toInstant()).toList());
+        assertFalse(next.hasNext());
+    }
+
+    @Test
+    void cancelOccurrence_shouldRejectInstantsThatAreNotOccurrences() {
+        ZonedDateTime first = ZonedDateTime.of(2026, 3, 1, 19, 0, 0, 0, CAFE_TIMEZONE);
+        EventSeries series = weeklySeries(3L, first);
+        when(seriesRepository.findById(3L)).thenReturn(Optional.of(series));
+
+        assertThrows(InvalidEventSeriesException.class,
+                () -> eventService.cancelOccurrence(3L, first.plusDays(3).toInstant()));
+
+        eventService.cancelOccurrence(3L, first.plusWeeks(4).toInstant());
+
+        assertEquals(Set.of(first.plusWeeks(4).toInstant()), series.getCancelledOccurrences());
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void createEventSeries_shouldRejectUntilBeforeFirstOccurrence() {
+        ZonedDateTime first = ZonedDateTime.now().plusDays(3);
+        CreateEventSeriesRequest request = new CreateEventSeriesRequest(
+                "Quiz", "Trivia", first, RecurrenceFrequency.WEEKLY, null, first.minusDays(1), BigDecimal.ONE);
+
+        assertThrows(InvalidEventSeriesException.class, () -> eventService.createEventSeries(request));
+        verifyNoInteractions(seriesRepository);
+    }
 }
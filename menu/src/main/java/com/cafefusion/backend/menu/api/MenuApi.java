@@ -1,11 +1,18 @@
 package com.cafefusion.backend.menu.api;
 
 import com.cafefusion.backend.menu.api.model.CreateMenuItemRequest;
+import com.cafefusion.backend.menu.api.model.MenuContent;
+import com.cafefusion.backend.menu.api.model.MenuImportResult;
+import com.cafefusion.backend.menu.api.model.MenuImportRow;
 import com.cafefusion.backend.menu.api.model.MenuItemDto;
+import com.cafefusion.backend.menu.api.model.MenuVersion;
 import com.cafefusion.backend.menu.api.model.UpdateMenuItemRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 /**
@@ -23,11 +30,48 @@ public interface MenuApi {
      */
     Optional<MenuItemDto> getMenuItemById(Long id);
 
+    /**
+     * Finds several menu items at once, in a single lookup.
+     * Duplicate IDs are allowed and resolved only once.
+     *
+     * @param ids The IDs of the menu items.
+     * @return A map of the requested items, keyed by their ID.
+     * @throws com.cafefusion.backend.menu.api.exception.MenuItemNotFoundException
+     *         listing every ID that does not exist.
+     */
+    Map<Long, MenuItemDto> getMenuItemsByIds(Collection<Long> ids);
+
     /**
      * @return A lsit of all currently available menu items.
      */
     List<MenuItemDto> getAllMenuItems();
 
+    /**
+     * Searches item names and descriptions, without querying the DB. Every word of the query must
+     * match the start of a word in the item; case and accents are ignored.
+     *
+     * @param query The search text, e.g. "capp" or "zurek".
+     * @param limit The maximum number of results, capped at 50.
+     * @return The matching items, those matching by name first.
+     */
+    List<MenuItemDto> searchMenuItems(String query, int limit);
+
+    /**
+     * The version of the menu as currently served, without querying the DB.
+     * Read it before the items: the items are then at least as new as the version.
+     * Use {@link #getMenu()} when the items must match the version exactly.
+     *
+     * @return The ETag and last-modified time of the current menu.
+     */
+    MenuVersion getMenuVersion();
+
+    /**
+     * All menu items and their version, from one snapshot and without querying the DB.
+     *
+     * @return The current menu; its version describes exactly its items.
+     */
+    MenuContent getMenu();
+
     /**
      * Creates a new menu item. (Admin Only)
      */
@@ -38,6 +82,16 @@ public interface MenuApi {
      */
     MenuItemDto updateMenuItem(Long id, UpdateMenuItemRequest request);
 
+    /**
+     * Creates or updates many menu items at once, matched by name. (Admin Only)
+     * Rows are validated like {@link CreateMenuItemRequest}; invalid or unreadable rows are
+     * skipped and reported, the others are written in one transaction.
+     *
+     * @param rows The rows to import, consumed once and in order. The caller closes the stream.
+     * @return How many items were created and updated, and which rows failed.
+     */
+    MenuImportResult importMenuItems(Stream<MenuImportRow> rows);
+
     /**
      * Deletes a menu item. (Admin Only)
      */
@@ -0,0 +1,10 @@
+package com.cafefusion.backend.menu.api.exception;
+
+/**
+ * Menu item names are unique: bulk imports match existing items by name.
+ */
+public class DuplicateMenuItemNameException extends RuntimeException {
+    public DuplicateMenuItemNameException(String name) {
+        super("A menu item with this name already exists: " + name);
+    }
+}
@@ -0,0 +1,11 @@
+package com.cafefusion.backend.menu.api.exception;
+
+/**
+ * The import input as a whole cannot be read, e.g. a CSV header without the required columns.
+ * Problems with single rows are reported in the import result instead.
+ */
+public class InvalidMenuImportException extends RuntimeException {
+    public InvalidMenuImportException(String message) {
+        super(message);
+    }
+}
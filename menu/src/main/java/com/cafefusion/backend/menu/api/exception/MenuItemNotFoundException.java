@@ -0,0 +1,9 @@
+package com.cafefusion.backend.menu.api.exception;
+
+import java.util.Collection;
+
+public class MenuItemNotFoundException extends RuntimeException {
+    public MenuItemNotFoundException(Collection<Long> missingIds) {
+        super("Menu items not found: " + missingIds);
+    }
+}
@@ -0,0 +1,15 @@
+package com.cafefusion.backend.menu.api.model;
+
+import java.util.List;
+
+/**
+ * The whole menu together with its version, both taken from the same snapshot.
+ *
+ * @param version The version of exactly these items.
+ * @param items All items, in ID order.
+ */
+public record MenuContent(
+        MenuVersion version,
+        List<MenuItemDto> items
+) {
+}
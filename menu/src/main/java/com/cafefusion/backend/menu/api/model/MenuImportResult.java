@@ -0,0 +1,22 @@
+package com.cafefusion.backend.menu.api.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk menu import.
+ *
+ * @param created Rows whose name was not on the menu yet.
+ * @param updated Rows that replaced the description and price of an item with the same name.
+ * @param failed Rows that were skipped as unreadable or invalid.
+ * @param errors Why rows were skipped, for the first of them only.
+ */
+public record MenuImportResult(
+        int created,
+        int updated,
+        int failed,
+        List<Error> errors
+) {
+
+    public record Error(long line, String message) {
+    }
+}
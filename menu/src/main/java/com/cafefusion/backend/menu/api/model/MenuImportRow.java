@@ -0,0 +1,23 @@
+package com.cafefusion.backend.menu.api.model;
+
+/**
+ * One row of a bulk menu import, as read from the input.
+ *
+ * @param line The line the row starts on, for error reports.
+ * @param request The parsed item; null when the row could not be read.
+ * @param error Why the row could not be read; null when it was.
+ */
+public record MenuImportRow(
+        long line,
+        CreateMenuItemRequest request,
+        String error
+) {
+
+    public static MenuImportRow parsed(long line, CreateMenuItemRequest request) {
+        return new MenuImportRow(line, request, null);
+    }
+
+    public static MenuImportRow unreadable(long line, String error) {
+        return new MenuImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.cafefusion.backend.menu.api.model;
+
+import java.time.Instant;
+
+/**
+ * Identifies the content of the menu as currently served, for HTTP conditional requests.
+ *
+ * @param etag Changes whenever any item changes; equal for equal content, also across instances.
+ * @param lastModified When this instance first served the current content.
+ */
+public record MenuVersion(
+        String etag,
+        Instant lastModified
+) {
+}
@@ -0,0 +1,9 @@
+package com.cafefusion.backend.menu.internal;
+
+/**
+ * Published by every menu write; the snapshot is reloaded once the write has committed.
+ *
+ * @param menuItemId The item written, or null for a bulk import.
+ */
+record MenuChangedEvent(Long menuItemId) {
+}
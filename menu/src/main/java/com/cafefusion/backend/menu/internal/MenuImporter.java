@@ -0,0 +1,142 @@
+package com.cafefusion.backend.menu.internal;
+
+import com.cafefusion.backend.menu.api.model.CreateMenuItemRequest;
+import com.cafefusion.backend.menu.api.model.MenuImportResult;
+import com.cafefusion.backend.menu.api.model.MenuImportRow;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk upsert of menu items, matched by their unique name, in batches.
+ * <p>
+ * Bypasses JPA: with IDENTITY keys Hibernate cannot batch inserts, while here a whole batch is one
+ * INSERT ... ON CONFLICT (name) DO UPDATE over arrays of the batch's columns. Each row is inserted or
+ * updated atomically, so a concurrent writer of the same name cannot cause a duplicate or a lost
+ * update. Rows are consumed as they are read, so only one batch is held in memory. The import is one transaction
+ * and publishes a single {@link MenuChangedEvent}, so menu reads are refreshed once, after commit.
+ */
+@Component
+@Slf4j
+public class MenuImporter {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    // xmax is 0 only for a freshly inserted row version, which tells created from updated apart
+    private static final String UPSERT =
+            "INSERT INTO menu.menu_items (name, description, price) " +
+            "SELECT * FROM unnest(?::text[], ?::text[], ?::numeric[]) " +
+            "ON CONFLICT (name) DO UPDATE SET description = EXCLUDED.description, price = EXCLUDED.price " +
+            "RETURNING (xmax = 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public MenuImporter(
+            JdbcTemplate jdbcTemplate,
+            Validator validator,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${application.menu.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public MenuImportResult importItems(Stream<MenuImportRow> rows) {
+        Progress progress = new Progress();
+        // Keyed by name: within one batch a name must only occur once
+        Map<String, CreateMenuItemRequest> batch = new LinkedHashMap<>();
+
+        Iterator<MenuImportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            MenuImportRow row = iterator.next();
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                progress.fail(row.line(), error);
+                continue;
+            }
+
+            CreateMenuItemRequest request = row.request();
+            if (batch.containsKey(request.name())) {
+                // One statement cannot touch a row twice: the earlier row is written first, then updated by this one
+                flush(batch, progress);
+            }
+            batch.put(request.name(), request);
+            if (batch.size() >= batchSize) {
+                flush(batch, progress);
+            }
+        }
+        flush(batch, progress);
+
+        if (progress.created + progress.updated > 0) {
+            eventPublisher.publishEvent(new MenuChangedEvent(null));
+        }
+        log.info("Menu import: {} created, {} updated, {} failed", progress.created, progress.updated, progress.failed);
+        return new MenuImportResult(progress.created, progress.updated, progress.failed, List.copyOf(progress.errors));
+    }
+
+    private String validate(CreateMenuItemRequest request) {
+        Set<ConstraintViolation<CreateMenuItemRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void flush(Map<String, CreateMenuItemRequest> batch, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<CreateMenuItemRequest> requests = new ArrayList<>(batch.values());
+        batch.clear();
+
+        String[] names = requests.stream().map(CreateMenuItemRequest::name).toArray(String[]::new);
+        String[] descriptions = requests.stream().map(CreateMenuItemRequest::description).toArray(String[]::new);
+        // As text, so the driver does not have to know how to bind a BigDecimal[]
+        String[] prices = requests.stream().map(request -> request.price().toPlainString()).toArray(String[]::new);
+
+        List<Boolean> inserted = jdbcTemplate.queryForList(UPSERT, Boolean.class, names, descriptions, prices);
+        for (Boolean created : inserted) {
+            if (Boolean.TRUE.equals(created)) {
+                progress.created++;
+            } else {
+                progress.updated++;
+            }
+        }
+    }
+
+    private static final class Progress {
+        private int created;
+        private int updated;
+        private int failed;
+        private final List<MenuImportResult.Error> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new MenuImportResult.Error(line, message));
+            }
+        }
+    }
+}
@@ -7,11 +7,16 @@ import lombok.Setter;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "menu_items", schema = "menu")
+@Table(name = "menu_items", schema = "menu", uniqueConstraints = {
+        // Bulk imports match existing items by name (INSERT ... ON CONFLICT (name))
+        @UniqueConstraint(name = MenuItem.UNIQUE_NAME, columnNames = "name")
+})
 @Getter
 @Setter
 public class MenuItem {
 
+    static final String UNIQUE_NAME = "uk_menu_items_name";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
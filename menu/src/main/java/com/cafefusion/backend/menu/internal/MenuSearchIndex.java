@@ -0,0 +1,167 @@
+package com.cafefusion.backend.menu.internal;
+
+import com.cafefusion.backend.menu.api.model.MenuItemDto;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over menu item names and descriptions, for prefix search.
+ * <p>
+ * Tokens are case- and accent-folded ("Żurek" and "zurek", "Işık" and "isik" match), and kept in
+ * sorted maps so a prefix is one range scan. The index follows the {@link MenuSnapshot}s: each new
+ * snapshot is diffed against the last indexed one and only added, changed or removed items are
+ * re-indexed. Searches run concurrently with an update and may briefly see it half applied.
+ */
+@Component
+public class MenuSearchIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ConcurrentSkipListMap<String, Set<Long>> nameTokens = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> descriptionTokens = new ConcurrentSkipListMap<>();
+
+    // Guarded by 'this'. The snapshot the index currently reflects.
+    private MenuSnapshot indexed;
+
+    /**
+     * Brings the index up to date with the snapshot. Older snapshots than the indexed one are ignored.
+     */
+    synchronized void update(MenuSnapshot snapshot) {
+        if (indexed != null && snapshot.version() <= indexed.version()) {
+            return;
+        }
+        Map<Long, MenuItemDto> before = indexed == null ? Map.of() : indexed.itemsById();
+        Map<Long, MenuItemDto> after = snapshot.itemsById();
+
+        before.forEach((id, item) -> {
+            if (!item.equals(after.get(id))) {
+                remove(item);
+            }
+        });
+        after.forEach((id, item) -> {
+            if (!item.equals(before.get(id))) {
+                add(item);
+            }
+        });
+        indexed = snapshot;
+    }
+
+    /**
+     * Items matching every word of the query, each word as a prefix of a word in the name or description.
+     * Items matching more words in their name rank first.
+     *
+     * @return The matching item IDs, best first, at most 'limit' of them.
+     */
+    List<Long> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> candidates = null;
+        Map<Long, Integer> nameHits = new HashMap<>();
+        for (String term : terms) {
+            Set<Long> inName = withPrefix(nameTokens, term);
+            Set<Long> matches = withPrefix(descriptionTokens, term);
+            matches.addAll(inName);
+
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.retainAll(matches);
+            }
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+            inName.forEach(id -> nameHits.merge(id, 1, Integer::sum));
+        }
+
+        List<Long> ranked = new ArrayList<>(candidates);
+        ranked.sort(Comparator.<Long>comparingInt(id -> nameHits.getOrDefault(id, 0)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        return ranked.size() > limit ? List.copyOf(ranked.subList(0, limit)) : ranked;
+    }
+
+    /**
+     * Lower-cases and strips accents, so the folded forms of "Łódź", "LODZ" and "lodz" are equal.
+     * Letters that do not decompose into a base letter plus marks (ł, ı, ø, đ) are mapped explicitly.
+     */
+    static String fold(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder mapped = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            mapped.append(switch (c) {
+                case 'ł' -> 'l';
+                case 'ı' -> 'i';
+                case 'ø' -> 'o';
+                case 'đ' -> 'd';
+                default -> c;
+            });
+        }
+        // Decomposed, 'İ' lower-cases to 'i' plus a combining dot, which goes with the other marks
+        return COMBINING_MARKS.matcher(Normalizer.normalize(mapped, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(fold(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void add(MenuItemDto item) {
+        for (String token : tokenize(item.name())) {
+            nameTokens.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(item.id());
+        }
+        for (String token : tokenize(item.description())) {
+            descriptionTokens.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(item.id());
+        }
+    }
+
+    private void remove(MenuItemDto item) {
+        for (String token : tokenize(item.name())) {
+            removePosting(nameTokens, token, item.id());
+        }
+        for (String token : tokenize(item.description())) {
+            removePosting(descriptionTokens, token, item.id());
+        }
+    }
+
+    private static void removePosting(ConcurrentSkipListMap<String, Set<Long>> index, String token, Long id) {
+        Set<Long> ids = index.get(token);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            // Safe without a compare-and-remove: all updates run under the index lock
+            index.remove(token);
+        }
+    }
+
+    private static Set<Long> withPrefix(NavigableMap<String, Set<Long>> index, String prefix) {
+        Set<Long> ids = new HashSet<>();
+        for (Set<Long> posting : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            ids.addAll(posting);
+        }
+        return ids;
+    }
+}
@@ -1,46 +1,150 @@
 package com.cafefusion.backend.menu.internal;
 
 import com.cafefusion.backend.menu.api.MenuApi;
+import com.cafefusion.backend.menu.api.exception.DuplicateMenuItemNameException;
+import com.cafefusion.backend.menu.api.exception.MenuItemNotFoundException;
 import com.cafefusion.backend.menu.api.model.CreateMenuItemRequest;
+import com.cafefusion.backend.menu.api.model.MenuContent;
+import com.cafefusion.backend.menu.api.model.MenuImportResult;
+import com.cafefusion.backend.menu.api.model.MenuImportRow;
 import com.cafefusion.backend.menu.api.model.MenuItemDto;
+import com.cafefusion.backend.menu.api.model.MenuVersion;
 import com.cafefusion.backend.menu.api.model.UpdateMenuItemRequest;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.Stream;
 
+/**
+ * Reads are served from an in-memory {@link MenuSnapshot}; writes go to the DB and
+ * swap in a fresh snapshot once they have committed.
+ */
 @Service
 @RequiredArgsConstructor
 public class MenuServiceImpl implements MenuApi {
 
+    static final int MAX_SEARCH_RESULTS = 50;
+
     private final MenuItemRepository menuItemRepository;
 
+    private final MenuSnapshotStore menuSnapshotStore;
+
+    private final MenuSearchIndex menuSearchIndex;
+
+    private final MenuImporter menuImporter;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Falls back to the DB for an ID the snapshot does not know yet, e.g. one created on another instance.
+     */
     @Override
     public Optional<MenuItemDto> getMenuItemById(Long id) {
+        MenuItemDto item = menuSnapshotStore.current().itemsById().get(id);
+        if (item != null) {
+            return Optional.of(item);
+        }
         return menuItemRepository.findById(id)
-                .map(this::toDto);
+                .map(MenuSnapshotStore::toDto);
+    }
+
+    @Override
+    public Map<Long, MenuItemDto> getMenuItemsByIds(Collection<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, MenuItemDto> snapshotItems = menuSnapshotStore.current().itemsById();
+
+        Map<Long, MenuItemDto> itemsById = new HashMap<>();
+        Set<Long> unknownIds = new LinkedHashSet<>();
+        for (Long id : uniqueIds) {
+            MenuItemDto item = snapshotItems.get(id);
+            if (item != null) {
+                itemsById.put(id, item);
+            } else {
+                unknownIds.add(id);
+            }
+        }
+
+        // Only IDs the snapshot does not know cost a query: one IN-query for all of them
+        if (!unknownIds.isEmpty()) {
+            for (MenuItem item : menuItemRepository.findAllById(unknownIds)) {
+                itemsById.put(item.getId(), MenuSnapshotStore.toDto(item));
+            }
+        }
+
+        if (itemsById.size() < uniqueIds.size()) {
+            List<Long> missingIds = uniqueIds.stream()
+                    .filter(id -> !itemsById.containsKey(id))
+                    .toList();
+            throw new MenuItemNotFoundException(missingIds);
+        }
+        return itemsById;
     }
 
     @Override
     public List<MenuItemDto> getAllMenuItems() {
-        return menuItemRepository.findAll().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return menuSnapshotStore.current().items();
+    }
+
+    /**
+     * Reads the snapshot first: loading it on first use also fills the search index.
+     */
+    @Override
+    public List<MenuItemDto> searchMenuItems(String query, int limit) {
+        Map<Long, MenuItemDto> itemsById = menuSnapshotStore.current().itemsById();
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+
+        List<MenuItemDto> results = new ArrayList<>();
+        for (Long id : menuSearchIndex.search(query, cappedLimit)) {
+            MenuItemDto item = itemsById.get(id);
+            // The index may already be a reload ahead of the snapshot read above
+            if (item != null) {
+                results.add(item);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public MenuVersion getMenuVersion() {
+        return toVersion(menuSnapshotStore.current());
+    }
+
+    @Override
+    public MenuContent getMenu() {
+        MenuSnapshot snapshot = menuSnapshotStore.current();
+        return new MenuContent(toVersion(snapshot), snapshot.items());
+    }
+
+    private static MenuVersion toVersion(MenuSnapshot snapshot) {
+        return new MenuVersion(snapshot.fingerprint(), snapshot.lastModified());
     }
 
     @Override
     @Transactional
     public MenuItemDto createMenuItem(CreateMenuItemRequest request) {
+        if (menuItemRepository.existsByName(request.name())) {
+            throw new DuplicateMenuItemNameException(request.name());
+        }
         MenuItem newItem = new MenuItem();
         newItem.setName(request.name());
         newItem.setDescription(request.description());
         newItem.setPrice(request.price());
 
-        MenuItem savedItem = menuItemRepository.save(newItem);
-        return toDto(savedItem);
+        MenuItem savedItem = saveUniquelyNamed(newItem);
+        eventPublisher.publishEvent(new MenuChangedEvent(savedItem.getId()));
+        return MenuSnapshotStore.toDto(savedItem);
     }
 
     @Override
@@ -48,13 +152,39 @@ public class MenuServiceImpl implements MenuApi {
     public MenuItemDto updateMenuItem(Long id, UpdateMenuItemRequest request) {
         MenuItem item = menuItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Menu item not found: " + id));
+        if (menuItemRepository.existsByNameAndIdNot(request.name(), id)) {
+            throw new DuplicateMenuItemNameException(request.name());
+        }
 
         item.setName(request.name());
         item.setDescription(request.description());
         item.setPrice(request.price());
 
-        MenuItem updatedItem = menuItemRepository.save(item);
-        return toDto(updatedItem);
+        MenuItem updatedItem = saveUniquelyNamed(item);
+        eventPublisher.publishEvent(new MenuChangedEvent(id));
+        return MenuSnapshotStore.toDto(updatedItem);
+    }
+
+    /**
+     * The name checks above answer nearly every duplicate, but a concurrent write can take the name
+     * between the check and the save. Flushing here makes the unique constraint fail inside this
+     * method, where it is reported the same way.
+     */
+    private MenuItem saveUniquelyNamed(MenuItem item) {
+        try {
+            return menuItemRepository.saveAndFlush(item);
+        } catch (DataIntegrityViolationException ex) {
+            if (ex.getCause() instanceof ConstraintViolationException violation
+                    && MenuItem.UNIQUE_NAME.equalsIgnoreCase(violation.getConstraintName())) {
+                throw new DuplicateMenuItemNameException(item.getName());
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public MenuImportResult importMenuItems(Stream<MenuImportRow> rows) {
+        return menuImporter.importItems(rows);
     }
 
     @Override
@@ -64,18 +194,6 @@ public class MenuServiceImpl implements MenuApi {
             throw new RuntimeException("Menu item not found: " + id);
         }
         menuItemRepository.deleteById(id);
-    }
-
-    /**
-     * A private helper method to convert our internal 'MenuItem' entity
-     * into a public 'MenuItemDto' for the API.
-     */
-    private MenuItemDto toDto(MenuItem entity) {
-        return new MenuItemDto(
-                entity.getId(),
-                entity.getName(),
-                entity.getDescription(),
-                entity.getPrice()
-        );
+        eventPublisher.publishEvent(new MenuChangedEvent(id));
     }
 }
@@ -0,0 +1,61 @@
+package com.cafefusion.backend.menu.internal;
+
+import com.cafefusion.backend.menu.api.model.MenuItemDto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable copy of the whole menu. Readers share it without locking; changes replace it as a whole.
+ *
+ * @param version Increases with every reload, so an older load can never replace a newer one.
+ * @param loadedAt When the menu was read from the DB.
+ * @param items All items, in ID order.
+ * @param fingerprint Hash of the items' fields, computed once per load. Serves as the menu's ETag.
+ * @param lastModified When the content last changed: carried over from the previous snapshot
+ *                     as long as a reload finds the same fingerprint.
+ */
+record MenuSnapshot(long version, Instant loadedAt, List<MenuItemDto> items, Map<Long, MenuItemDto> itemsById,
+                    String fingerprint, Instant lastModified) {
+
+    static MenuSnapshot of(long version, Instant loadedAt, List<MenuItemDto> items) {
+        return of(version, loadedAt, items, null);
+    }
+
+    static MenuSnapshot of(long version, Instant loadedAt, List<MenuItemDto> items, MenuSnapshot previous) {
+        Map<Long, MenuItemDto> itemsById = new LinkedHashMap<>();
+        for (MenuItemDto item : items) {
+            itemsById.put(item.id(), item);
+        }
+        String fingerprint = fingerprint(items);
+        Instant lastModified = previous != null && previous.fingerprint().equals(fingerprint)
+                ? previous.lastModified()
+                : loadedAt;
+        return new MenuSnapshot(version, loadedAt, List.copyOf(items), Map.copyOf(itemsById), fingerprint, lastModified);
+    }
+
+    private static String fingerprint(List<MenuItemDto> items) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (MenuItemDto item : items) {
+            // Unit separators keep field boundaries unambiguous; prices as written, since 4.5 and 4.50 serialize differently
+            String fields = item.id() + "\u001f" + Objects.toString(item.name(), "") + "\u001f"
+                    + Objects.toString(item.description(), "") + "\u001f"
+                    + (item.price() == null ? "" : item.price().toPlainString()) + "\u001e";
+            digest.update(fields.getBytes(StandardCharsets.UTF_8));
+        }
+        // 128 bits is plenty to tell menu versions apart and keeps the header short
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+}
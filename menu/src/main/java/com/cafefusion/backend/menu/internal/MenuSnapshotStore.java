@@ -0,0 +1,98 @@
+package com.cafefusion.backend.menu.internal;
+
+import com.cafefusion.backend.menu.api.model.MenuItemDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link MenuSnapshot}, so menu reads never touch the DB, and keeps the
+ * {@link MenuSearchIndex} in step with it.
+ * <p>
+ * Loaded on first use, reloaded after every committed menu change on this instance, and on a
+ * fixed interval to pick up changes made elsewhere (other instances, direct SQL).
+ * <p>
+ * Reloads read in their own read-write transaction, which always runs on the primary. A read-only
+ * one would be served by the replica (when configured), and a lagging replica could replace a
+ * fresh snapshot with older data.
+ */
+@Component
+@Slf4j
+public class MenuSnapshotStore {
+
+    private final MenuItemRepository menuItemRepository;
+
+    private final MenuSearchIndex menuSearchIndex;
+
+    private final AtomicReference<MenuSnapshot> snapshot = new AtomicReference<>();
+
+    // Taken before a reload reads the DB: a reload that started later has seen at least as much
+    private final AtomicLong nextVersion = new AtomicLong();
+
+    private final TransactionTemplate primaryRead;
+
+    public MenuSnapshotStore(MenuItemRepository menuItemRepository, MenuSearchIndex menuSearchIndex,
+                             PlatformTransactionManager transactionManager) {
+        this.menuItemRepository = menuItemRepository;
+        this.menuSearchIndex = menuSearchIndex;
+        // A new transaction, so a reload started from inside a read-only one is not routed with it
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    MenuSnapshot current() {
+        MenuSnapshot current = snapshot.get();
+        return current != null ? current : reload();
+    }
+
+    /**
+     * Runs after the writing transaction has committed, so the reload sees the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${application.menu.snapshot.refresh-interval:PT1M}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the menu snapshot, keeping the current one", e);
+        }
+    }
+
+    MenuSnapshot reload() {
+        long version = nextVersion.incrementAndGet();
+        MenuSnapshot previous = snapshot.get();
+        List<MenuItemDto> items = primaryRead.execute(status -> menuItemRepository.findAll(Sort.by("id")).stream()
+                .map(MenuSnapshotStore::toDto)
+                .toList());
+        MenuSnapshot loaded = MenuSnapshot.of(version, Instant.now(), items, previous);
+
+        // Two reloads may finish out of order; the one that started last wins
+        MenuSnapshot current = snapshot.accumulateAndGet(loaded,
+                (existing, candidate) -> existing == null || candidate.version() > existing.version() ? candidate : existing);
+        menuSearchIndex.update(current);
+        return current;
+    }
+
+    static MenuItemDto toDto(MenuItem entity) {
+        return new MenuItemDto(
+                entity.getId(),
+                entity.getName(),
+                entity.getDescription(),
+                entity.getPrice()
+        );
+    }
+}
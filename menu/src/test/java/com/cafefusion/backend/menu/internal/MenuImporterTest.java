@@ -0,0 +1,106 @@
+package com.cafefusion.backend.menu.internal;
+
+import com.cafefusion.backend.menu.api.model.CreateMenuItemRequest;
+import com.cafefusion.backend.menu.api.model.MenuImportResult;
+import com.cafefusion.backend.menu.api.model.MenuImportRow;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+public class MenuImporterTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final MenuImporter importer = new MenuImporter(jdbcTemplate, VALIDATOR, eventPublisher, 2);
+
+    private static MenuImportRow row(long line, String name, String price) {
+        return MenuImportRow.parsed(line, new CreateMenuItemRequest(name, null, price == null ? null : new BigDecimal(price)));
+    }
+
+    @Test
+    void importItems_shouldUpsertEachBatchInOneStatement() {
+        // Arrange: of each batch of two, the first name already exists
+        when(jdbcTemplate.queryForList(startsWith("INSERT"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(List.of(false, true));
+
+        // Act
+        MenuImportResult result = importer.importItems(Stream.of(
+                row(2, "Cappuccino", "12.50"),
+                row(3, "Flat White", "14.00"),
+                row(4, "Baklava", "18.00"),
+                row(5, "Sernik", "16.00")));
+
+        // Assert
+        assertEquals(new MenuImportResult(2, 2, 0, List.of()), result);
+
+        ArgumentCaptor<Object> columns = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, times(2)).queryForList(contains("ON CONFLICT (name) DO UPDATE"), eq(Boolean.class),
+                columns.capture(), columns.capture(), columns.capture());
+        assertArrayEquals(new String[]{"Cappuccino", "Flat White"}, (String[]) columns.getAllValues().get(0));
+        assertArrayEquals(new String[]{"12.50", "14.00"}, (String[]) columns.getAllValues().get(2));
+        assertArrayEquals(new String[]{"Baklava", "Sernik"}, (String[]) columns.getAllValues().get(3));
+
+        // Menu reads are refreshed once, for the whole import
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void importItems_shouldReportInvalidRowsAndKeepGoing() {
+        when(jdbcTemplate.queryForList(startsWith("INSERT"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(List.of(true));
+
+        MenuImportResult result = importer.importItems(Stream.of(
+                row(2, "", "12.50"),
+                MenuImportRow.unreadable(3, "Invalid price: abc"),
+                row(4, "Espresso", "-1"),
+                row(5, "Doppio", "11.00")));
+
+        assertEquals(1, result.created());
+        assertEquals(3, result.failed());
+        assertEquals(List.of(
+                new MenuImportResult.Error(2, "Menu item name is required"),
+                new MenuImportResult.Error(3, "Invalid price: abc"),
+                new MenuImportResult.Error(4, "Price must be a positive value")), result.errors());
+    }
+
+    @Test
+    void importItems_shouldWriteRepeatedNameAfterItsFirstOccurrence() {
+        when(jdbcTemplate.queryForList(startsWith("INSERT"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(List.of(true), List.of(false));
+
+        MenuImportResult result = importer.importItems(Stream.of(
+                row(2, "Latte", "12.00"),
+                row(3, "Latte", "13.00")));
+
+        // The repeat goes into a batch of its own and updates the row the first one inserted
+        assertEquals(1, result.created());
+        assertEquals(1, result.updated());
+        verify(jdbcTemplate, times(2)).queryForList(startsWith("INSERT"), eq(Boolean.class), any(Object[].class));
+    }
+
+    @Test
+    void importItems_whenNothingWritten_shouldNotTouchMenu() {
+        MenuImportResult result = importer.importItems(Stream.of(row(2, "Mocha", null)));
+
+        assertEquals(new MenuImportResult(0, 0, 1, List.of(new MenuImportResult.Error(2, "Price is required"))), result);
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+}
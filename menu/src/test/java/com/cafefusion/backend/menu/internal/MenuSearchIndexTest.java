@@ -0,0 +1,72 @@
+package com.cafefusion.backend.menu.internal;
+
+import com.cafefusion.backend.menu.api.model.MenuItemDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MenuSearchIndexTest {
+
+    private final MenuSearchIndex index = new MenuSearchIndex();
+
+    private long version;
+
+    private void index(MenuItemDto... items) {
+        index.update(MenuSnapshot.of(++version, Instant.now(), List.of(items)));
+    }
+
+    private static MenuItemDto item(long id, String name, String description) {
+        return new MenuItemDto(id, name, description, BigDecimal.TEN);
+    }
+
+    @Test
+    void fold_shouldIgnoreCaseAndAccents() {
+        assertEquals("zolty zurek", MenuSearchIndex.fold("Żółty ŻUREK"));
+        assertEquals("lodz", MenuSearchIndex.fold("Łódź"));
+        // Turkish dotted and dotless i, in both cases
+        assertEquals("istanbul isik", MenuSearchIndex.fold("İstanbul IŞIK"));
+        assertEquals("isik", MenuSearchIndex.fold("ışık"));
+    }
+
+    @Test
+    void search_shouldMatchEveryWordAsPrefix() {
+        index(item(1L, "Cappuccino", "Espresso with steamed milk"),
+                item(2L, "Caffè Latte", "Espresso with a lot of milk"),
+                item(3L, "Çay", "Turkish black tea"));
+
+        assertEquals(List.of(1L, 2L), index.search("espr MILK", 10));
+        assertEquals(List.of(2L), index.search("caffe lat", 10));
+        assertEquals(List.of(3L), index.search("cay", 10));
+        assertEquals(List.of(), index.search("latte tea", 10));
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    @Test
+    void search_shouldRankNameMatchesFirstAndApplyLimit() {
+        index(item(1L, "Baklava", "Pistachio pastry"),
+                item(2L, "Pistachio Latte", "Latte with pistachio cream"),
+                item(3L, "Pistachio Cake", null));
+
+        assertEquals(List.of(2L, 3L, 1L), index.search("pist", 10));
+        assertEquals(List.of(2L, 3L), index.search("pist", 2));
+    }
+
+    @Test
+    void update_shouldReindexOnlyChangedItems() {
+        index(item(1L, "Cappuccino", null), item(2L, "Baklava", null));
+        index(item(1L, "Flat White", null), item(3L, "Sernik", "Polish cheesecake"));
+
+        assertEquals(List.of(), index.search("capp", 10));
+        assertEquals(List.of(), index.search("bak", 10));
+        assertEquals(List.of(1L), index.search("flat", 10));
+        assertEquals(List.of(3L), index.search("cheese", 10));
+
+        // A snapshot older than the indexed one changes nothing
+        index.update(MenuSnapshot.of(0, Instant.now(), List.of(item(2L, "Baklava", null))));
+        assertEquals(List.of(), index.search("bak", 10));
+    }
+}
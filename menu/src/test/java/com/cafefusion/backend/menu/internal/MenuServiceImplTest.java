@@ -1,17 +1,30 @@
 package com.cafefusion.backend.menu.internal;
 
+import com.cafefusion.backend.menu.api.exception.DuplicateMenuItemNameException;
+import com.cafefusion.backend.menu.api.exception.MenuItemNotFoundException;
 import com.cafefusion.backend.menu.api.model.CreateMenuItemRequest;
+import com.cafefusion.backend.menu.api.model.MenuContent;
 import com.cafefusion.backend.menu.api.model.MenuItemDto;
+import com.cafefusion.backend.menu.api.model.MenuVersion;
 import com.cafefusion.backend.menu.api.model.UpdateMenuItemRequest;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -22,16 +35,38 @@ public class MenuServiceImplTest {
 
     @Mock
     private MenuItemRepository menuItemRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private MenuImporter menuImporter;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MenuSnapshotStore menuSnapshotStore;
 
-    @InjectMocks
     private MenuServiceImpl menuService;
 
+    @BeforeEach
+    void setUp() {
+        MenuSearchIndex menuSearchIndex = new MenuSearchIndex();
+        menuSnapshotStore = new MenuSnapshotStore(menuItemRepository, menuSearchIndex, transactionManager);
+        menuService = new MenuServiceImpl(menuItemRepository, menuSnapshotStore, menuSearchIndex, menuImporter, eventPublisher);
+    }
+
+    private MenuItem menuItem(long id, String name, String price) {
+        MenuItem item = new MenuItem();
+        item.setId(id);
+        item.setName(name);
+        item.setPrice(new BigDecimal(price));
+        return item;
+    }
+
     @Test
     void createMenuItem_shouldSaveAndReturnDto() {
         // Arrange
         CreateMenuItemRequest request = new CreateMenuItemRequest("New Coffee", "From Brazil", new BigDecimal("15.00"));
 
-        when(menuItemRepository.save(any(MenuItem.class))).thenAnswer(invocation -> {
+        when(menuItemRepository.saveAndFlush(any(MenuItem.class))).thenAnswer(invocation -> {
             MenuItem item = invocation.getArgument(0);
             item.setId(1L);
             return item;
@@ -46,7 +81,7 @@ public class MenuServiceImplTest {
         assertEquals("New Coffee", result.name());
 
         ArgumentCaptor<MenuItem> itemCaptor = ArgumentCaptor.forClass(MenuItem.class);
-        verify(menuItemRepository).save(itemCaptor.capture());
+        verify(menuItemRepository).saveAndFlush(itemCaptor.capture());
 
         assertEquals("New Coffee", itemCaptor.getValue().getName());
         assertEquals(1L, itemCaptor.getValue().getId());
@@ -63,7 +98,7 @@ public class MenuServiceImplTest {
         existingItem.setPrice(BigDecimal.ONE);
 
         when(menuItemRepository.findById(1L)).thenReturn(Optional.of(existingItem));
-        when(menuItemRepository.save(any(MenuItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(menuItemRepository.saveAndFlush(any(MenuItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         MenuItemDto result = menuService.updateMenuItem(1L, request);
@@ -75,7 +110,7 @@ public class MenuServiceImplTest {
         assertEquals(BigDecimal.TEN, result.price());
 
         verify(menuItemRepository, times(1)).findById(1L);
-        verify(menuItemRepository, times(1)).save(any(MenuItem.class));
+        verify(menuItemRepository, times(1)).saveAndFlush(any(MenuItem.class));
     }
 
     @Test
@@ -93,4 +128,180 @@ public class MenuServiceImplTest {
         verify(menuItemRepository, times(1)).existsById(99L);
         verify(menuItemRepository, never()).deleteById(anyLong());
     }
+
+    @Test
+    void getMenuItemsByIds_shouldServeFromSnapshot() {
+        // Arrange
+        when(menuItemRepository.findAll(any(Sort.class))).thenReturn(List.of(
+                menuItem(1L, "Cappuccino", "12.50"),
+                menuItem(2L, "Baklava", "18.00")));
+
+        // Act
+        Map<Long, MenuItemDto> result = menuService.getMenuItemsByIds(List.of(1L, 2L, 1L));
+        menuService.getMenuItemsByIds(List.of(2L));
+
+        // Assert & Verify
+        assertEquals(2, result.size());
+        assertEquals("Cappuccino", result.get(1L).name());
+        assertEquals("Baklava", result.get(2L).name());
+
+        // The snapshot is loaded once; known IDs never cost a query
+        verify(menuItemRepository, times(1)).findAll(any(Sort.class));
+        verify(menuItemRepository, never()).findAllById(any());
+        verify(menuItemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getMenuItemsByIds_shouldLoadIdsUnknownToSnapshotWithOneQuery() {
+        // Arrange: item 2 was created elsewhere after the snapshot was taken
+        when(menuItemRepository.findAll(any(Sort.class))).thenReturn(List.of(menuItem(1L, "Cappuccino", "12.50")));
+        when(menuItemRepository.findAllById(Set.of(2L))).thenReturn(List.of(menuItem(2L, "Baklava", "18.00")));
+
+        // Act
+        Map<Long, MenuItemDto> result = menuService.getMenuItemsByIds(List.of(1L, 2L));
+
+        // Assert
+        assertEquals("Baklava", result.get(2L).name());
+        verify(menuItemRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void getMenuItemsByIds_shouldReportEveryMissingId() {
+        // Arrange
+        when(menuItemRepository.findAll(any(Sort.class))).thenReturn(List.of(menuItem(1L, "Cappuccino", "12.50")));
+        when(menuItemRepository.findAllById(any())).thenReturn(List.of());
+
+        // Act & Verify
+        MenuItemNotFoundException exception = assertThrows(MenuItemNotFoundException.class, () -> {
+            menuService.getMenuItemsByIds(List.of(1L, 98L, 99L));
+        });
+
+        assertEquals("Menu items not found: [98, 99]", exception.getMessage());
+    }
+
+    @Test
+    void getAllMenuItems_shouldServeSameSnapshotUntilMenuChanges() {
+        // Arrange
+        when(menuItemRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(menuItem(1L, "Cappuccino", "12.50")))
+                .thenReturn(List.of(menuItem(1L, "Cappuccino", "13.00"), menuItem(2L, "Baklava", "18.00")));
+
+        // Act & Assert
+        List<MenuItemDto> first = menuService.getAllMenuItems();
+        assertSame(first, menuService.getAllMenuItems());
+        long version = menuSnapshotStore.current().version();
+
+        menuSnapshotStore.onMenuChanged(new MenuChangedEvent(2L));
+
+        List<MenuItemDto> second = menuService.getAllMenuItems();
+        assertEquals(2, second.size());
+        assertEquals(new BigDecimal("13.00"), second.get(0).price());
+        assertTrue(menuSnapshotStore.current().version() > version);
+        assertThrows(UnsupportedOperationException.class, () -> second.add(second.get(0)));
+    }
+
+    @Test
+    void getMenuItemById_shouldServeFromSnapshot() {
+        when(menuItemRepository.findAll(any(Sort.class))).thenReturn(List.of(menuItem(1L, "Cappuccino", "12.50")));
+
+        assertEquals("Cappuccino", menuService.getMenuItemById(1L).orElseThrow().name());
+        verify(menuItemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void writes_shouldPublishMenuChangedEvent() {
+        when(menuItemRepository.existsById(1L)).thenReturn(true);
+
+        menuService.deleteMenuItem(1L);
+
+        verify(eventPublisher).publishEvent(new MenuChangedEvent(1L));
+    }
+
+    @Test
+    void createMenuItem_withExistingName_shouldBeRejected() {
+        when(menuItemRepository.existsByName("Cappuccino")).thenReturn(true);
+
+        assertThrows(DuplicateMenuItemNameException.class, () -> menuService.createMenuItem(
+                new CreateMenuItemRequest("Cappuccino", "Again", new BigDecimal("9.00"))));
+        verify(menuItemRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createMenuItem_whenNameTakenConcurrently_shouldBeRejected() {
+        // The check passed, then another request saved the same name first
+        when(menuItemRepository.saveAndFlush(any(MenuItem.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate key", new ConstraintViolationException("duplicate key", null, "uk_menu_items_name")));
+
+        assertThrows(DuplicateMenuItemNameException.class, () -> menuService.createMenuItem(
+                new CreateMenuItemRequest("Cappuccino", "Again", new BigDecimal("9.00"))));
+    }
+
+    @Test
+    void refresh_shouldReadInNewReadWriteTransaction() {
+        when(menuItemRepository.findAll(any(Sort.class))).thenReturn(List.of(menuItem(1L, "Cappuccino", "12.50")));
+
+        menuSnapshotStore.refresh();
+
+        // Read-only transactions may be routed to a lagging replica
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertFalse(definition.getValue().isReadOnly());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+    }
+
+    @Test
+    void getMenu_shouldPairItemsWithTheirOwnVersion() {
+        when(menuItemRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(menuItem(1L, "Cappuccino", "12.50")))
+                .thenReturn(List.of(menuItem(1L, "Cappuccino", "13.00")));
+        MenuContent before = menuService.getMenu();
+
+        menuSnapshotStore.refresh();
+        MenuContent after = menuService.getMenu();
+
+        assertEquals(new BigDecimal("12.50"), before.items().get(0).price());
+        assertEquals(new BigDecimal("13.00"), after.items().get(0).price());
+        assertNotEquals(before.version().etag(), after.version().etag());
+        assertEquals(menuService.getMenuVersion(), after.version());
+    }
+
+    @Test
+    void getMenuVersion_shouldChangeOnlyWhenContentChanges() {
+        // Arrange: a refresh that finds the same items, then a price change
+        when(menuItemRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(menuItem(1L, "Cappuccino", "12.50")))
+                .thenReturn(List.of(menuItem(1L, "Cappuccino", "12.50")))
+                .thenReturn(List.of(menuItem(1L, "Cappuccino", "13.00")));
+
+        // Act
+        MenuVersion first = menuService.getMenuVersion();
+        menuSnapshotStore.refresh();
+        MenuVersion unchanged = menuService.getMenuVersion();
+        menuSnapshotStore.refresh();
+        MenuVersion changed = menuService.getMenuVersion();
+
+        // Assert
+        assertEquals(first, unchanged);
+        assertNotEquals(first.etag(), changed.etag());
+        assertFalse(changed.lastModified().isBefore(first.lastModified()));
+    }
+
+    @Test
+    void searchMenuItems_shouldFollowMenuChanges() {
+        // Arrange
+        MenuItem zurek = menuItem(2L, "Żurek", "0.00");
+        zurek.setDescription("Sour rye soup");
+        when(menuItemRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(menuItem(1L, "Cappuccino", "12.50"), zurek))
+                .thenReturn(List.of(menuItem(1L, "Cappuccino", "12.50")));
+
+        // Act & Assert
+        assertEquals(List.of("Żurek"), menuService.searchMenuItems("ZUR", 20).stream().map(MenuItemDto::name).toList());
+        assertEquals(1, menuService.searchMenuItems("rye", 20).size());
+
+        menuSnapshotStore.onMenuChanged(new MenuChangedEvent(2L));
+
+        assertTrue(menuService.searchMenuItems("zur", 20).isEmpty());
+        verify(menuItemRepository, never()).findById(anyLong());
+    }
 }
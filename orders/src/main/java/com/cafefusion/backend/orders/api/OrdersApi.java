@@ -1,9 +1,16 @@
 package com.cafefusion.backend.orders.api;
 
 
+import com.cafefusion.backend.orders.api.model.AnalyticsGranularity;
+import com.cafefusion.backend.orders.api.model.BulkStatusUpdateRequest;
 import com.cafefusion.backend.orders.api.model.CreateOrderRequest;
+import com.cafefusion.backend.orders.api.model.CursorPage;
 import com.cafefusion.backend.orders.api.model.OrderDto;
+import com.cafefusion.backend.orders.api.model.OrderExportRecord;
 import com.cafefusion.backend.orders.api.model.OrderStatus;
+import com.cafefusion.backend.orders.api.model.OrderStatusStatistics;
+import com.cafefusion.backend.orders.api.model.SalesAnalytics;
+import com.cafefusion.backend.orders.api.model.StatusUpdateResult;
 import com.cafefusion.backend.orders.api.model.UpdateOrderRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,6 +19,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * This is the PUBLIC API for the Orders Module.
@@ -27,7 +35,17 @@ public interface OrdersApi {
     OrderDto createOrder(CreateOrderRequest request);
 
     /**
-     * Finds an order by its unique ID.
+     * Creates a new order at most once per idempotency key and user.
+     * A retry with the same key replays the first result; a concurrent
+     * duplicate waits for the first request to finish.
+     * @param request The request containing the list of item IDs
+     * @param idempotencyKey The client-supplied Idempotency-Key
+     * @return A DTO of the order created by the first request with this key.
+     */
+    OrderDto createOrder(CreateOrderRequest request, String idempotencyKey);
+
+    /**
+     * Finds an order by its unique ID, in the archive too.
      * @param orderId The ID of the order to find.
      * @return An optional containing the order DTO if found.
      */
@@ -54,16 +72,85 @@ public interface OrdersApi {
      */
     List<OrderDto> getMyOrderHistory();
 
+    /**
+     * Gets one page of the currently authenticated user's order history, newest first.
+     * The history includes archived orders.
+     * @param cursor The 'nextCursor' of the previous page, or null for the first page.
+     * @param limit The maximum number of orders on the page.
+     * @return The page, with a cursor for the next one if there is more history.
+     */
+    CursorPage<OrderDto> getMyOrderHistory(String cursor, int limit);
+
     // --- ADMIN ROLE ---
 
     Page<OrderDto> getOrders(Pageable pageable);
 
     Page<OrderDto> getOrdersByStatuses(List<OrderStatus> statuses, Pageable pageable);
 
-    Map<OrderStatus, Long> getOrderStatistics(Instant start, Instant end);
+    /**
+     * Keyset-paginated listing of all orders, newest first. Unlike the Pageable variant
+     * it never runs a count query, and deep pages cost the same as the first one.
+     *
+     * @param cursor The 'nextCursor' of the previous page, or null for the first page.
+     * @param limit The maximum number of orders on the page.
+     */
+    CursorPage<OrderDto> getOrders(String cursor, int limit);
+
+    /**
+     * Keyset-paginated listing of orders in the given statuses, newest first.
+     *
+     * @param cursor The 'nextCursor' of the previous page, or null for the first page.
+     * @param limit The maximum number of orders on the page.
+     */
+    CursorPage<OrderDto> getOrdersByStatuses(List<OrderStatus> statuses, String cursor, int limit);
+
+    /**
+     * Per-status order count, revenue and item count, computed in one aggregate query.
+     * Every status is present in the result, with zeroes when it has no orders.
+     *
+     * @param start Inclusive lower bound on creation time, or null for all time.
+     * @param end Inclusive upper bound on creation time, or null for all time.
+     */
+    Map<OrderStatus, OrderStatusStatistics> getOrderStatistics(Instant start, Instant end);
+
+    /**
+     * Revenue per hour or day, top menu items by units sold and by revenue, and average basket size
+     * over orders created in [start, end). Computed with aggregate queries, archived orders included.
+     *
+     * @param top How many items each top list holds (at most 50).
+     * @throws com.cafefusion.backend.orders.api.exception.InvalidAnalyticsRangeException
+     *         If start is not before end, or the range has too many buckets for the granularity.
+     */
+    SalesAnalytics getSalesAnalytics(Instant start, Instant end, AnalyticsGranularity granularity, int top);
 
     Page<OrderDto> getKitchenOrders(Pageable pageable);
 
+    /**
+     * Keyset-paginated listing of archived orders, newest first. Finished orders older than the
+     * archive horizon are moved out of the regular tables and only show up here.
+     *
+     * @param cursor The 'nextCursor' of the previous page, or null for the first page.
+     * @param limit The maximum number of orders on the page.
+     */
+    CursorPage<OrderDto> getArchivedOrders(String cursor, int limit);
+
+    Optional<OrderDto> getArchivedOrderById(Long orderId);
+
+    /**
+     * Streams every order created in [start, end), archived ones included, to the consumer one at a time,
+     * for exports that are too large to page through or hold in memory. Archived orders come first;
+     * within each tier, orders are in creation order. The consumer runs inside a read-only transaction.
+     */
+    void exportOrders(Instant start, Instant end, Consumer<OrderExportRecord> consumer);
+
     OrderDto updateStatusValidated(Long orderId, UpdateOrderRequest request);
 
+    /**
+     * Moves a batch of orders (e.g. a finished tray) to one status in a single set-based statement.
+     * Each order is checked against the same transition rules as updateStatusValidated.
+     *
+     * @return One result per distinct order ID, in request order, saying whether it was updated and if not, why.
+     */
+    List<StatusUpdateResult> bulkUpdateStatusValidated(BulkStatusUpdateRequest request);
+
 }
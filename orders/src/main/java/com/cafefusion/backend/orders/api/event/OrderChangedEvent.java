@@ -0,0 +1,31 @@
+package com.cafefusion.backend.orders.api.event;
+
+import com.cafefusion.backend.orders.api.model.OrderDto;
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+
+/**
+ * Published by the orders module whenever an order is created, changes status or is deleted.
+ * Listeners registered with @TransactionalEventListener only see it once the change is committed.
+ *
+ * @param order The order as it is after the change (for a deletion: as it was just before).
+ * @param previousStatus The status the order left, or null for a newly created order.
+ * @param deleted True when the order no longer exists.
+ */
+public record OrderChangedEvent(
+        OrderDto order,
+        OrderStatus previousStatus,
+        boolean deleted
+) {
+
+    public static OrderChangedEvent created(OrderDto order) {
+        return new OrderChangedEvent(order, null, false);
+    }
+
+    public static OrderChangedEvent statusChanged(OrderDto order, OrderStatus previousStatus) {
+        return new OrderChangedEvent(order, previousStatus, false);
+    }
+
+    public static OrderChangedEvent deleted(OrderDto order) {
+        return new OrderChangedEvent(order, order.status(), true);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cafefusion.backend.orders.api.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String idempotencyKey) {
+        super("Idempotency-Key was already used for a different order: " + idempotencyKey);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cafefusion.backend.orders.api.exception;
+
+public class IdempotentRequestInProgressException extends RuntimeException {
+    public IdempotentRequestInProgressException(String idempotencyKey) {
+        super("A request with this Idempotency-Key is still being processed: " + idempotencyKey);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cafefusion.backend.orders.api.exception;
+
+public class InvalidAnalyticsRangeException extends RuntimeException {
+    public InvalidAnalyticsRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cafefusion.backend.orders.api.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid page cursor: " + cursor);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cafefusion.backend.orders.api.exception;
+
+public class OrderIntakeOverloadedException extends RuntimeException {
+    public OrderIntakeOverloadedException() {
+        super("Too many orders are waiting to be saved, please try again in a moment");
+    }
+}
@@ -0,0 +1,9 @@
+package com.cafefusion.backend.orders.api.model;
+
+/**
+ * Bucket size of a revenue series. Buckets are aligned to UTC.
+ */
+public enum AnalyticsGranularity {
+    HOUR,
+    DAY
+}
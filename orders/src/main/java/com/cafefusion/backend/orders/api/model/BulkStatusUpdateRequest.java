@@ -0,0 +1,18 @@
+package com.cafefusion.backend.orders.api.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkStatusUpdateRequest(
+        // The orders to move, e.g. every order on a finished tray
+        @NotEmpty(message = "At least one order ID is required")
+        @Size(max = 100, message = "At most 100 orders can be updated at once")
+        List<@NotNull Long> orderIds,
+
+        @NotNull(message = "A new order status is required")
+        OrderStatus newStatus
+) {
+}
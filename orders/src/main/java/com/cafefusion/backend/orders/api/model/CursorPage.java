@@ -0,0 +1,15 @@
+package com.cafefusion.backend.orders.api.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * Pass 'nextCursor' back to get the following page; it is null on the last page.
+ * Unlike Page, this never needs a count query.
+ */
+public record CursorPage<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext
+) {
+}
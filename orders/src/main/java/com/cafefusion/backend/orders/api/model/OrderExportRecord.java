@@ -0,0 +1,25 @@
+package com.cafefusion.backend.orders.api.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One order as it is written to an accounting export, with its lines.
+ */
+public record OrderExportRecord(
+        Long orderId,
+        Long userId,
+        Instant createdAt,
+        OrderStatus status,
+        BigDecimal totalPrice,
+        List<Line> items
+) {
+
+    public record Line(
+            Long menuItemId,
+            String name,
+            BigDecimal price
+    ) {
+    }
+}
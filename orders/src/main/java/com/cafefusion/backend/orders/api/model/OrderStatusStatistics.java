@@ -0,0 +1,15 @@
+package com.cafefusion.backend.orders.api.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregates for all orders in one status.
+ * 'revenue' is the sum of their total prices, 'itemCount' the number of line items across them.
+ */
+public record OrderStatusStatistics(
+        long orderCount,
+        BigDecimal revenue,
+        long itemCount
+) {
+    public static final OrderStatusStatistics EMPTY = new OrderStatusStatistics(0, BigDecimal.ZERO, 0);
+}
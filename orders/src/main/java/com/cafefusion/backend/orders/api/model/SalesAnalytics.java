@@ -0,0 +1,40 @@
+package com.cafefusion.backend.orders.api.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Sales figures for [start, end). Cancelled orders are not sales and are left out everywhere.
+ *
+ * @param revenueSeries One bucket per hour or day in the range, oldest first, including empty ones.
+ * @param averageBasketSize Items per order.
+ */
+public record SalesAnalytics(
+        Instant start,
+        Instant end,
+        AnalyticsGranularity granularity,
+        long orderCount,
+        BigDecimal revenue,
+        BigDecimal averageOrderValue,
+        double averageBasketSize,
+        List<RevenueBucket> revenueSeries,
+        List<MenuItemSales> topByQuantity,
+        List<MenuItemSales> topByRevenue
+) {
+
+    public record RevenueBucket(
+            Instant start,
+            long orderCount,
+            BigDecimal revenue
+    ) {
+    }
+
+    public record MenuItemSales(
+            Long menuItemId,
+            String name,
+            long quantity,
+            BigDecimal revenue
+    ) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.cafefusion.backend.orders.api.model;
+
+/**
+ * Outcome of a bulk status change for one order.
+ *
+ * @param order The updated order, or null if it was not updated.
+ * @param error Why the order was not updated, or null on success.
+ */
+public record StatusUpdateResult(
+        Long orderId,
+        boolean updated,
+        OrderDto order,
+        String error
+) {
+
+    public static StatusUpdateResult updated(OrderDto order) {
+        return new StatusUpdateResult(order.orderId(), true, order, null);
+    }
+
+    public static StatusUpdateResult failed(Long orderId, String error) {
+        return new StatusUpdateResult(orderId, false, null, error);
+    }
+}
@@ -0,0 +1,49 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A finished (COMPLETED or CANCELLED) order moved out of the hot 'orders' table by the {@link OrderArchiver}.
+ * Rows are only ever written by the archiver's INSERT ... SELECT, so the entity is read-only.
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive", schema = "orders", indexes = {
+        @Index(name = "idx_orders_archive_created_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_orders_archive_user_created_id", columnList = "user_id, created_at DESC, id DESC"),
+        @Index(name = "idx_orders_archive_created_status", columnList = "created_at, status, total_price, item_count")
+})
+@Getter
+public class ArchivedOrder {
+
+    // Same id as the order had in the hot table
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private BigDecimal totalPrice;
+
+    @Column(nullable = false)
+    private int itemCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+
+    protected ArchivedOrder() {}
+}
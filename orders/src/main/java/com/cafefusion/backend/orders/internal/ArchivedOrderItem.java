@@ -0,0 +1,36 @@
+package com.cafefusion.backend.orders.internal;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * An order line of an {@link ArchivedOrder}. Read-only, written by the {@link OrderArchiver}.
+ */
+@Entity
+@Immutable
+@Table(name = "order_items_archive", schema = "orders", indexes = {
+        @Index(name = "idx_order_items_archive_order_id", columnList = "order_id")
+})
+@Getter
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Long menuItemId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    protected ArchivedOrderItem() {}
+}
@@ -0,0 +1,121 @@
+package com.cafefusion.backend.orders.internal;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Reads the archive tier, and the statements the archiver uses to move orders into it.
+ * Everything in {@link OrderRepository} only sees the hot table.
+ */
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @Query("SELECT o FROM ArchivedOrder o ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findPage(Limit limit);
+
+    @Query("SELECT o FROM ArchivedOrder o WHERE (o.createdAt, o.id) < (:createdAt, :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findPageAfter(Instant createdAt, Long id, Limit limit);
+
+    /**
+     * Archive counterparts of the history queries in {@link OrderRepository}, with the same (createdAt, id) key,
+     * so a customer's history can seek through both tiers with one cursor.
+     */
+    List<ArchivedOrder> findByUserIdOrderByCreatedAtDescIdDesc(Long userId);
+
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.userId = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findHistoryPage(Long userId, Limit limit);
+
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.userId = :userId AND (o.createdAt, o.id) < (:createdAt, :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findHistoryPageAfter(Long userId, Instant createdAt, Long id, Limit limit);
+
+    @Query("SELECT new com.cafefusion.backend.orders.internal.OrderItemName(i.orderId, i.name) " +
+            "FROM ArchivedOrderItem i WHERE i.orderId IN :orderIds ORDER BY i.orderId, i.id")
+    List<OrderItemName> findNamesByOrderIds(Collection<Long> orderIds);
+
+    /**
+     * Archive counterpart of {@link OrderRepository#streamForExport}.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new com.cafefusion.backend.orders.internal.OrderExportRow(" +
+            "o.id, o.userId, o.createdAt, o.status, o.totalPrice, i.menuItemId, i.name, i.price) " +
+            "FROM ArchivedOrder o LEFT JOIN ArchivedOrderItem i ON i.orderId = o.id " +
+            "WHERE o.createdAt >= :start AND o.createdAt < :end ORDER BY o.createdAt, o.id, i.id")
+    Stream<OrderExportRow> streamForExport(Instant start, Instant end);
+
+    // --- STATISTICS (same shapes as OrderRepository, so both tiers can be merged) ---
+
+    @Query("SELECT new com.cafefusion.backend.orders.internal.OrderStatusAggregate(" +
+            "o.status, COUNT(o), SUM(o.totalPrice), SUM(o.itemCount)) " +
+            "FROM ArchivedOrder o GROUP BY o.status")
+    List<OrderStatusAggregate> aggregateByStatus();
+
+    @Query("SELECT new com.cafefusion.backend.orders.internal.OrderStatusAggregate(" +
+            "o.status, COUNT(o), SUM(o.totalPrice), SUM(o.itemCount)) " +
+            "FROM ArchivedOrder o WHERE o.createdAt BETWEEN :start AND :end GROUP BY o.status")
+    List<OrderStatusAggregate> aggregateByStatusBetween(Instant start, Instant end);
+
+    @Query(value = "SELECT CAST(EXTRACT(EPOCH FROM date_trunc(:unit, o.created_at AT TIME ZONE 'UTC')) AS bigint), " +
+            "o.status, COUNT(*), SUM(o.total_price), SUM(o.item_count) " +
+            "FROM orders.orders_archive o WHERE o.created_at >= :since GROUP BY 1, 2", nativeQuery = true)
+    List<Object[]> aggregateByBucketAndStatus(String unit, Instant since);
+
+    // --- SALES ANALYTICS (same shapes as OrderRepository) ---
+
+    @Query(value = "SELECT CAST(EXTRACT(EPOCH FROM date_trunc(:unit, o.created_at AT TIME ZONE 'UTC')) AS bigint), " +
+            "COUNT(*), SUM(o.total_price), SUM(o.item_count) " +
+            "FROM orders.orders_archive o WHERE o.created_at >= :start AND o.created_at < :end AND o.status <> 'CANCELLED' " +
+            "GROUP BY 1", nativeQuery = true)
+    List<Object[]> salesByBucket(String unit, Instant start, Instant end);
+
+    @Query(value = "SELECT i.menu_item_id, (array_agg(i.name ORDER BY o.created_at DESC, o.id DESC))[1], " +
+            "COUNT(*), SUM(i.price), CAST(EXTRACT(EPOCH FROM MAX(o.created_at)) * 1000000 AS bigint) " +
+            "FROM orders.order_items_archive i JOIN orders.orders_archive o ON o.id = i.order_id " +
+            "WHERE o.created_at >= :start AND o.created_at < :end AND o.status <> 'CANCELLED' " +
+            "GROUP BY i.menu_item_id", nativeQuery = true)
+    List<Object[]> salesByMenuItem(Instant start, Instant end);
+
+    // --- ARCHIVER ---
+
+    /**
+     * Claims the next batch of finished orders older than the cutoff. SKIP LOCKED keeps the archiver
+     * from waiting on (or blocking) orders that are being touched right now.
+     */
+    @Query(value = "SELECT id FROM orders.orders WHERE status IN ('COMPLETED', 'CANCELLED') AND created_at < :cutoff " +
+            "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockArchivableOrderIds(Instant cutoff, int batchSize);
+
+    @Modifying
+    @Query(value = "INSERT INTO orders.orders_archive (id, user_id, created_at, total_price, item_count, status, archived_at) " +
+            "SELECT id, user_id, created_at, total_price, item_count, status, :archivedAt " +
+            "FROM orders.orders WHERE id IN (:orderIds)", nativeQuery = true)
+    int copyOrders(Collection<Long> orderIds, Instant archivedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO orders.order_items_archive (id, order_id, menu_item_id, name, price) " +
+            "SELECT id, order_id, menu_item_id, name, price " +
+            "FROM orders.order_items WHERE order_id IN (:orderIds)", nativeQuery = true)
+    int copyOrderItems(Collection<Long> orderIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM orders.order_items WHERE order_id IN (:orderIds)", nativeQuery = true)
+    int deleteOrderItems(Collection<Long> orderIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM orders.orders WHERE id IN (:orderIds)", nativeQuery = true)
+    int deleteOrders(Collection<Long> orderIds);
+}
@@ -0,0 +1,36 @@
+package com.cafefusion.backend.orders.internal;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Result row of the per-menu-item sales queries. Each order line is one unit sold.
+ * 'name' is the name on the most recent order line, sold at 'lastSoldAt'.
+ */
+public record MenuItemSalesAggregate(
+        Long menuItemId,
+        String name,
+        Long quantity,
+        BigDecimal revenue,
+        Instant lastSoldAt
+) {
+
+    static MenuItemSalesAggregate of(Object[] row) {
+        return new MenuItemSalesAggregate(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                ((Number) row[2]).longValue(),
+                (BigDecimal) row[3],
+                Instant.EPOCH.plus(((Number) row[4]).longValue(), ChronoUnit.MICROS));
+    }
+
+    /**
+     * Sums two rows for the same item; the name comes from whichever was sold last.
+     */
+    MenuItemSalesAggregate merge(MenuItemSalesAggregate other) {
+        MenuItemSalesAggregate latest = other.lastSoldAt.isAfter(lastSoldAt) ? other : this;
+        return new MenuItemSalesAggregate(menuItemId, latest.name, quantity + other.quantity,
+                revenue.add(other.revenue), latest.lastSoldAt);
+    }
+}
@@ -10,13 +10,20 @@ import java.time.Instant;
 import java.util.List;
 
 @Entity
-@Table(name = "orders", schema = "orders")
+@Table(name = "orders", schema = "orders", indexes = {
+        @Index(name = "idx_orders_user_created_id", columnList = "user_id, created_at DESC, id DESC"),
+        @Index(name = "idx_orders_created_status", columnList = "created_at, status, total_price, item_count"),
+        @Index(name = "idx_orders_created_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_orders_status_created_id", columnList = "status, created_at DESC, id DESC")
+})
 @Getter
 @Setter
 public class Order {
 
+    // Pooled sequence ids keep Hibernate's JDBC insert batching enabled (IDENTITY disables it)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", schema = "orders", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, updatable = false)
@@ -28,10 +35,19 @@ public class Order {
     @Column(nullable = false)
     private BigDecimal totalPrice;
 
+    // Denormalized size of 'items', so statistics can sum it without joining order_items
+    @Column(nullable = false)
+    private int itemCount;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private OrderStatus status;
 
+    // Optimistic lock for paths that still load and modify the entity;
+    // the status-transition UPDATE bumps it too
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<OrderItem> items;
 
@@ -0,0 +1,77 @@
+package com.cafefusion.backend.orders.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keeps the hot 'orders' table small by moving finished (COMPLETED or CANCELLED) orders older
+ * than the horizon, with their items, into the archive tables.
+ * <p>
+ * Works in batches, one short transaction each: claim ids, copy orders and items, delete the originals.
+ * Orders that are locked by a running request are skipped and picked up by a later run.
+ */
+@Component
+@Slf4j
+public class OrderArchiver {
+
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration horizon;
+    private final int batchSize;
+
+    public OrderArchiver(
+            ArchivedOrderRepository archivedOrderRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${application.orders.archive.horizon:P90D}") Duration horizon,
+            @Value("${application.orders.archive.batch-size:500}") int batchSize) {
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${application.orders.archive.cron:0 30 3 * * *}")
+    public void archiveScheduled() {
+        archive();
+    }
+
+    /**
+     * Archives every finished order created before now minus the horizon.
+     *
+     * @return The number of orders moved.
+     */
+    public int archive() {
+        Instant cutoff = Instant.now().minus(horizon);
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += moved;
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            log.info("Archived {} orders created before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveBatch(Instant cutoff) {
+        List<Long> orderIds = archivedOrderRepository.lockArchivableOrderIds(cutoff, batchSize);
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        Instant archivedAt = Instant.now();
+        archivedOrderRepository.copyOrders(orderIds, archivedAt);
+        archivedOrderRepository.copyOrderItems(orderIds);
+        archivedOrderRepository.deleteOrderItems(orderIds);
+        archivedOrderRepository.deleteOrders(orderIds);
+        return orderIds.size();
+    }
+}
@@ -0,0 +1,311 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.event.OrderChangedEvent;
+import com.cafefusion.backend.orders.api.model.OrderDto;
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+import com.cafefusion.backend.orders.api.model.OrderStatusStatistics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live per-status order statistics, kept in memory so dashboard polling does not aggregate the table.
+ * <p>
+ * Holds all-time totals plus per-minute, per-hour and per-day buckets (UTC, keyed by creation time).
+ * Every figure is a LongAdder, so concurrent updates never contend on a single lock or cache line.
+ * The counters are rebuilt from the DB once the application is ready, follow committed
+ * {@link OrderChangedEvent}s in between, and are rebuilt again on application.orders.counters.rebuild-interval.
+ * The periodic rebuild picks up writes made by other instances or outside the orders service.
+ * <p>
+ * Rebuilds read from the primary, in one read-write REPEATABLE READ transaction: a lagging replica
+ * would replace live counters with older figures, and both tiers have to come from the same snapshot.
+ */
+@Component
+@Slf4j
+public class OrderCounters {
+
+    enum Granularity {
+        MINUTE(ChronoUnit.MINUTES, "minute", Duration.ofHours(24)),
+        HOUR(ChronoUnit.HOURS, "hour", Duration.ofDays(31)),
+        DAY(ChronoUnit.DAYS, "day", Duration.ofDays(366));
+
+        private final ChronoUnit unit;
+        private final String sqlUnit;
+        private final Duration retention;
+
+        Granularity(ChronoUnit unit, String sqlUnit, Duration retention) {
+            this.unit = unit;
+            this.sqlUnit = sqlUnit;
+            this.retention = retention;
+        }
+
+        long bucketOf(Instant instant) {
+            return instant.truncatedTo(unit).getEpochSecond();
+        }
+
+        boolean isAligned(Instant instant) {
+            return instant.truncatedTo(unit).equals(instant);
+        }
+
+        /** Oldest instant this granularity still has buckets for. */
+        Instant horizon(Instant now) {
+            return now.truncatedTo(unit).minus(retention);
+        }
+    }
+
+    private final OrderRepository orderRepository;
+
+    private final ArchivedOrderRepository archivedOrderRepository;
+
+    private final TransactionTemplate primaryRead;
+
+    // Null until the first rebuild has finished; callers then fall back to the DB
+    private volatile State state;
+
+    // Guarded by 'this'. Changes received since the running rebuild started, null while none is running
+    private List<OrderChangedEvent> changesDuringRebuild;
+
+    // Serializes rebuilds, so two of them never share changesDuringRebuild
+    private final Object rebuildLock = new Object();
+
+    public OrderCounters(OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Could not load order counters, statistics will be served from the database", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${application.orders.counters.rebuild-interval:PT5M}",
+            fixedDelayString = "${application.orders.counters.rebuild-interval:PT5M}")
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild order counters, keeping the current ones", e);
+        }
+    }
+
+    /**
+     * Replaces the counters with fresh aggregates from the DB.
+     * Changes received while the queries run are replayed onto the fresh counters before they are
+     * published, so none is lost with the counters being replaced. Buffering starts before the
+     * snapshot is taken; a change that committed just before it but was delivered just after is
+     * counted twice, until the next rebuild.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            try {
+                State fresh = primaryRead.execute(status -> load(Instant.now()));
+                synchronized (this) {
+                    changesDuringRebuild.forEach(fresh::apply);
+                    this.state = fresh;
+                }
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+        log.info("Order counters rebuilt from the database");
+    }
+
+    private State load(Instant now) {
+        State fresh = new State();
+
+        // Both tiers: archiving moves finished orders but does not change what they count for
+        List<OrderStatusAggregate> totals = new ArrayList<>(orderRepository.aggregateByStatus());
+        totals.addAll(archivedOrderRepository.aggregateByStatus());
+        for (OrderStatusAggregate aggregate : totals) {
+            fresh.totals.get(aggregate.status())
+                    .add(aggregate.orderCount(), toCents(aggregate.revenue()), aggregate.itemCount());
+        }
+        for (Granularity granularity : Granularity.values()) {
+            Instant since = granularity.horizon(now);
+            List<Object[]> rows = new ArrayList<>(orderRepository.aggregateByBucketAndStatus(granularity.sqlUnit, since));
+            rows.addAll(archivedOrderRepository.aggregateByBucketAndStatus(granularity.sqlUnit, since));
+            for (Object[] row : rows) {
+                long bucket = ((Number) row[0]).longValue();
+                OrderStatus status = OrderStatus.valueOf((String) row[1]);
+                fresh.buckets.get(granularity)
+                        .computeIfAbsent(bucket, b -> newTallies())
+                        .get(status)
+                        .add(((Number) row[2]).longValue(), toCents((BigDecimal) row[3]), ((Number) row[4]).longValue());
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Applies a committed change. Runs immediately when the change was made outside a transaction.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        State current;
+        synchronized (this) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            current = this.state;
+        }
+        // Applying to counters a running rebuild is about to replace is harmless: it replays the change
+        if (current != null) {
+            current.apply(event);
+        }
+    }
+
+    /**
+     * Statistics for the window, if it can be answered from memory.
+     * That is the case for all time (no bounds) and for windows that run up to now and start on a
+     * minute, hour or day boundary that is still within that granularity's retention.
+     *
+     * @return The statistics, or empty when the caller has to query the DB.
+     */
+    public Optional<Map<OrderStatus, OrderStatusStatistics>> getStatistics(Instant start, Instant end) {
+        return getStatistics(start, end, Instant.now());
+    }
+
+    Optional<Map<OrderStatus, OrderStatusStatistics>> getStatistics(Instant start, Instant end, Instant now) {
+        State current = this.state;
+        if (current == null) {
+            return Optional.empty();
+        }
+        if (start == null || end == null) {
+            return Optional.of(toStatistics(current.totals));
+        }
+        if (end.isBefore(now)) {
+            return Optional.empty();
+        }
+
+        // Coarsest granularity first: fewest buckets to sum
+        for (int i = Granularity.values().length - 1; i >= 0; i--) {
+            Granularity granularity = Granularity.values()[i];
+            if (granularity.isAligned(start) && !start.isBefore(granularity.horizon(now))) {
+                Map<OrderStatus, Tally> sum = newTallies();
+                for (Map<OrderStatus, Tally> bucket : current.buckets.get(granularity)
+                        .tailMap(start.getEpochSecond(), true).values()) {
+                    bucket.forEach((status, tally) -> sum.get(status).add(tally));
+                }
+                return Optional.of(toStatistics(sum));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Map<OrderStatus, OrderStatusStatistics> toStatistics(Map<OrderStatus, Tally> tallies) {
+        Map<OrderStatus, OrderStatusStatistics> stats = new EnumMap<>(OrderStatus.class);
+        tallies.forEach((status, tally) -> {
+            long orders = tally.orders.sum();
+            stats.put(status, orders == 0
+                    ? OrderStatusStatistics.EMPTY
+                    : new OrderStatusStatistics(orders, BigDecimal.valueOf(tally.revenueCents.sum(), 2), tally.items.sum()));
+        });
+        return stats;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static Map<OrderStatus, Tally> newTallies() {
+        Map<OrderStatus, Tally> tallies = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            tallies.put(status, new Tally());
+        }
+        return tallies;
+    }
+
+    private static final class Tally {
+        private final LongAdder orders = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+        private final LongAdder items = new LongAdder();
+
+        void add(long orderDelta, long centsDelta, long itemDelta) {
+            orders.add(orderDelta);
+            revenueCents.add(centsDelta);
+            items.add(itemDelta);
+        }
+
+        void add(Tally other) {
+            add(other.orders.sum(), other.revenueCents.sum(), other.items.sum());
+        }
+    }
+
+    private static final class State {
+        // The per-status maps are filled up front and never modified, only their adders are
+        private final Map<OrderStatus, Tally> totals = newTallies();
+        private final Map<Granularity, ConcurrentSkipListMap<Long, Map<OrderStatus, Tally>>> buckets =
+                new EnumMap<>(Granularity.class);
+
+        State() {
+            for (Granularity granularity : Granularity.values()) {
+                buckets.put(granularity, new ConcurrentSkipListMap<>());
+            }
+        }
+
+        void apply(OrderChangedEvent event) {
+            OrderDto order = event.order();
+            long cents = toCents(order.totalPrice());
+            long items = order.itemNames().size();
+
+            if (event.previousStatus() != null) {
+                record(order.createdAt(), event.previousStatus(), -1, -cents, -items);
+            }
+            if (!event.deleted()) {
+                record(order.createdAt(), order.status(), 1, cents, items);
+            }
+        }
+
+        void record(Instant createdAt, OrderStatus status, long orderDelta, long centsDelta, long itemDelta) {
+            totals.get(status).add(orderDelta, centsDelta, itemDelta);
+
+            Instant now = Instant.now();
+            for (Granularity granularity : Granularity.values()) {
+                Instant horizon = granularity.horizon(now);
+                if (createdAt.isBefore(horizon)) {
+                    continue;
+                }
+                ConcurrentSkipListMap<Long, Map<OrderStatus, Tally>> series = buckets.get(granularity);
+                long bucket = granularity.bucketOf(createdAt);
+                if (!series.containsKey(bucket)) {
+                    // Opening a new bucket is rare, so that is when expired ones are dropped
+                    series.headMap(horizon.getEpochSecond()).clear();
+                }
+                series.computeIfAbsent(bucket, b -> newTallies())
+                        .get(status).add(orderDelta, centsDelta, itemDelta);
+            }
+        }
+    }
+}
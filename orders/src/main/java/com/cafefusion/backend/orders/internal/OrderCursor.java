@@ -0,0 +1,43 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.exception.InvalidCursorException;
+import com.cafefusion.backend.orders.api.model.OrderDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Position of the last order on a page, in (createdAt DESC, id DESC) order.
+ * Clients only ever see it as an opaque, URL-safe token.
+ */
+record OrderCursor(Instant createdAt, Long id) {
+
+    static final Comparator<OrderCursor> NEWEST_FIRST =
+            Comparator.comparing(OrderCursor::createdAt).thenComparing(OrderCursor::id).reversed();
+
+    static OrderCursor of(OrderDto order) {
+        return new OrderCursor(order.createdAt(), order.orderId());
+    }
+
+    String encode() {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new InvalidCursorException(cursor);
+            }
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new OrderCursor(createdAt, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Flat order/item join row streamed by the export queries.
+ * The item columns are null for an order without items.
+ */
+public record OrderExportRow(
+        Long orderId,
+        Long userId,
+        Instant createdAt,
+        OrderStatus status,
+        BigDecimal totalPrice,
+        Long menuItemId,
+        String itemName,
+        BigDecimal itemPrice
+) {
+}
@@ -0,0 +1,12 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+
+/**
+ * Lightweight projection of an order's current status.
+ */
+public record OrderIdStatus(
+        Long orderId,
+        OrderStatus status
+) {
+}
@@ -0,0 +1,130 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.exception.IdempotencyKeyReuseException;
+import com.cafefusion.backend.orders.api.exception.IdempotentRequestInProgressException;
+import com.cafefusion.backend.orders.api.model.OrderDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of order requests sent with an Idempotency-Key,
+ * so a client retry replays the first result instead of placing a second order.
+ * <p>
+ * Entries are kept in insertion order, bounded in size and dropped once their TTL passes.
+ * A duplicate that arrives while the first request is still running waits for it, up to a timeout.
+ */
+@Component
+public class OrderIdempotencyStore {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+
+    // Guarded by 'this'. Insertion order == expiry order, because every entry gets the same TTL.
+    private final LinkedHashMap<String, Entry> entries;
+
+    public OrderIdempotencyStore(
+            @Value("${application.orders.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${application.orders.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${application.orders.idempotency.wait-timeout:PT30S}") Duration waitTimeout) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > OrderIdempotencyStore.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Runs the action once per (user, key). Later calls with the same key get the stored result.
+     *
+     * @param userId         The user the key belongs to; keys are never shared between users.
+     * @param idempotencyKey The client-supplied key.
+     * @param menuItemIds    The request payload, used to reject a key reused for a different order.
+     * @param action         Creates the order. Only invoked for the first request.
+     * @return The order created by the first request with this key.
+     */
+    public OrderDto execute(Long userId, String idempotencyKey, List<Long> menuItemIds, Supplier<OrderDto> action) {
+        String storeKey = userId + ":" + idempotencyKey;
+        CompletableFuture<OrderDto> result = new CompletableFuture<>();
+        Entry entry;
+        Entry existing;
+
+        synchronized (this) {
+            Instant now = Instant.now();
+            evictExpired(now);
+            existing = entries.get(storeKey);
+            entry = new Entry(List.copyOf(menuItemIds), result, now.plus(ttl));
+            if (existing == null) {
+                entries.put(storeKey, entry);
+            }
+        }
+
+        if (existing != null) {
+            if (!existing.menuItemIds().equals(menuItemIds)) {
+                throw new IdempotencyKeyReuseException(idempotencyKey);
+            }
+            return await(existing.result(), idempotencyKey);
+        }
+
+        try {
+            OrderDto order = action.get();
+            result.complete(order);
+            return order;
+        } catch (Throwable ex) {
+            // A failed attempt is not remembered, so the client can retry with the same key.
+            // Errors too: otherwise the entry would keep a future that never completes.
+            synchronized (this) {
+                // Only this attempt's entry; a newer one may have replaced it after eviction
+                entries.remove(storeKey, entry);
+            }
+            result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private void evictExpired(Instant now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt().isBefore(now)) {
+            iterator.remove();
+        }
+    }
+
+    private OrderDto await(CompletableFuture<OrderDto> result, String idempotencyKey) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new CompletionException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IdempotentRequestInProgressException(idempotencyKey);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException(idempotencyKey);
+        }
+    }
+
+    private record Entry(List<Long> menuItemIds, CompletableFuture<OrderDto> result, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.cafefusion.backend.orders.internal;
+
+public enum OrderIntakeMode {
+    DIRECT,                 // Every order is committed in its own transaction
+    GROUP_COMMIT            // Orders are queued and committed in micro-batches by a writer thread
+}
@@ -0,0 +1,217 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.exception.OrderIntakeOverloadedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group-commit intake for new orders (application.orders.intake.mode=group-commit).
+ * <p>
+ * Callers put an already validated order on a bounded queue and get a future back.
+ * A single writer thread drains the queue and commits up to max-batch-size orders per
+ * transaction, waiting at most max-batch-delay for a batch to fill up. A future only
+ * completes after the transaction holding its order has committed, so one commit
+ * (and one fsync) is shared by a whole batch during rushes. An order still queued after
+ * commit-timeout is taken back and failed; one the writer already holds may still commit,
+ * so its caller keeps waiting for the batch outcome. Orders still queued at shutdown are
+ * failed rather than left behind.
+ */
+@Component
+@Slf4j
+public class OrderIntakePipeline {
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final OrderIntakeMode mode;
+    private final int maxBatchSize;
+    private final Duration maxBatchDelay;
+    private final Duration commitTimeout;
+    private final BlockingQueue<PendingOrder> queue;
+
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderIntakePipeline(
+            OrderRepository orderRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${application.orders.intake.mode:direct}") OrderIntakeMode mode,
+            @Value("${application.orders.intake.max-batch-size:64}") int maxBatchSize,
+            @Value("${application.orders.intake.max-batch-delay:5ms}") Duration maxBatchDelay,
+            @Value("${application.orders.intake.queue-capacity:1024}") int queueCapacity,
+            @Value("${application.orders.intake.commit-timeout:PT10S}") Duration commitTimeout) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.mode = mode;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelay = maxBatchDelay;
+        this.commitTimeout = commitTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.batchSizes = DistributionSummary.builder("orders.intake.batch.size")
+                .description("Number of orders committed together in one transaction")
+                .register(meterRegistry);
+        Gauge.builder("orders.intake.queue.depth", queue, BlockingQueue::size)
+                .description("Orders waiting for the next group commit")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return mode == OrderIntakeMode.GROUP_COMMIT;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("order-intake-writer")
+                .daemon(true)
+                .start(this::runWriter);
+        log.info("Order intake running in group-commit mode (batch size {}, max delay {})", maxBatchSize, maxBatchDelay);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // The writer drains whatever is still queued before it exits
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Whatever is left (the writer timed out, or a submit raced with shutdown) will never be committed
+        List<PendingOrder> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        if (!leftovers.isEmpty()) {
+            log.warn("Order intake stopped with {} orders still queued, failing them", leftovers.size());
+            leftovers.forEach(pending -> pending.result().completeExceptionally(new OrderIntakeOverloadedException()));
+        }
+    }
+
+    /**
+     * Queues an order for the next group commit.
+     *
+     * @param order A fully built, validated order (including its items).
+     * @return A future that completes with the saved order once its batch has committed, or
+     *         exceptionally with OrderIntakeOverloadedException if no batch picked the order up
+     *         within commit-timeout. A failure therefore always means the order was not saved.
+     * @throws OrderIntakeOverloadedException if the queue is full or the pipeline is shutting down.
+     */
+    public CompletableFuture<Order> submit(Order order) {
+        PendingOrder pending = new PendingOrder(order, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            throw new OrderIntakeOverloadedException();
+        }
+        // stop() may have run between the check and the offer; take the order back if nobody picked it up
+        if (!running && queue.remove(pending)) {
+            throw new OrderIntakeOverloadedException();
+        }
+        CompletableFuture.delayedExecutor(commitTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .execute(() -> expire(pending));
+        return pending.result();
+    }
+
+    /**
+     * Gives up on an order only if it is provably uncommitted, i.e. still in the queue. Once the
+     * writer has taken it, the batch may commit, and failing the caller then would let a retry
+     * with the same Idempotency-Key place the order twice.
+     */
+    private void expire(PendingOrder pending) {
+        if (queue.remove(pending)) {
+            pending.result().completeExceptionally(new OrderIntakeOverloadedException());
+        }
+    }
+
+    private void runWriter() {
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Keep filling the batch until it is full or the delay budget is used up
+                long deadline = System.nanoTime() + maxBatchDelay.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingOrder next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                commit(batch);
+                break;
+            } catch (Throwable e) {
+                // Errors included: the writer must outlive a bad batch, or every later caller would hang
+                log.error("Order intake writer failed, failing {} queued orders", batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingOrder> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSizes.record(batch.size());
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    orderRepository.saveAll(batch.stream().map(PendingOrder::order).toList()));
+            batch.forEach(pending -> pending.result().complete(pending.order()));
+        } catch (RuntimeException ex) {
+            // Don't let one bad order fail the whole batch: retry each order in its own transaction
+            log.warn("Group commit of {} orders failed, retrying them one by one", batch.size(), ex);
+            batch.forEach(this::commitSingle);
+        }
+    }
+
+    private void commitSingle(PendingOrder pending) {
+        Order order = pending.order();
+        // The rolled back batch already drew ids from the sequence and set versions; start the retry from scratch
+        order.setId(null);
+        order.setVersion(null);
+        order.getItems().forEach(item -> item.setId(null));
+        try {
+            Order saved = transactionTemplate.execute(status -> orderRepository.save(order));
+            pending.result().complete(saved);
+        } catch (Throwable ex) {
+            pending.result().completeExceptionally(ex);
+        }
+    }
+
+    private record PendingOrder(Order order, CompletableFuture<Order> result) {
+    }
+}
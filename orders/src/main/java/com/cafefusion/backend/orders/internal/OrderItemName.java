@@ -0,0 +1,10 @@
+package com.cafefusion.backend.orders.internal;
+
+/**
+ * Lightweight projection of an order line, used to batch-load item names for a page of orders.
+ */
+public record OrderItemName(
+        Long orderId,
+        String name
+) {
+}
@@ -0,0 +1,20 @@
+package com.cafefusion.backend.orders.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    /**
+     * Loads the item names of many orders in one query,
+     * instead of initializing each order's lazy 'items' collection (N+1).
+     */
+    @Query("SELECT new com.cafefusion.backend.orders.internal.OrderItemName(i.order.id, i.name) " +
+            "FROM OrderItem i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<OrderItemName> findNamesByOrderIds(Collection<Long> orderIds);
+}
@@ -1,13 +1,23 @@
 package com.cafefusion.backend.orders.internal;
 
 import com.cafefusion.backend.orders.api.model.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -18,15 +28,136 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+    /**
+     * First page of a user's history, newest first.
+     * Served by the (user_id, created_at DESC, id DESC) index.
+     */
+    @Query("SELECT o FROM Order o WHERE o.userId = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findHistoryPage(Long userId, Limit limit);
+
+    /**
+     * Next page of a user's history: seeks past the last (createdAt, id) seen instead of using OFFSET.
+     */
+    @Query("SELECT o FROM Order o WHERE o.userId = :userId AND (o.createdAt, o.id) < (:createdAt, :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findHistoryPageAfter(Long userId, Instant createdAt, Long id, Limit limit);
+
     // --- ADMIN ROLE ---
 
     Page<Order> findByStatusIn(List<OrderStatus> statuses, Pageable pageable);
 
+    /**
+     * First page of all orders, newest first. Served by the (created_at DESC, id DESC) index.
+     */
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPage(Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE (o.createdAt, o.id) < (:createdAt, :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageAfter(Instant createdAt, Long id, Limit limit);
+
+    /**
+     * First page of orders in the given statuses, newest first.
+     * Served by the (status, created_at DESC, id DESC) index.
+     */
+    @Query("SELECT o FROM Order o WHERE o.status IN :statuses ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByStatusIn(List<OrderStatus> statuses, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.status IN :statuses AND (o.createdAt, o.id) < (:createdAt, :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByStatusInAfter(List<OrderStatus> statuses, Instant createdAt, Long id, Limit limit);
+
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
 
-    long countByStatus(OrderStatus status);
+    /**
+     * Orders created in [start, end) joined with their items, in (createdAt, id) order so the rows of
+     * one order are adjacent. Read through a server-side cursor, 'fetch size' rows at a time;
+     * must be consumed inside a transaction and closed.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new com.cafefusion.backend.orders.internal.OrderExportRow(" +
+            "o.id, o.userId, o.createdAt, o.status, o.totalPrice, i.menuItemId, i.name, i.price) " +
+            "FROM Order o LEFT JOIN o.items i WHERE o.createdAt >= :start AND o.createdAt < :end " +
+            "ORDER BY o.createdAt, o.id, i.id")
+    Stream<OrderExportRow> streamForExport(Instant start, Instant end);
+
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(Long id);
 
-    long countByStatusAndCreatedAtBetween(OrderStatus status, Instant start, Instant end);
+    @Query("SELECT new com.cafefusion.backend.orders.internal.OrderIdStatus(o.id, o.status) " +
+            "FROM Order o WHERE o.id IN :ids")
+    List<OrderIdStatus> findStatusesByIds(Collection<Long> ids);
 
+    /**
+     * Compare-and-set status change in one statement: moves each of the orders to 'newStatus' only if
+     * it currently is in one of 'fromStatuses', and bumps its version. The row locks taken by the
+     * subquery (in id order, so concurrent bulk changes cannot deadlock) make concurrent transitions
+     * of the same order serialize; the loser re-reads the winner's status and no longer matches.
+     *
+     * @return One [id, user_id, created_at, total_price, previous status] row per changed order.
+     *         Orders that do not exist or are not in an allowed status have no row.
+     */
+    @Query(value = "UPDATE orders.orders o SET status = :newStatus, version = o.version + 1 " +
+            "FROM (SELECT id, status FROM orders.orders WHERE id IN (:ids) ORDER BY id FOR UPDATE) prev " +
+            "WHERE o.id = prev.id AND prev.status IN (:fromStatuses) " +
+            "RETURNING o.id, o.user_id, o.created_at, o.total_price, prev.status", nativeQuery = true)
+    List<Object[]> transitionStatus(Collection<Long> ids, Collection<String> fromStatuses, String newStatus);
+
+    /**
+     * Order count, revenue and item count per status, in a single pass over the table.
+     */
+    @Query("SELECT new com.cafefusion.backend.orders.internal.OrderStatusAggregate(" +
+            "o.status, COUNT(o), SUM(o.totalPrice), SUM(o.itemCount)) " +
+            "FROM Order o GROUP BY o.status")
+    List<OrderStatusAggregate> aggregateByStatus();
+
+    /**
+     * Same aggregate restricted to a creation window. Served by the (created_at, status, total_price, item_count)
+     * index, which covers every column it reads, so a window is an index-only range scan.
+     */
+    @Query("SELECT new com.cafefusion.backend.orders.internal.OrderStatusAggregate(" +
+            "o.status, COUNT(o), SUM(o.totalPrice), SUM(o.itemCount)) " +
+            "FROM Order o WHERE o.createdAt BETWEEN :start AND :end GROUP BY o.status")
+    List<OrderStatusAggregate> aggregateByStatusBetween(Instant start, Instant end);
+
+    /**
+     * Per-status aggregates for every UTC time bucket since 'since'.
+     * Each row is [bucket start in epoch seconds, status, order count, revenue, item count].
+     *
+     * @param unit A date_trunc unit: 'minute', 'hour' or 'day'.
+     */
+    @Query(value = "SELECT CAST(EXTRACT(EPOCH FROM date_trunc(:unit, o.created_at AT TIME ZONE 'UTC')) AS bigint), " +
+            "o.status, COUNT(*), SUM(o.total_price), SUM(o.item_count) " +
+            "FROM orders.orders o WHERE o.created_at >= :since GROUP BY 1, 2", nativeQuery = true)
+    List<Object[]> aggregateByBucketAndStatus(String unit, Instant since);
+
+    // --- SALES ANALYTICS (cancelled orders are not sales) ---
+
+    /**
+     * Non-cancelled orders created in [start, end), per UTC hour or day.
+     * An index-only range scan over (created_at, status, total_price, item_count), like the status aggregate.
+     *
+     * @param unit A date_trunc unit: 'hour' or 'day'.
+     * @return [bucket start as epoch seconds, order count, revenue, item count] rows.
+     */
+    @Query(value = "SELECT CAST(EXTRACT(EPOCH FROM date_trunc(:unit, o.created_at AT TIME ZONE 'UTC')) AS bigint), " +
+            "COUNT(*), SUM(o.total_price), SUM(o.item_count) " +
+            "FROM orders.orders o WHERE o.created_at >= :start AND o.created_at < :end AND o.status <> 'CANCELLED' " +
+            "GROUP BY 1", nativeQuery = true)
+    List<Object[]> salesByBucket(String unit, Instant start, Instant end);
+
+    /**
+     * Units sold and revenue per menu item over non-cancelled orders created in [start, end).
+     * The name is the one on the item's most recent order, so a renamed item shows its new name.
+     *
+     * @return [menu item id, name, units sold, revenue, last sold at as epoch microseconds] rows,
+     *         see {@link MenuItemSalesAggregate#of}.
+     */
+    @Query(value = "SELECT i.menu_item_id, (array_agg(i.name ORDER BY o.created_at DESC, o.id DESC))[1], " +
+            "COUNT(*), SUM(i.price), CAST(EXTRACT(EPOCH FROM MAX(o.created_at)) * 1000000 AS bigint) " +
+            "FROM orders.order_items i JOIN orders.orders o ON o.id = i.order_id " +
+            "WHERE o.created_at >= :start AND o.created_at < :end AND o.status <> 'CANCELLED' " +
+            "GROUP BY i.menu_item_id", nativeQuery = true)
+    List<Object[]> salesByMenuItem(Instant start, Instant end);
 
 }
@@ -0,0 +1,16 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of the GROUP BY status aggregate over orders.
+ */
+public record OrderStatusAggregate(
+        OrderStatus status,
+        Long orderCount,
+        BigDecimal revenue,
+        Long itemCount
+) {
+}
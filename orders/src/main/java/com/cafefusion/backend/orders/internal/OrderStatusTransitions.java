@@ -0,0 +1,48 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.cafefusion.backend.orders.api.model.OrderStatus.*;
+
+/**
+ * The order lifecycle: which status may follow which.
+ * The status-transition UPDATE derives its allowed predecessors from this table.
+ */
+final class OrderStatusTransitions {
+
+    private static final Map<OrderStatus, Set<OrderStatus>> NEXT = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> PREVIOUS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        NEXT.put(PENDING_APPROVAL, EnumSet.of(CONFIRMED, CANCELLED));
+        NEXT.put(CONFIRMED, EnumSet.of(IN_PROGRESS, CANCELLED));
+        NEXT.put(IN_PROGRESS, EnumSet.of(READY_FOR_PICKUP));
+        NEXT.put(READY_FOR_PICKUP, EnumSet.of(COMPLETED));
+        NEXT.put(COMPLETED, EnumSet.noneOf(OrderStatus.class));
+        NEXT.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+
+        for (OrderStatus status : OrderStatus.values()) {
+            PREVIOUS.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        NEXT.forEach((from, targets) -> targets.forEach(to -> PREVIOUS.get(to).add(from)));
+    }
+
+    private OrderStatusTransitions() {
+    }
+
+    static boolean isAllowed(OrderStatus from, OrderStatus to) {
+        return NEXT.get(from).contains(to);
+    }
+
+    /**
+     * The statuses an order may be in to move to 'to'. Empty for statuses nothing leads to.
+     */
+    static Set<OrderStatus> predecessorsOf(OrderStatus to) {
+        return EnumSet.copyOf(PREVIOUS.get(to));
+    }
+}
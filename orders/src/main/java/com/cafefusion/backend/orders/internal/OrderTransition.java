@@ -0,0 +1,42 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * A row returned by the status-transition UPDATE: the order after the change,
+ * plus the status it had just before.
+ */
+public record OrderTransition(
+        Long orderId,
+        Long userId,
+        Instant createdAt,
+        BigDecimal totalPrice,
+        OrderStatus previousStatus
+) {
+
+    /**
+     * Maps a native [id, user_id, created_at, total_price, previous status] row.
+     */
+    static OrderTransition fromRow(Object[] row) {
+        return new OrderTransition(
+                ((Number) row[0]).longValue(),
+                ((Number) row[1]).longValue(),
+                toInstant(row[2]),
+                (BigDecimal) row[3],
+                OrderStatus.valueOf((String) row[4]));
+    }
+
+    private static Instant toInstant(Object value) {
+        return switch (value) {
+            case Instant instant -> instant;
+            case OffsetDateTime offsetDateTime -> offsetDateTime.toInstant();
+            case Timestamp timestamp -> timestamp.toInstant();
+            default -> throw new IllegalArgumentException("Unexpected timestamp type: " + value.getClass());
+        };
+    }
+}
@@ -3,44 +3,88 @@ package com.cafefusion.backend.orders.internal;
 import com.cafefusion.backend.menu.api.MenuApi;
 import com.cafefusion.backend.menu.api.model.MenuItemDto;
 import com.cafefusion.backend.orders.api.OrdersApi;
+import com.cafefusion.backend.orders.api.event.OrderChangedEvent;
+import com.cafefusion.backend.orders.api.exception.InvalidAnalyticsRangeException;
 import com.cafefusion.backend.orders.api.exception.InvalidStatusTransitionException;
 import com.cafefusion.backend.orders.api.exception.OrderNotFoundException;
+import com.cafefusion.backend.orders.api.model.AnalyticsGranularity;
+import com.cafefusion.backend.orders.api.model.BulkStatusUpdateRequest;
 import com.cafefusion.backend.orders.api.model.OrderDto;
 import com.cafefusion.backend.orders.api.model.CreateOrderRequest;
+import com.cafefusion.backend.orders.api.model.CursorPage;
+import com.cafefusion.backend.orders.api.model.OrderExportRecord;
 import com.cafefusion.backend.orders.api.model.OrderStatus;
+import com.cafefusion.backend.orders.api.model.OrderStatusStatistics;
+import com.cafefusion.backend.orders.api.model.SalesAnalytics;
+import com.cafefusion.backend.orders.api.model.StatusUpdateResult;
 import com.cafefusion.backend.users.internal.User;
 
 import com.cafefusion.backend.orders.api.model.UpdateOrderRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-
-import static com.cafefusion.backend.orders.api.model.OrderStatus.*;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j  // To add a logger, so we can see output
 public class OrdersServiceImpl implements OrdersApi {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_TOP_ITEMS = 50;
+
+    // Keeps an hourly series over a long range from turning into a huge response
+    private static final int MAX_ANALYTICS_BUCKETS = 10_000;
+
     private final MenuApi menuApi;
 
     private final OrderRepository orderRepository;
 
+    private final OrderItemRepository orderItemRepository;
+
+    private final ArchivedOrderRepository archivedOrderRepository;
+
+    private final OrderIdempotencyStore idempotencyStore;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OrderIntakePipeline intakePipeline;
+
+    private final OrderCounters orderCounters;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Not annotated with @Transactional: the menu lookup runs before the write,
+     * and only the insert itself is wrapped in a (short) transaction. In group-commit
+     * mode the insert is handed to the intake pipeline instead.
+     */
     @Override
-    @Transactional
     public OrderDto createOrder(CreateOrderRequest request) {
 
-        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        Long currentUserId = currentUser.getId();
+        Long currentUserId = getCurrentUserId();
 
         log.info("Creating new order for user ID {}: {}", currentUserId, request.menuItemIds());
 
@@ -49,33 +93,71 @@ public class OrdersServiceImpl implements OrdersApi {
 
         Order newOrder = new Order(currentUserId, Instant.now(), BigDecimal.ZERO);
 
+        // Resolve the whole basket in one round trip; unknown IDs are all reported together
+        Map<Long, MenuItemDto> menuItems = menuApi.getMenuItemsByIds(request.menuItemIds());
+
         for (Long itemId : request.menuItemIds()) {
-            MenuItemDto item = menuApi.getMenuItemById(itemId)
-                    .orElseThrow(() -> new RuntimeException("Item not found: " + itemId));
+            MenuItemDto item = menuItems.get(itemId);
             totalPrice = totalPrice.add(item.price());
             orderItems.add(new OrderItem(newOrder, item.id(), item.name(), item.price()));
         }
 
         newOrder.setTotalPrice(totalPrice);
         newOrder.setItems(orderItems);
+        newOrder.setItemCount(orderItems.size());
 
-        Order savedOrder = orderRepository.save(newOrder);
+        Order savedOrder = intakePipeline.isEnabled()
+                ? awaitGroupCommit(intakePipeline.submit(newOrder))
+                : transactionTemplate.execute(status -> orderRepository.save(newOrder));
         log.info("Successfully saved new order {} for user {}", savedOrder.getId(), currentUserId);
 
-        return toDto(savedOrder);
+        OrderDto created = toDto(savedOrder);
+        eventPublisher.publishEvent(OrderChangedEvent.created(created));
+        return created;
+    }
+
+    @Override
+    public OrderDto createOrder(CreateOrderRequest request, String idempotencyKey) {
+        Long currentUserId = getCurrentUserId();
+
+        return idempotencyStore.execute(currentUserId, idempotencyKey, request.menuItemIds(), () -> {
+            log.info("Idempotency-Key {} seen for the first time for user {}", idempotencyKey, currentUserId);
+            return createOrder(request);
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<OrderDto> getMyOrderHistory() {
-        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        Long currentUserId = currentUser.getId();
+        Long currentUserId = getCurrentUserId();
 
         log.info("Fetching order history for user ID: {}", currentUserId);
 
-        return orderRepository.findByUserIdOrderByCreatedAtDesc(currentUserId).stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        // Finished orders move to the archive over time; they are still part of the customer's history
+        return tiersToDtos(mergeTiers(orderRepository.findByUserIdOrderByCreatedAtDesc(currentUserId),
+                archivedOrderRepository.findByUserIdOrderByCreatedAtDescIdDesc(currentUserId),
+                Limit.unlimited()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto> getMyOrderHistory(String cursor, int limit) {
+        Long currentUserId = getCurrentUserId();
+
+        log.info("Fetching order history page for user ID: {}", currentUserId);
+
+        // Both tiers are sought with the same (createdAt, id) key and merged, so the cursor runs on into
+        // the archive. Archived orders are not simply the oldest: unfinished orders stay in the hot table.
+        return seek(cursor, limit,
+                fetchLimit -> mergeTiers(
+                        orderRepository.findHistoryPage(currentUserId, fetchLimit),
+                        archivedOrderRepository.findHistoryPage(currentUserId, fetchLimit),
+                        fetchLimit),
+                (after, fetchLimit) -> mergeTiers(
+                        orderRepository.findHistoryPageAfter(currentUserId, after.createdAt(), after.id(), fetchLimit),
+                        archivedOrderRepository.findHistoryPageAfter(currentUserId, after.createdAt(), after.id(), fetchLimit),
+                        fetchLimit),
+                this::tiersToDtos);
     }
 
     @Override
@@ -83,7 +165,8 @@ public class OrdersServiceImpl implements OrdersApi {
     public Optional<OrderDto> getOrderById(Long orderId) {
         log.info("Fetching order by ID: {}", orderId);
         return orderRepository.findById(orderId)
-                .map(this::toDto);
+                .map(this::toDto)
+                .or(() -> getArchivedOrderById(orderId));
     }
 
     @Override
@@ -94,51 +177,196 @@ public class OrdersServiceImpl implements OrdersApi {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(request.newStatus());
 
-        return toDto(order);
+        OrderDto updated = toDto(order);
+        if (previousStatus != updated.status()) {
+            eventPublisher.publishEvent(OrderChangedEvent.statusChanged(updated, previousStatus));
+        }
+        return updated;
     }
 
     @Override
     @Transactional
     public void deleteOrder(Long orderId) {
         log.info("Deleting order by ID: {}", orderId);
-        if(!orderRepository.existsById(orderId)) {
-            throw new RuntimeException("Order not found: " + orderId);
-        }
-        orderRepository.deleteById(orderId);
+        // Loaded rather than just checked, so listeners learn what was removed
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+
+        OrderDto deleted = toDto(order);
+        orderRepository.delete(order);
+        eventPublisher.publishEvent(OrderChangedEvent.deleted(deleted));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDto> getOrders(Pageable pageable) {
-        return orderRepository.findAll(pageable)
-                .map(this::toDto);
+        return toDtoPage(orderRepository.findAll(pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDto> getOrdersByStatuses(List<OrderStatus> statuses, Pageable pageable) {
-        return orderRepository.findByStatusIn(statuses, pageable)
-                .map(this::toDto);
+        return toDtoPage(orderRepository.findByStatusIn(statuses, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Map<OrderStatus, Long> getOrderStatistics(Instant start, Instant end) {
-        Map<OrderStatus, Long> stats = new EnumMap<>(OrderStatus.class);
+    public CursorPage<OrderDto> getOrders(String cursor, int limit) {
+        return seek(cursor, limit,
+                orderRepository::findPage,
+                (after, fetchLimit) -> orderRepository.findPageAfter(after.createdAt(), after.id(), fetchLimit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto> getOrdersByStatuses(List<OrderStatus> statuses, String cursor, int limit) {
+        return seek(cursor, limit,
+                fetchLimit -> orderRepository.findPageByStatusIn(statuses, fetchLimit),
+                (after, fetchLimit) -> orderRepository.findPageByStatusInAfter(
+                        statuses, after.createdAt(), after.id(), fetchLimit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto> getArchivedOrders(String cursor, int limit) {
+        return seek(cursor, limit,
+                archivedOrderRepository::findPage,
+                (after, fetchLimit) -> archivedOrderRepository.findPageAfter(after.createdAt(), after.id(), fetchLimit),
+                this::archivedToDtos);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrderDto> getArchivedOrderById(Long orderId) {
+        return archivedOrderRepository.findById(orderId)
+                .map(order -> archivedToDtos(List.of(order)).get(0));
+    }
+
+    /**
+     * Streams both tiers through server-side cursors and hands out one order at a time,
+     * so memory use does not depend on the size of the range.
+     * REPEATABLE_READ gives both statements one snapshot: an archiver batch committing in between
+     * would otherwise make its orders drop out of (or show up twice in) the export.
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void exportOrders(Instant start, Instant end, Consumer<OrderExportRecord> consumer) {
+        try (Stream<OrderExportRow> rows = archivedOrderRepository.streamForExport(start, end)) {
+            groupByOrder(rows, consumer);
+        }
+        try (Stream<OrderExportRow> rows = orderRepository.streamForExport(start, end)) {
+            groupByOrder(rows, consumer);
+        }
+    }
+
+    /**
+     * Not annotated with @Transactional, so a window served from the in-memory counters
+     * never borrows a connection. Anything else runs one GROUP BY pass in the DB.
+     */
+    @Override
+    public Map<OrderStatus, OrderStatusStatistics> getOrderStatistics(Instant start, Instant end) {
+        Optional<Map<OrderStatus, OrderStatusStatistics>> live = orderCounters.getStatistics(start, end);
+        if (live.isPresent()) {
+            return live.get();
+        }
+
+        // Finished orders move to the archive over time; they still count
+        List<OrderStatusAggregate> aggregates = new ArrayList<>();
+        if (start != null && end != null) {
+            aggregates.addAll(orderRepository.aggregateByStatusBetween(start, end));
+            aggregates.addAll(archivedOrderRepository.aggregateByStatusBetween(start, end));
+        } else {
+            aggregates.addAll(orderRepository.aggregateByStatus());
+            aggregates.addAll(archivedOrderRepository.aggregateByStatus());
+        }
+
+        Map<OrderStatus, OrderStatusStatistics> stats = new EnumMap<>(OrderStatus.class);
         for (OrderStatus status : OrderStatus.values()) {
-            long count;
-            if (start != null && end != null) {
-                count = orderRepository.countByStatusAndCreatedAtBetween(status, start, end);
-            } else {
-                count = orderRepository.countByStatus(status);
-            }
-            stats.put(status, count);
+            stats.put(status, OrderStatusStatistics.EMPTY);
+        }
+        for (OrderStatusAggregate aggregate : aggregates) {
+            OrderStatusStatistics current = stats.get(aggregate.status());
+            stats.put(aggregate.status(), new OrderStatusStatistics(
+                    current.orderCount() + aggregate.orderCount(),
+                    current.revenue().add(aggregate.revenue()),
+                    current.itemCount() + aggregate.itemCount()));
         }
         return stats;
     }
 
+    /**
+     * Two GROUP BY queries per tier (one per time bucket, one per menu item), merged here.
+     * No order or item entity is loaded.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SalesAnalytics getSalesAnalytics(Instant start, Instant end, AnalyticsGranularity granularity, int top) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new InvalidAnalyticsRangeException("'start' must be before 'end'");
+        }
+        ChronoUnit unit = granularity == AnalyticsGranularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        Instant firstBucket = start.truncatedTo(unit);
+        if (unit.between(firstBucket, end) >= MAX_ANALYTICS_BUCKETS) {
+            throw new InvalidAnalyticsRangeException(
+                    "Range has too many " + granularity + " buckets, use a shorter range or DAY");
+        }
+        String sqlUnit = granularity.name().toLowerCase(Locale.ROOT);
+
+        Map<Long, SalesAnalytics.RevenueBucket> bucketsByStart = new HashMap<>();
+        long itemCount = 0;
+        List<Object[]> bucketRows = new ArrayList<>(orderRepository.salesByBucket(sqlUnit, start, end));
+        bucketRows.addAll(archivedOrderRepository.salesByBucket(sqlUnit, start, end));
+        for (Object[] row : bucketRows) {
+            long epochSecond = ((Number) row[0]).longValue();
+            bucketsByStart.merge(epochSecond,
+                    new SalesAnalytics.RevenueBucket(Instant.ofEpochSecond(epochSecond), ((Number) row[1]).longValue(), (BigDecimal) row[2]),
+                    (a, b) -> new SalesAnalytics.RevenueBucket(a.start(), a.orderCount() + b.orderCount(), a.revenue().add(b.revenue())));
+            itemCount += ((Number) row[3]).longValue();
+        }
+
+        // Dense series: buckets without sales are reported as zero rather than left out
+        List<SalesAnalytics.RevenueBucket> series = new ArrayList<>();
+        long orderCount = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (Instant bucket = firstBucket; bucket.isBefore(end); bucket = bucket.plus(1, unit)) {
+            SalesAnalytics.RevenueBucket sales = bucketsByStart.getOrDefault(bucket.getEpochSecond(),
+                    new SalesAnalytics.RevenueBucket(bucket, 0, BigDecimal.ZERO));
+            series.add(sales);
+            orderCount += sales.orderCount();
+            revenue = revenue.add(sales.revenue());
+        }
+
+        // Each tier reports an item's latest name; across tiers the later sale wins
+        Map<Long, MenuItemSalesAggregate> itemsById = new LinkedHashMap<>();
+        List<Object[]> itemRows = new ArrayList<>(orderRepository.salesByMenuItem(start, end));
+        itemRows.addAll(archivedOrderRepository.salesByMenuItem(start, end));
+        for (Object[] row : itemRows) {
+            MenuItemSalesAggregate sales = MenuItemSalesAggregate.of(row);
+            itemsById.merge(sales.menuItemId(), sales, MenuItemSalesAggregate::merge);
+        }
+        List<SalesAnalytics.MenuItemSales> items = itemsById.values().stream()
+                .map(row -> new SalesAnalytics.MenuItemSales(row.menuItemId(), row.name(), row.quantity(), row.revenue()))
+                .toList();
+        int topCount = Math.clamp(top, 1, MAX_TOP_ITEMS);
+        Comparator<SalesAnalytics.MenuItemSales> byQuantity = Comparator.comparingLong(SalesAnalytics.MenuItemSales::quantity);
+        Comparator<SalesAnalytics.MenuItemSales> byRevenue = Comparator.comparing(SalesAnalytics.MenuItemSales::revenue);
+
+        return new SalesAnalytics(
+                start,
+                end,
+                granularity,
+                orderCount,
+                revenue,
+                orderCount == 0 ? BigDecimal.ZERO : revenue.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP),
+                orderCount == 0 ? 0 : (double) itemCount / orderCount,
+                series,
+                items.stream().sorted(byQuantity.thenComparing(byRevenue).reversed()).limit(topCount).toList(),
+                items.stream().sorted(byRevenue.thenComparing(byQuantity).reversed()).limit(topCount).toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDto> getKitchenOrders(Pageable pageable) {
@@ -147,35 +375,269 @@ public class OrdersServiceImpl implements OrdersApi {
                 OrderStatus.READY_FOR_PICKUP
         );
 
-        return orderRepository.findByStatusIn(kitchenStatuses, pageable)
-                .map(this::toDto);
+        return toDtoPage(orderRepository.findByStatusIn(kitchenStatuses, pageable));
     }
 
     @Override
     @Transactional
     public OrderDto updateStatusValidated(Long orderId, UpdateOrderRequest request) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException(orderId));
+        OrderStatus newStatus = request.newStatus();
+
+        List<OrderDto> updated = transition(List.of(orderId), newStatus);
+        if (updated.isEmpty()) {
+            // Nothing matched: tell a missing order apart from one in a status that cannot move there
+            OrderStatus current = orderRepository.findStatusById(orderId)
+                    .orElseThrow(() -> new OrderNotFoundException(orderId));
+            throw new InvalidStatusTransitionException(current, newStatus);
+        }
+        return updated.get(0);
+    }
+
+    @Override
+    @Transactional
+    public List<StatusUpdateResult> bulkUpdateStatusValidated(BulkStatusUpdateRequest request) {
+        OrderStatus newStatus = request.newStatus();
+        Set<Long> orderIds = new LinkedHashSet<>(request.orderIds());
+
+        log.info("Moving {} orders to status {}", orderIds.size(), newStatus);
+
+        Map<Long, OrderDto> updated = transition(orderIds, newStatus).stream()
+                .collect(Collectors.toMap(OrderDto::orderId, order -> order));
+
+        // Only the orders that did not move need a second look, to explain why
+        List<Long> failedIds = orderIds.stream().filter(id -> !updated.containsKey(id)).toList();
+        Map<Long, OrderStatus> currentStatuses = failedIds.isEmpty()
+                ? Map.of()
+                : orderRepository.findStatusesByIds(failedIds).stream()
+                        .collect(Collectors.toMap(OrderIdStatus::orderId, OrderIdStatus::status));
+
+        return orderIds.stream()
+                .map(id -> {
+                    if (updated.containsKey(id)) {
+                        return StatusUpdateResult.updated(updated.get(id));
+                    }
+                    OrderStatus current = currentStatuses.get(id);
+                    return StatusUpdateResult.failed(id, current == null
+                            ? new OrderNotFoundException(id).getMessage()
+                            : new InvalidStatusTransitionException(current, newStatus).getMessage());
+                })
+                .toList();
+    }
 
-        if (!isValidTransition(order.getStatus(), request.newStatus())) {
-            throw new InvalidStatusTransitionException(order.getStatus(), request.newStatus());
+    /**
+     * Moves the orders to 'newStatus' with one compare-and-set UPDATE, instead of loading each order,
+     * checking the transition in Java and flushing. Allowed predecessors come from the transition table.
+     *
+     * @return The orders that were changed; the others are missing or in a status that cannot move there.
+     */
+    private List<OrderDto> transition(Collection<Long> orderIds, OrderStatus newStatus) {
+        Set<String> allowedFrom = OrderStatusTransitions.predecessorsOf(newStatus).stream()
+                .map(Enum::name)
+                .collect(Collectors.toSet());
+        if (allowedFrom.isEmpty()) {
+            return List.of();
         }
 
-        order.setStatus(request.newStatus());
+        List<OrderTransition> transitions = orderRepository.transitionStatus(orderIds, allowedFrom, newStatus.name())
+                .stream()
+                .map(OrderTransition::fromRow)
+                .toList();
+        if (transitions.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<String>> itemNames = loadItemNames(transitions.stream().map(OrderTransition::orderId).toList());
+        List<OrderDto> updated = new ArrayList<>(transitions.size());
+        for (OrderTransition transition : transitions) {
+            OrderDto order = new OrderDto(
+                    transition.orderId(),
+                    transition.userId(),
+                    transition.createdAt(),
+                    newStatus,
+                    transition.totalPrice(),
+                    itemNames.getOrDefault(transition.orderId(), List.of())
+            );
+            eventPublisher.publishEvent(OrderChangedEvent.statusChanged(order, transition.previousStatus()));
+            updated.add(order);
+        }
+        return updated;
+    }
+
+    /**
+     * Blocks until the batch holding our order is durable, rethrowing the original failure.
+     */
+    private Order awaitGroupCommit(CompletableFuture<Order> pendingOrder) {
+        try {
+            return pendingOrder.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private Long getCurrentUserId() {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return currentUser.getId();
+    }
+
+    /**
+     * Keyset pagination in (createdAt DESC, id DESC) order: seeks past the cursor instead of using OFFSET.
+     * One extra row is fetched to know whether there is a next page, so no count query is needed.
+     */
+    private CursorPage<OrderDto> seek(String cursor, int limit,
+                                      Function<Limit, List<Order>> firstPage,
+                                      BiFunction<OrderCursor, Limit, List<Order>> pageAfter) {
+        return seek(cursor, limit, firstPage, pageAfter, this::toDtos);
+    }
+
+    private <T> CursorPage<OrderDto> seek(String cursor, int limit,
+                                          Function<Limit, List<T>> firstPage,
+                                          BiFunction<OrderCursor, Limit, List<T>> pageAfter,
+                                          Function<List<T>, List<OrderDto>> mapper) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<T> rows = (cursor == null || cursor.isBlank())
+                ? firstPage.apply(fetchLimit)
+                : pageAfter.apply(OrderCursor.decode(cursor), fetchLimit);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<OrderDto> page = mapper.apply(hasNext ? rows.subList(0, pageSize) : rows);
+        String nextCursor = hasNext ? OrderCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        return new CursorPage<>(page, nextCursor, hasNext);
+    }
+
+    /**
+     * Two-phase page load: the page query only reads order rows, then the items of
+     * exactly those orders are fetched in one batch. A join fetch would make Hibernate
+     * paginate in memory, and mapping each order's lazy 'items' would be an N+1.
+     */
+    private Page<OrderDto> toDtoPage(Page<Order> orders) {
+        return new PageImpl<>(toDtos(orders.getContent()), orders.getPageable(), orders.getTotalElements());
+    }
+
+    /**
+     * Maps a list of orders with one batched query for all of their item names,
+     * instead of touching every order's lazy 'items' collection.
+     */
+    private List<OrderDto> toDtos(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        List<Long> orderIds = orders.stream().map(Order::getId).toList();
+        Map<Long, List<String>> itemNamesByOrder = loadItemNames(orderIds);
+
+        return orders.stream()
+                .map(order -> toDto(order, itemNamesByOrder.getOrDefault(order.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
 
-        return toDto(order);
+    /**
+     * Merges rows from both tiers into one (createdAt DESC, id DESC) list of at most 'limit'
+     * {@link Order}s and {@link ArchivedOrder}s. The tiers are read one after the other, so an order the
+     * archiver moves in between can show up in both (hot is read first, so it is never in neither);
+     * the archived copy is dropped then.
+     */
+    private static List<Object> mergeTiers(List<Order> hot, List<ArchivedOrder> archived, Limit limit) {
+        Set<Long> hotIds = hot.stream().map(Order::getId).collect(Collectors.toSet());
+        return Stream.concat(hot.stream(), archived.stream().filter(order -> !hotIds.contains(order.getId())))
+                .sorted(Comparator.comparing(OrdersServiceImpl::keyOf, OrderCursor.NEWEST_FIRST))
+                .limit(limit.isLimited() ? limit.max() : Long.MAX_VALUE)
+                .toList();
     }
 
-    private boolean isValidTransition(OrderStatus from, OrderStatus to) {
-        return switch (from) {
-            case PENDING_APPROVAL -> List.of(CONFIRMED, CANCELLED).contains(to);
-            case CONFIRMED -> List.of(IN_PROGRESS, CANCELLED).contains(to);
-            case IN_PROGRESS -> List.of(READY_FOR_PICKUP).contains(to);
-            case READY_FOR_PICKUP -> List.of(COMPLETED).contains(to);
-            case COMPLETED, CANCELLED -> false;
+    private static OrderCursor keyOf(Object row) {
+        return switch (row) {
+            case Order order -> new OrderCursor(order.getCreatedAt(), order.getId());
+            case ArchivedOrder order -> new OrderCursor(order.getCreatedAt(), order.getId());
+            default -> throw new IllegalArgumentException("Not an order row: " + row);
         };
     }
 
+    /**
+     * Maps merged rows with one item-name query per tier, keeping their order.
+     */
+    private List<OrderDto> tiersToDtos(List<Object> rows) {
+        List<Order> hot = new ArrayList<>();
+        List<ArchivedOrder> archived = new ArrayList<>();
+        for (Object row : rows) {
+            if (row instanceof Order order) {
+                hot.add(order);
+            } else {
+                archived.add((ArchivedOrder) row);
+            }
+        }
+        return Stream.concat(toDtos(hot).stream(), archivedToDtos(archived).stream())
+                .sorted(Comparator.comparing(OrderCursor::of, OrderCursor.NEWEST_FIRST))
+                .toList();
+    }
+
+    private List<OrderDto> archivedToDtos(List<ArchivedOrder> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<String>> itemNamesByOrder = archivedOrderRepository
+                .findNamesByOrderIds(orders.stream().map(ArchivedOrder::getId).toList()).stream()
+                .collect(Collectors.groupingBy(OrderItemName::orderId,
+                        Collectors.mapping(OrderItemName::name, Collectors.toList())));
+
+        return orders.stream()
+                .map(order -> new OrderDto(
+                        order.getId(),
+                        order.getUserId(),
+                        order.getCreatedAt(),
+                        order.getStatus(),
+                        order.getTotalPrice(),
+                        itemNamesByOrder.getOrDefault(order.getId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Folds the join rows of each order (adjacent, as the export queries sort by order) into one record.
+     */
+    private static void groupByOrder(Stream<OrderExportRow> rows, Consumer<OrderExportRecord> consumer) {
+        OrderExportRow head = null;
+        List<OrderExportRecord.Line> lines = new ArrayList<>();
+        for (Iterator<OrderExportRow> it = rows.iterator(); it.hasNext(); ) {
+            OrderExportRow row = it.next();
+            if (head != null && !head.orderId().equals(row.orderId())) {
+                consumer.accept(toExportRecord(head, lines));
+                lines = new ArrayList<>();
+            }
+            head = row;
+            if (row.itemName() != null) {
+                lines.add(new OrderExportRecord.Line(row.menuItemId(), row.itemName(), row.itemPrice()));
+            }
+        }
+        if (head != null) {
+            consumer.accept(toExportRecord(head, lines));
+        }
+    }
+
+    private static OrderExportRecord toExportRecord(OrderExportRow row, List<OrderExportRecord.Line> lines) {
+        return new OrderExportRecord(row.orderId(), row.userId(), row.createdAt(), row.status(), row.totalPrice(), lines);
+    }
+
+    private Map<Long, List<String>> loadItemNames(Collection<Long> orderIds) {
+        return orderItemRepository.findNamesByOrderIds(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderItemName::orderId,
+                        Collectors.mapping(OrderItemName::name, Collectors.toList())));
+    }
+
+    private OrderDto toDto(Order order, List<String> itemNames) {
+        return new OrderDto(
+                order.getId(),
+                order.getUserId(),
+                order.getCreatedAt(),
+                order.getStatus(),
+                order.getTotalPrice(),
+                itemNames
+        );
+    }
+
     /**
      * A private helper method to map our internal Order entity to our
      * public OrderDto. This keeps our code clean and avoids repetition.
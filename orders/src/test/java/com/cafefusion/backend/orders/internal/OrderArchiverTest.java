@@ -0,0 +1,63 @@
+package com.cafefusion.backend.orders.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OrderArchiverTest {
+
+    private final ArchivedOrderRepository archivedOrderRepository = mock(ArchivedOrderRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    private final OrderArchiver archiver =
+            new OrderArchiver(archivedOrderRepository, transactionTemplate, Duration.ofDays(90), 2);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void archive_shouldMoveBatchesUntilNothingIsLeft() {
+        when(archivedOrderRepository.lockArchivableOrderIds(any(Instant.class), eq(2)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+
+        int archived = archiver.archive();
+
+        assertEquals(3, archived);
+        // A short batch means there is nothing left; no third round trip
+        verify(archivedOrderRepository, times(2)).lockArchivableOrderIds(any(Instant.class), anyInt());
+
+        // Items are copied and deleted before their orders
+        var inOrder = inOrder(archivedOrderRepository);
+        inOrder.verify(archivedOrderRepository).copyOrders(eq(List.of(1L, 2L)), any(Instant.class));
+        inOrder.verify(archivedOrderRepository).copyOrderItems(List.of(1L, 2L));
+        inOrder.verify(archivedOrderRepository).deleteOrderItems(List.of(1L, 2L));
+        inOrder.verify(archivedOrderRepository).deleteOrders(List.of(1L, 2L));
+    }
+
+    @Test
+    void archive_shouldUseHorizonAsCutoff() {
+        when(archivedOrderRepository.lockArchivableOrderIds(any(Instant.class), anyInt())).thenReturn(List.of());
+
+        Instant before = Instant.now().minus(Duration.ofDays(90));
+        assertEquals(0, archiver.archive());
+
+        verify(archivedOrderRepository).lockArchivableOrderIds(
+                argThat(cutoff -> !cutoff.isBefore(before) && cutoff.isBefore(before.plusSeconds(60))), eq(2));
+        verify(archivedOrderRepository, never()).copyOrders(any(), any());
+    }
+}
@@ -0,0 +1,169 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.event.OrderChangedEvent;
+import com.cafefusion.backend.orders.api.model.OrderDto;
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+import com.cafefusion.backend.orders.api.model.OrderStatusStatistics;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OrderCountersTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+
+    private final ArchivedOrderRepository archivedOrderRepository = mock(ArchivedOrderRepository.class);
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final OrderCounters counters = new OrderCounters(orderRepository, archivedOrderRepository, transactionManager);
+
+    private OrderDto order(long id, Instant createdAt, OrderStatus status, String price, String... items) {
+        return new OrderDto(id, 2L, createdAt, status, new BigDecimal(price), List.of(items));
+    }
+
+    @Test
+    void getStatistics_beforeRebuild_shouldDeferToDatabase() {
+        assertTrue(counters.getStatistics(null, null).isEmpty());
+    }
+
+    @Test
+    void refresh_shouldPickUpChangesMadeElsewhere() {
+        when(orderRepository.aggregateByStatus())
+                .thenReturn(List.of(new OrderStatusAggregate(OrderStatus.COMPLETED, 1L, new BigDecimal("5.00"), 1L)))
+                .thenReturn(List.of(new OrderStatusAggregate(OrderStatus.COMPLETED, 3L, new BigDecimal("15.00"), 3L)));
+        counters.rebuild();
+
+        counters.refresh();
+
+        assertEquals(new OrderStatusStatistics(3, new BigDecimal("15.00"), 3),
+                counters.getStatistics(null, null).orElseThrow().get(OrderStatus.COMPLETED));
+    }
+
+    @Test
+    void refresh_whenDatabaseFails_shouldKeepCurrentCounters() {
+        when(orderRepository.aggregateByStatus())
+                .thenReturn(List.of(new OrderStatusAggregate(OrderStatus.COMPLETED, 1L, new BigDecimal("5.00"), 1L)))
+                .thenThrow(new IllegalStateException("database down"));
+        counters.rebuild();
+
+        counters.refresh();
+
+        assertEquals(new OrderStatusStatistics(1, new BigDecimal("5.00"), 1),
+                counters.getStatistics(null, null).orElseThrow().get(OrderStatus.COMPLETED));
+    }
+
+    @Test
+    void rebuild_shouldReadInNewReadWriteTransaction() {
+        counters.rebuild();
+
+        // Read-only transactions may be routed to a lagging replica
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertFalse(definition.getValue().isReadOnly());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+        assertEquals(TransactionDefinition.ISOLATION_REPEATABLE_READ, definition.getValue().getIsolationLevel());
+    }
+
+    @Test
+    void rebuild_shouldKeepChangesReceivedWhileItRuns() {
+        Instant now = Instant.now();
+        when(orderRepository.aggregateByStatus())
+                .thenReturn(List.of(new OrderStatusAggregate(OrderStatus.COMPLETED, 1L, new BigDecimal("5.00"), 1L)))
+                .thenAnswer(invocation -> {
+                    // Committed after the rebuild's snapshot, so its aggregates do not include it
+                    counters.onOrderChanged(OrderChangedEvent.created(
+                            order(7L, now, OrderStatus.PENDING_APPROVAL, "3.00", "Espresso")));
+                    return List.of(new OrderStatusAggregate(OrderStatus.COMPLETED, 1L, new BigDecimal("5.00"), 1L));
+                });
+        counters.rebuild();
+
+        counters.refresh();
+
+        Map<OrderStatus, OrderStatusStatistics> allTime = counters.getStatistics(null, null).orElseThrow();
+        assertEquals(new OrderStatusStatistics(1, new BigDecimal("3.00"), 1), allTime.get(OrderStatus.PENDING_APPROVAL));
+        assertEquals(new OrderStatusStatistics(1, new BigDecimal("3.00"), 1), counters
+                .getStatistics(now.truncatedTo(ChronoUnit.MINUTES), now.plusSeconds(60), now).orElseThrow()
+                .get(OrderStatus.PENDING_APPROVAL));
+    }
+
+    @Test
+    void rebuild_shouldLoadTotalsAndBuckets() {
+        Instant now = Instant.now();
+        Instant thisHour = now.truncatedTo(ChronoUnit.HOURS);
+
+        when(orderRepository.aggregateByStatus()).thenReturn(List.of(
+                new OrderStatusAggregate(OrderStatus.COMPLETED, 10L, new BigDecimal("100.00"), 25L)));
+        when(orderRepository.aggregateByBucketAndStatus(anyString(), any())).thenReturn(List.<Object[]>of(
+                new Object[]{thisHour.getEpochSecond(), "COMPLETED", 2L, new BigDecimal("21.50"), 3L}));
+        // Archived orders count too
+        when(archivedOrderRepository.aggregateByStatus()).thenReturn(List.of(
+                new OrderStatusAggregate(OrderStatus.CANCELLED, 4L, new BigDecimal("8.00"), 4L)));
+
+        counters.rebuild();
+
+        Map<OrderStatus, OrderStatusStatistics> allTime = counters.getStatistics(null, null).orElseThrow();
+        assertEquals(new OrderStatusStatistics(10, new BigDecimal("100.00"), 25), allTime.get(OrderStatus.COMPLETED));
+        assertEquals(new OrderStatusStatistics(4, new BigDecimal("8.00"), 4), allTime.get(OrderStatus.CANCELLED));
+        assertEquals(OrderStatusStatistics.EMPTY, allTime.get(OrderStatus.IN_PROGRESS));
+
+        Map<OrderStatus, OrderStatusStatistics> lastHour =
+                counters.getStatistics(thisHour, now.plusSeconds(60), now).orElseThrow();
+        assertEquals(new OrderStatusStatistics(2, new BigDecimal("21.50"), 3), lastHour.get(OrderStatus.COMPLETED));
+    }
+
+    @Test
+    void onOrderChanged_shouldMoveOrderBetweenStatuses() {
+        counters.rebuild();
+        Instant now = Instant.now();
+
+        OrderDto created = order(1L, now, OrderStatus.PENDING_APPROVAL, "12.50", "Cappuccino", "Baklava");
+        counters.onOrderChanged(OrderChangedEvent.created(created));
+        counters.onOrderChanged(OrderChangedEvent.created(
+                order(2L, now, OrderStatus.PENDING_APPROVAL, "3.00", "Espresso")));
+
+        OrderDto confirmed = order(1L, now, OrderStatus.CONFIRMED, "12.50", "Cappuccino", "Baklava");
+        counters.onOrderChanged(OrderChangedEvent.statusChanged(confirmed, OrderStatus.PENDING_APPROVAL));
+
+        Map<OrderStatus, OrderStatusStatistics> lastMinute = counters
+                .getStatistics(now.truncatedTo(ChronoUnit.MINUTES), now.plusSeconds(60), now).orElseThrow();
+        assertEquals(new OrderStatusStatistics(1, new BigDecimal("3.00"), 1), lastMinute.get(OrderStatus.PENDING_APPROVAL));
+        assertEquals(new OrderStatusStatistics(1, new BigDecimal("12.50"), 2), lastMinute.get(OrderStatus.CONFIRMED));
+
+        counters.onOrderChanged(OrderChangedEvent.deleted(confirmed));
+
+        Map<OrderStatus, OrderStatusStatistics> allTime = counters.getStatistics(null, null).orElseThrow();
+        assertEquals(OrderStatusStatistics.EMPTY, allTime.get(OrderStatus.CONFIRMED));
+        assertEquals(1, allTime.get(OrderStatus.PENDING_APPROVAL).orderCount());
+    }
+
+    @Test
+    void getStatistics_shouldDeferToDatabaseForWindowsItCannotAnswer() {
+        counters.rebuild();
+        Instant now = Instant.now();
+        Instant thisHour = now.truncatedTo(ChronoUnit.HOURS);
+
+        // Window already ended
+        assertEquals(Optional.empty(), counters.getStatistics(thisHour, now.minusSeconds(1), now));
+        // Start not on a bucket boundary
+        assertEquals(Optional.empty(), counters.getStatistics(thisHour.plusMillis(1), now.plusSeconds(60), now));
+        // Start older than any retained bucket
+        assertEquals(Optional.empty(), counters.getStatistics(
+                now.truncatedTo(ChronoUnit.DAYS).minus(400, ChronoUnit.DAYS), now.plusSeconds(60), now));
+    }
+}
@@ -0,0 +1,140 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.exception.IdempotencyKeyReuseException;
+import com.cafefusion.backend.orders.api.exception.IdempotentRequestInProgressException;
+import com.cafefusion.backend.orders.api.model.OrderDto;
+import com.cafefusion.backend.orders.api.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderIdempotencyStoreTest {
+
+    private final OrderIdempotencyStore store = new OrderIdempotencyStore(100, Duration.ofHours(1), Duration.ofSeconds(5));
+
+    private OrderDto order(long id) {
+        return new OrderDto(id, 2L, Instant.now(), OrderStatus.PENDING_APPROVAL,
+                new BigDecimal("12.50"), List.of("Cappuccino"));
+    }
+
+    @Test
+    void execute_concurrentDuplicate_shouldWaitForFirstRequest() throws Exception {
+        // Arrange
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger invocations = new AtomicInteger();
+
+        CompletableFuture<OrderDto> first = CompletableFuture.supplyAsync(() ->
+                store.execute(2L, "key", List.of(1L), () -> {
+                    invocations.incrementAndGet();
+                    firstStarted.countDown();
+                    await(releaseFirst);
+                    return order(1L);
+                }));
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<OrderDto> duplicate = CompletableFuture.supplyAsync(() ->
+                store.execute(2L, "key", List.of(1L), () -> {
+                    invocations.incrementAndGet();
+                    return order(2L);
+                }));
+
+        // Assert
+        assertFalse(duplicate.isDone());
+        releaseFirst.countDown();
+
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).orderId());
+        assertEquals(1L, duplicate.get(5, TimeUnit.SECONDS).orderId());
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void execute_sameKeyForDifferentUsers_shouldNotShareResults() {
+        OrderDto first = store.execute(2L, "key", List.of(1L), () -> order(1L));
+        OrderDto second = store.execute(3L, "key", List.of(1L), () -> order(2L));
+
+        assertEquals(1L, first.orderId());
+        assertEquals(2L, second.orderId());
+    }
+
+    @Test
+    void execute_sameKeyWithDifferentItems_shouldBeRejected() {
+        store.execute(2L, "key", List.of(1L), () -> order(1L));
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> store.execute(2L, "key", List.of(1L, 2L), () -> order(2L)));
+    }
+
+    @Test
+    void execute_whenFirstAttemptFails_shouldAllowRetry() {
+        assertThrows(IllegalStateException.class, () -> store.execute(2L, "key", List.of(1L), () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        OrderDto retry = store.execute(2L, "key", List.of(1L), () -> order(5L));
+
+        assertEquals(5L, retry.orderId());
+    }
+
+    @Test
+    void execute_whenFirstAttemptThrowsError_shouldAllowRetry() {
+        assertThrows(AssertionError.class, () -> store.execute(2L, "key", List.of(1L), () -> {
+            throw new AssertionError("unexpected");
+        }));
+
+        OrderDto retry = store.execute(2L, "key", List.of(1L), () -> order(5L));
+
+        assertEquals(5L, retry.orderId());
+    }
+
+    @Test
+    void execute_whenFirstRequestHangs_shouldStopWaitingAfterTimeout() throws Exception {
+        // Arrange
+        OrderIdempotencyStore impatient = new OrderIdempotencyStore(100, Duration.ofHours(1), Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<OrderDto> first = CompletableFuture.supplyAsync(() ->
+                impatient.execute(2L, "key", List.of(1L), () -> {
+                    started.countDown();
+                    await(release);
+                    return order(1L);
+                }));
+        await(started);
+
+        // Act & Assert
+        assertThrows(IdempotentRequestInProgressException.class,
+                () -> impatient.execute(2L, "key", List.of(1L), () -> order(2L)));
+
+        release.countDown();
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).orderId());
+    }
+
+    @Test
+    void execute_afterExpiry_shouldRunAgain() throws Exception {
+        OrderIdempotencyStore shortLived = new OrderIdempotencyStore(100, Duration.ZERO, Duration.ofSeconds(5));
+
+        shortLived.execute(2L, "key", List.of(1L), () -> order(1L));
+        Thread.sleep(5);
+        OrderDto second = shortLived.execute(2L, "key", List.of(1L), () -> order(2L));
+
+        assertEquals(2L, second.orderId());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.cafefusion.backend.orders.internal;
+
+import com.cafefusion.backend.orders.api.exception.OrderIntakeOverloadedException;
+import com.cafefusion.backend.orders.api.model.OrderDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class OrderIntakePipelineTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderIntakePipeline pipeline;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        // Run transactionTemplate callbacks inline
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // A long delay makes every order submitted below land in the same batch
+        pipeline = new OrderIntakePipeline(orderRepository, transactionTemplate, meterRegistry,
+                OrderIntakeMode.GROUP_COMMIT, 64, Duration.ofMillis(200), 100, Duration.ofSeconds(5));
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    private Order newOrder() {
+        Order order = new Order(2L, Instant.now(), new BigDecimal("12.50"));
+        order.setItems(new ArrayList<>());
+        return order;
+    }
+
+    @Test
+    void submit_shouldCommitQueuedOrdersInOneBatch() throws Exception {
+        // Act
+        CompletableFuture<Order> first = pipeline.submit(newOrder());
+        CompletableFuture<Order> second = pipeline.submit(newOrder());
+        CompletableFuture<Order> third = pipeline.submit(newOrder());
+
+        CompletableFuture.allOf(first, second, third).get(5, TimeUnit.SECONDS);
+
+        // Assert & Verify
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Order>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(orderRepository, times(1)).saveAll(batchCaptor.capture());
+        assertEquals(3, batchCaptor.getValue().size());
+
+        assertEquals(1, meterRegistry.get("orders.intake.batch.size").summary().count());
+        assertEquals(3.0, meterRegistry.get("orders.intake.batch.size").summary().totalAmount());
+        assertNotNull(meterRegistry.get("orders.intake.queue.depth").gauge());
+    }
+
+    @Test
+    void submit_whenBatchFails_shouldRetryOrdersOneByOne() throws Exception {
+        // Arrange
+        when(orderRepository.saveAll(anyList())).thenThrow(new IllegalStateException("constraint violation"));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        CompletableFuture<Order> first = pipeline.submit(newOrder());
+        CompletableFuture<Order> second = pipeline.submit(newOrder());
+
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        // Verify
+        verify(orderRepository, times(2)).save(any(Order.class));
+        assertFalse(first.isCompletedExceptionally());
+        assertFalse(second.isCompletedExceptionally());
+    }
+
+    @Test
+    void submit_whenBatchThrowsError_shouldFailOrdersAndKeepWriterRunning() throws Exception {
+        // Arrange
+        when(orderRepository.saveAll(anyList())).thenThrow(new AssertionError("broken")).thenReturn(List.of());
+
+        // Act
+        CompletableFuture<Order> failed = pipeline.submit(newOrder());
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        CompletableFuture<Order> next = pipeline.submit(newOrder());
+
+        // Assert
+        assertInstanceOf(AssertionError.class, ex.getCause());
+        assertNotNull(next.get(5, TimeUnit.SECONDS));
+    }
+
+    private void restartWithCommitTimeout(Duration commitTimeout) throws InterruptedException {
+        pipeline.stop();
+        pipeline = new OrderIntakePipeline(orderRepository, transactionTemplate, meterRegistry,
+                OrderIntakeMode.GROUP_COMMIT, 1, Duration.ofMillis(1), 100, commitTimeout);
+        pipeline.start();
+    }
+
+    @Test
+    void submit_whenCommitHangs_shouldOnlyFailOrdersStillQueued() throws Exception {
+        // Arrange
+        restartWithCommitTimeout(Duration.ofMillis(50));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        // Act
+        CompletableFuture<Order> inFlight = pipeline.submit(newOrder());
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Order> queued = pipeline.submit(newOrder());
+
+        // Assert: the queued order is taken back, the one being written is still waited for
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(OrderIntakeOverloadedException.class, ex.getCause());
+        assertFalse(inFlight.isDone());
+
+        release.countDown();
+        assertNotNull(inFlight.get(5, TimeUnit.SECONDS));
+        verify(orderRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void submit_whenCommitOutlastsTimeout_shouldNotLetRetryCreateDuplicate() throws Exception {
+        // Arrange
+        restartWithCommitTimeout(Duration.ofMillis(50));
+        OrderIdempotencyStore idempotencyStore = new OrderIdempotencyStore(100, Duration.ofHours(1), Duration.ofSeconds(5));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            List<Order> batch = invocation.getArgument(0);
+            batch.forEach(order -> order.setId(42L));
+            return batch;
+        });
+        Supplier<OrderDto> placeOrder = () -> {
+            Order saved = pipeline.submit(newOrder()).join();
+            return new OrderDto(saved.getId(), saved.getUserId(), saved.getCreatedAt(),
+                    saved.getStatus(), saved.getTotalPrice(), List.of());
+        };
+
+        // Act: the first request outlives the commit timeout, then the client retries
+        CompletableFuture<OrderDto> first = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute(2L, "key-1", List.of(1L), placeOrder));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        CompletableFuture<OrderDto> retry = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute(2L, "key-1", List.of(1L), placeOrder));
+        release.countDown();
+
+        // Assert
+        assertEquals(42L, first.get(5, TimeUnit.SECONDS).orderId());
+        assertEquals(42L, retry.get(5, TimeUnit.SECONDS).orderId());
+        verify(orderRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void submit_afterStop_shouldBeRejected() throws Exception {
+        pipeline.stop();
+
+        assertThrows(OrderIntakeOverloadedException.class, () -> pipeline.submit(newOrder()));
+    }
+}
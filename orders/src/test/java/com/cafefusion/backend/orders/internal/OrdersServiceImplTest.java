@@ -1,11 +1,22 @@
 package com.cafefusion.backend.orders.internal;
 
 import com.cafefusion.backend.menu.api.MenuApi;
+import com.cafefusion.backend.menu.api.exception.MenuItemNotFoundException;
+import com.cafefusion.backend.orders.api.event.OrderChangedEvent;
+import com.cafefusion.backend.orders.api.exception.InvalidAnalyticsRangeException;
+import com.cafefusion.backend.orders.api.exception.InvalidCursorException;
 import com.cafefusion.backend.orders.api.exception.InvalidStatusTransitionException;
 import com.cafefusion.backend.orders.api.exception.OrderNotFoundException;
+import com.cafefusion.backend.orders.api.model.AnalyticsGranularity;
+import com.cafefusion.backend.orders.api.model.BulkStatusUpdateRequest;
 import com.cafefusion.backend.orders.api.model.CreateOrderRequest;
+import com.cafefusion.backend.orders.api.model.CursorPage;
 import com.cafefusion.backend.orders.api.model.OrderDto;
+import com.cafefusion.backend.orders.api.model.OrderExportRecord;
 import com.cafefusion.backend.orders.api.model.OrderStatus;
+import com.cafefusion.backend.orders.api.model.OrderStatusStatistics;
+import com.cafefusion.backend.orders.api.model.SalesAnalytics;
+import com.cafefusion.backend.orders.api.model.StatusUpdateResult;
 import com.cafefusion.backend.orders.api.model.UpdateOrderRequest;
 import com.cafefusion.backend.users.api.model.Role;
 import com.cafefusion.backend.users.internal.User;
@@ -16,11 +27,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.cafefusion.backend.menu.api.model.MenuItemDto;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -28,12 +42,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -47,6 +68,20 @@ public class OrdersServiceImplTest {
     private MenuApi menuApi;
     @Mock
     private OrderRepository orderRepository;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+    @Mock
+    private ArchivedOrderRepository archivedOrderRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private OrderIntakePipeline intakePipeline;
+    @Mock
+    private OrderCounters orderCounters;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private OrderIdempotencyStore idempotencyStore = new OrderIdempotencyStore(100, Duration.ofHours(1), Duration.ofSeconds(5));
 
     @Mock
     private SecurityContext securityContext;
@@ -69,6 +104,10 @@ public class OrdersServiceImplTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(fakeUser);
         SecurityContextHolder.setContext(securityContext);
+
+        // Run transactionTemplate callbacks inline
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @AfterEach
@@ -82,7 +121,7 @@ public class OrdersServiceImplTest {
         CreateOrderRequest request = new CreateOrderRequest(List.of(1L));
         MenuItemDto cappuccino = new MenuItemDto(1L, "Cappuccino", "Coffee", new BigDecimal("12.50"));
 
-        when(menuApi.getMenuItemById(1L)).thenReturn(Optional.of(cappuccino));
+        when(menuApi.getMenuItemsByIds(List.of(1L))).thenReturn(Map.of(1L, cappuccino));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -99,15 +138,69 @@ public class OrdersServiceImplTest {
         verify(orderRepository).save(orderCaptor.capture());
 
         assertEquals(2L, orderCaptor.getValue().getUserId());
+        assertEquals(1, orderCaptor.getValue().getItemCount());
+
+        // Live counters and other listeners hear about the new order
+        verify(eventPublisher).publishEvent(OrderChangedEvent.created(result));
+    }
+
+    @Test
+    void createOrder_withIdempotencyKey_shouldReplayStoredOrderOnRetry() {
+        // Arrange
+        CreateOrderRequest request = new CreateOrderRequest(List.of(1L));
+        MenuItemDto cappuccino = new MenuItemDto(1L, "Cappuccino", "Coffee", new BigDecimal("12.50"));
+
+        when(menuApi.getMenuItemsByIds(List.of(1L))).thenReturn(Map.of(1L, cappuccino));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(7L);
+            return order;
+        });
+
+        // Act
+        OrderDto first = ordersService.createOrder(request, "retry-key-1");
+        OrderDto retry = ordersService.createOrder(request, "retry-key-1");
+
+        // Assert & Verify
+        assertEquals(first, retry);
+        assertEquals(7L, retry.orderId());
+        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(menuApi, times(1)).getMenuItemsByIds(any());
+    }
+
+    @Test
+    void createOrder_inGroupCommitMode_shouldHandOrderToIntakePipeline() {
+        // Arrange
+        CreateOrderRequest request = new CreateOrderRequest(List.of(1L));
+        MenuItemDto cappuccino = new MenuItemDto(1L, "Cappuccino", "Coffee", new BigDecimal("12.50"));
+
+        when(menuApi.getMenuItemsByIds(List.of(1L))).thenReturn(Map.of(1L, cappuccino));
+        when(intakePipeline.isEnabled()).thenReturn(true);
+        when(intakePipeline.submit(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(3L);
+            return CompletableFuture.completedFuture(order);
+        });
+
+        // Act
+        OrderDto result = ordersService.createOrder(request);
+
+        // Assert & Verify
+        assertEquals(3L, result.orderId());
+        verify(intakePipeline, times(1)).submit(any(Order.class));
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
     void getMyOrderHistory_shouldReturnOrdersForCorrectUser() {
         // Arrange
         Order order1 = new Order(2L, Instant.now(), new BigDecimal("12.50"));
+        order1.setId(1L);
         order1.setItems(List.of(new OrderItem(order1, 1L, "Cappuccino", new BigDecimal("12.50"))));
 
         when(orderRepository.findByUserIdOrderByCreatedAtDesc(2L)).thenReturn(List.of(order1));
+        when(orderItemRepository.findNamesByOrderIds(List.of(1L)))
+                .thenReturn(List.of(new OrderItemName(1L, "Cappuccino")));
 
         // Act
         List<OrderDto> results = ordersService.getMyOrderHistory();
@@ -116,11 +209,111 @@ public class OrdersServiceImplTest {
         assertNotNull(results);
         assertEquals(1, results.size());
         assertEquals(2L, results.get(0).userId());
+        assertEquals(List.of("Cappuccino"), results.get(0).itemNames());
 
         verify(orderRepository, times(1)).findByUserIdOrderByCreatedAtDesc(2L);
         verify(orderRepository, never()).findByUserIdOrderByCreatedAtDesc(1L);
     }
 
+    @Test
+    void getMyOrderHistoryPage_shouldReturnCursorWhenMoreOrdersExist() {
+        // Arrange
+        Instant now = Instant.parse("2025-11-01T12:00:00Z");
+        Order newest = new Order(2L, now, new BigDecimal("10"));
+        newest.setId(3L);
+        Order middle = new Order(2L, now.minusSeconds(60), new BigDecimal("10"));
+        middle.setId(2L);
+        Order oldest = new Order(2L, now.minusSeconds(120), new BigDecimal("10"));
+        oldest.setId(1L);
+
+        when(orderRepository.findHistoryPage(2L, Limit.of(3))).thenReturn(List.of(newest, middle, oldest));
+        when(orderItemRepository.findNamesByOrderIds(List.of(3L, 2L))).thenReturn(List.of(
+                new OrderItemName(3L, "Cappuccino"),
+                new OrderItemName(2L, "Baklava"),
+                new OrderItemName(2L, "Espresso")));
+
+        // Act
+        CursorPage<OrderDto> page = ordersService.getMyOrderHistory(null, 2);
+
+        // Assert & Verify
+        assertEquals(2, page.content().size());
+        assertTrue(page.hasNext());
+        assertNotNull(page.nextCursor());
+        assertEquals(List.of("Baklava", "Espresso"), page.content().get(1).itemNames());
+        verify(orderItemRepository, times(1)).findNamesByOrderIds(any());
+
+        // The cursor points at the last order on the page
+        when(orderRepository.findHistoryPageAfter(2L, middle.getCreatedAt(), 2L, Limit.of(3)))
+                .thenReturn(List.of(oldest));
+        CursorPage<OrderDto> next = ordersService.getMyOrderHistory(page.nextCursor(), 2);
+
+        assertEquals(1, next.content().size());
+        assertEquals(1L, next.content().get(0).orderId());
+        assertFalse(next.hasNext());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void getMyOrderHistoryPage_shouldMergeArchivedOrdersByCreationTime() {
+        // Arrange: an unfinished order stays hot even though it is older than an archived one
+        Instant now = Instant.parse("2025-11-01T12:00:00Z");
+        Order newest = new Order(2L, now, new BigDecimal("10"));
+        newest.setId(5L);
+        Order oldOpen = new Order(2L, now.minus(Duration.ofDays(200)), new BigDecimal("10"));
+        oldOpen.setId(1L);
+        ArchivedOrder archived = archivedOrder(3L, now.minus(Duration.ofDays(100)));
+
+        when(orderRepository.findHistoryPage(2L, Limit.of(3))).thenReturn(List.of(newest, oldOpen));
+        when(archivedOrderRepository.findHistoryPage(2L, Limit.of(3))).thenReturn(List.of(archived));
+        when(archivedOrderRepository.findNamesByOrderIds(List.of(3L)))
+                .thenReturn(List.of(new OrderItemName(3L, "Espresso")));
+
+        // Act
+        CursorPage<OrderDto> page = ordersService.getMyOrderHistory(null, 2);
+
+        // Assert & Verify
+        assertEquals(List.of(5L, 3L), page.content().stream().map(OrderDto::orderId).toList());
+        assertEquals(List.of("Espresso"), page.content().get(1).itemNames());
+        assertTrue(page.hasNext());
+
+        // The cursor continues through both tiers with the same key
+        when(orderRepository.findHistoryPageAfter(2L, archived.getCreatedAt(), 3L, Limit.of(3)))
+                .thenReturn(List.of(oldOpen));
+        CursorPage<OrderDto> next = ordersService.getMyOrderHistory(page.nextCursor(), 2);
+
+        assertEquals(List.of(1L), next.content().stream().map(OrderDto::orderId).toList());
+        verify(archivedOrderRepository).findHistoryPageAfter(2L, archived.getCreatedAt(), 3L, Limit.of(3));
+    }
+
+    @Test
+    void getOrderById_whenArchived_shouldFallBackToArchive() {
+        ArchivedOrder archived = archivedOrder(7L, Instant.parse("2020-01-01T00:00:00Z"));
+        when(orderRepository.findById(7L)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.findById(7L)).thenReturn(Optional.of(archived));
+
+        Optional<OrderDto> result = ordersService.getOrderById(7L);
+
+        assertTrue(result.isPresent());
+        assertEquals(7L, result.get().orderId());
+        assertEquals(OrderStatus.COMPLETED, result.get().status());
+    }
+
+    private static ArchivedOrder archivedOrder(Long id, Instant createdAt) {
+        ArchivedOrder order = mock(ArchivedOrder.class);
+        when(order.getId()).thenReturn(id);
+        when(order.getUserId()).thenReturn(2L);
+        when(order.getCreatedAt()).thenReturn(createdAt);
+        when(order.getStatus()).thenReturn(OrderStatus.COMPLETED);
+        when(order.getTotalPrice()).thenReturn(new BigDecimal("10"));
+        return order;
+    }
+
+    @Test
+    void getMyOrderHistoryPage_shouldRejectMalformedCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> ordersService.getMyOrderHistory("not-a-cursor", 20));
+    }
+
     @Test
     void createOrder_shouldSucceed_whenItemsAreValid() {
         // Arrange
@@ -129,8 +322,8 @@ public class OrdersServiceImplTest {
         MenuItemDto cappuccino = new MenuItemDto(1L, "Cappuccino", "Coffee", new BigDecimal("12.50"));
         MenuItemDto baklava = new MenuItemDto(2L, "Baklava", "Dessert", new BigDecimal("18.00"));
 
-        when(menuApi.getMenuItemById(1L)).thenReturn(Optional.of(cappuccino));
-        when(menuApi.getMenuItemById(2L)).thenReturn(Optional.of(baklava));
+        when(menuApi.getMenuItemsByIds(List.of(1L, 2L)))
+                .thenReturn(Map.of(1L, cappuccino, 2L, baklava));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
             order.setId(1L);
@@ -147,11 +340,29 @@ public class OrdersServiceImplTest {
         assertTrue(result.itemNames().contains("Cappuccino"));
         assertTrue(result.itemNames().contains("Baklava"));
 
-        verify(menuApi, times(1)).getMenuItemById(1L);
-        verify(menuApi, times(1)).getMenuItemById(2L);
+        verify(menuApi, times(1)).getMenuItemsByIds(List.of(1L, 2L));
+        verify(menuApi, never()).getMenuItemById(any());
         verify(orderRepository, times(1)).save(any(Order.class));
     }
 
+    @Test
+    void createOrder_shouldResolveDuplicateItemsWithSingleLookup() {
+        // Arrange
+        CreateOrderRequest request = new CreateOrderRequest(List.of(1L, 1L, 1L));
+        MenuItemDto cappuccino = new MenuItemDto(1L, "Cappuccino", "Coffee", new BigDecimal("12.50"));
+
+        when(menuApi.getMenuItemsByIds(List.of(1L, 1L, 1L))).thenReturn(Map.of(1L, cappuccino));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        OrderDto result = ordersService.createOrder(request);
+
+        // Assert & Verify
+        assertEquals(new BigDecimal("37.50"), result.totalPrice());
+        assertEquals(3, result.itemNames().size());
+        verify(menuApi, times(1)).getMenuItemsByIds(any());
+    }
+
     @Test
     void getOrderById_shouldReturnOrder_whenFound() {
         // Arrange
@@ -180,16 +391,17 @@ public class OrdersServiceImplTest {
     @Test
     void createOrder_shouldThrowException_whenItemNotFound() {
         // Arrange
-        CreateOrderRequest request = new CreateOrderRequest(List.of(99L));
+        CreateOrderRequest request = new CreateOrderRequest(List.of(99L, 98L));
 
-        when(menuApi.getMenuItemById(99L)).thenReturn(Optional.empty());
+        when(menuApi.getMenuItemsByIds(List.of(99L, 98L)))
+                .thenThrow(new MenuItemNotFoundException(List.of(99L, 98L)));
 
         // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+        MenuItemNotFoundException exception = assertThrows(MenuItemNotFoundException.class, () -> {
             ordersService.createOrder(request);
         });
 
-        assertEquals("Item not found: 99", exception.getMessage());
+        assertEquals("Menu items not found: [99, 98]", exception.getMessage());
 
         verify(orderRepository, never()).save(any(Order.class));
     }
@@ -205,12 +417,17 @@ public class OrdersServiceImplTest {
 
         Pageable pageable = PageRequest.of(0, 10);
         when(orderRepository.findAll(pageable)).thenReturn(page);
+        when(orderItemRepository.findNamesByOrderIds(List.of(1L)))
+                .thenReturn(List.of(new OrderItemName(1L, "Cappuccino")));
 
         Page<OrderDto> result = ordersService.getOrders(pageable);
 
         assertEquals(1, result.getTotalElements());
         assertEquals(order.getId(), result.getContent().get(0).orderId());
+        assertEquals(List.of("Cappuccino"), result.getContent().get(0).itemNames());
         verify(orderRepository).findAll(pageable);
+        // Item names come from one batched query, not from each order's lazy collection
+        verify(orderItemRepository, times(1)).findNamesByOrderIds(any());
     }
 
     @Test
@@ -232,39 +449,200 @@ public class OrdersServiceImplTest {
         assertEquals(1, result.getTotalElements());
         assertEquals(OrderStatus.IN_PROGRESS, result.getContent().get(0).status());
         verify(orderRepository).findByStatusIn(statuses, pageable);
+        verify(orderItemRepository, times(1)).findNamesByOrderIds(List.of(1L));
+    }
+
+    @Test
+    void getOrdersByStatusesCursor_shouldSeekPastCursorWithoutCounting() {
+        Instant now = Instant.parse("2025-11-01T12:00:00Z");
+        Order newest = new Order(2L, now, new BigDecimal("10"));
+        newest.setId(7L);
+        newest.setStatus(OrderStatus.IN_PROGRESS);
+        Order older = new Order(3L, now.minusSeconds(60), new BigDecimal("10"));
+        older.setId(4L);
+        older.setStatus(OrderStatus.IN_PROGRESS);
+        List<OrderStatus> statuses = List.of(OrderStatus.IN_PROGRESS);
+
+        when(orderRepository.findPageByStatusIn(statuses, Limit.of(2))).thenReturn(List.of(newest, older));
+
+        CursorPage<OrderDto> page = ordersService.getOrdersByStatuses(statuses, null, 1);
+
+        assertEquals(List.of(7L), page.content().stream().map(OrderDto::orderId).toList());
+        assertTrue(page.hasNext());
+
+        when(orderRepository.findPageByStatusInAfter(statuses, now, 7L, Limit.of(2))).thenReturn(List.of(older));
+
+        CursorPage<OrderDto> next = ordersService.getOrdersByStatuses(statuses, page.nextCursor(), 1);
+
+        assertEquals(List.of(4L), next.content().stream().map(OrderDto::orderId).toList());
+        assertFalse(next.hasNext());
+        verify(orderRepository, never()).findByStatusIn(any(), any(Pageable.class));
+    }
+
+    @Test
+    void exportOrders_shouldGroupJoinRowsIntoOneRecordPerOrder() {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        Instant end = Instant.parse("2024-02-01T00:00:00Z");
+        Instant createdAt = Instant.parse("2024-01-15T10:00:00Z");
+
+        when(archivedOrderRepository.streamForExport(start, end)).thenReturn(Stream.of(
+                new OrderExportRow(1L, 2L, createdAt, OrderStatus.COMPLETED, new BigDecimal("7.00"),
+                        10L, "Espresso", new BigDecimal("3.00")),
+                new OrderExportRow(1L, 2L, createdAt, OrderStatus.COMPLETED, new BigDecimal("7.00"),
+                        11L, "Baklava", new BigDecimal("4.00"))));
+        when(orderRepository.streamForExport(start, end)).thenReturn(Stream.of(
+                // An order without items still gets a record
+                new OrderExportRow(5L, 3L, createdAt, OrderStatus.CANCELLED, BigDecimal.ZERO, null, null, null)));
+
+        List<OrderExportRecord> exported = new ArrayList<>();
+        ordersService.exportOrders(start, end, exported::add);
+
+        assertEquals(2, exported.size());
+        assertEquals(1L, exported.get(0).orderId());
+        assertEquals(List.of(
+                new OrderExportRecord.Line(10L, "Espresso", new BigDecimal("3.00")),
+                new OrderExportRecord.Line(11L, "Baklava", new BigDecimal("4.00"))), exported.get(0).items());
+        assertEquals(5L, exported.get(1).orderId());
+        assertTrue(exported.get(1).items().isEmpty());
+    }
+
+    @Test
+    void getSalesAnalytics_shouldMergeTiersAndFillEmptyBuckets() {
+        Instant start = Instant.parse("2024-01-01T10:00:00Z");
+        Instant end = Instant.parse("2024-01-01T13:00:00Z");
+        long tenOClock = start.getEpochSecond();
+        long twelveOClock = start.plusSeconds(7200).getEpochSecond();
+
+        when(orderRepository.salesByBucket("hour", start, end)).thenReturn(List.<Object[]>of(
+                new Object[]{tenOClock, 2L, new BigDecimal("10.00"), 3L},
+                new Object[]{twelveOClock, 1L, new BigDecimal("4.00"), 1L}));
+        when(archivedOrderRepository.salesByBucket("hour", start, end)).thenReturn(List.<Object[]>of(
+                new Object[]{tenOClock, 1L, new BigDecimal("6.00"), 2L}));
+        long lastSale = start.plusSeconds(7200).getEpochSecond() * 1_000_000;
+        when(orderRepository.salesByMenuItem(start, end)).thenReturn(List.<Object[]>of(
+                new Object[]{1L, "Espresso", 3L, new BigDecimal("9.00"), lastSale},
+                new Object[]{2L, "Baklava", 1L, new BigDecimal("5.00"), lastSale}));
+        // Archived earlier under its old name
+        when(archivedOrderRepository.salesByMenuItem(start, end)).thenReturn(List.<Object[]>of(
+                new Object[]{2L, "Old Baklava", 1L, new BigDecimal("6.00"), start.getEpochSecond() * 1_000_000}));
+
+        SalesAnalytics analytics = ordersService.getSalesAnalytics(start, end, AnalyticsGranularity.HOUR, 10);
+
+        assertEquals(List.of(
+                new SalesAnalytics.RevenueBucket(start, 3, new BigDecimal("16.00")),
+                new SalesAnalytics.RevenueBucket(start.plusSeconds(3600), 0, BigDecimal.ZERO),
+                new SalesAnalytics.RevenueBucket(start.plusSeconds(7200), 1, new BigDecimal("4.00"))), analytics.revenueSeries());
+        assertEquals(4, analytics.orderCount());
+        assertEquals(new BigDecimal("20.00"), analytics.revenue());
+        assertEquals(new BigDecimal("5.00"), analytics.averageOrderValue());
+        assertEquals(1.5, analytics.averageBasketSize());
+
+        // Espresso sold the most units, Baklava (both tiers, newest name) made the most money
+        assertEquals(new SalesAnalytics.MenuItemSales(1L, "Espresso", 3, new BigDecimal("9.00")), analytics.topByQuantity().get(0));
+        assertEquals(new SalesAnalytics.MenuItemSales(2L, "Baklava", 2, new BigDecimal("11.00")), analytics.topByRevenue().get(0));
+    }
+
+    @Test
+    void getSalesAnalytics_shouldRejectEmptyOrOversizedRanges() {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+        assertThrows(InvalidAnalyticsRangeException.class,
+                () -> ordersService.getSalesAnalytics(start, start, AnalyticsGranularity.DAY, 10));
+        assertThrows(InvalidAnalyticsRangeException.class,
+                () -> ordersService.getSalesAnalytics(start, start.plus(Duration.ofDays(3650)), AnalyticsGranularity.HOUR, 10));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getArchivedOrders_shouldReadArchiveTier() {
+        ArchivedOrder archived = mock(ArchivedOrder.class);
+        when(archived.getId()).thenReturn(9L);
+        when(archived.getUserId()).thenReturn(2L);
+        when(archived.getCreatedAt()).thenReturn(Instant.parse("2024-01-01T10:00:00Z"));
+        when(archived.getStatus()).thenReturn(OrderStatus.COMPLETED);
+        when(archived.getTotalPrice()).thenReturn(new BigDecimal("7.00"));
+
+        when(archivedOrderRepository.findPage(Limit.of(21))).thenReturn(List.of(archived));
+        when(archivedOrderRepository.findNamesByOrderIds(List.of(9L)))
+                .thenReturn(List.of(new OrderItemName(9L, "Espresso")));
+
+        CursorPage<OrderDto> page = ordersService.getArchivedOrders(null, 20);
+
+        assertEquals(1, page.content().size());
+        assertEquals(List.of("Espresso"), page.content().get(0).itemNames());
+        assertFalse(page.hasNext());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getOrdersCursor_shouldClampLimit() {
+        when(orderRepository.findPage(Limit.of(101))).thenReturn(List.of());
+
+        CursorPage<OrderDto> page = ordersService.getOrders(null, 10_000);
+
+        assertTrue(page.content().isEmpty());
+        assertFalse(page.hasNext());
+        verify(orderRepository).findPage(Limit.of(101));
+    }
+
+    @Test
+    void getOrderStatistics_shouldAggregateInOneQuery() {
+        when(orderRepository.aggregateByStatus()).thenReturn(List.of(
+                new OrderStatusAggregate(OrderStatus.COMPLETED, 3L, new BigDecimal("42.50"), 7L),
+                new OrderStatusAggregate(OrderStatus.PENDING_APPROVAL, 1L, new BigDecimal("9.00"), 1L)));
+
+        Map<OrderStatus, OrderStatusStatistics> stats = ordersService.getOrderStatistics(null, null);
+
+        assertEquals(new OrderStatusStatistics(3, new BigDecimal("42.50"), 7), stats.get(OrderStatus.COMPLETED));
+        assertEquals(new OrderStatusStatistics(1, new BigDecimal("9.00"), 1), stats.get(OrderStatus.PENDING_APPROVAL));
+        // Statuses without orders are still reported, with zeroes
+        assertEquals(OrderStatus.values().length, stats.size());
+        assertEquals(OrderStatusStatistics.EMPTY, stats.get(OrderStatus.CANCELLED));
+
+        verify(orderRepository, times(1)).aggregateByStatus();
+        verify(orderRepository, never()).aggregateByStatusBetween(any(), any());
+    }
+
+    @Test
+    void getOrderStatistics_shouldIncludeArchivedOrders() {
+        when(orderRepository.aggregateByStatus()).thenReturn(List.of(
+                new OrderStatusAggregate(OrderStatus.COMPLETED, 3L, new BigDecimal("42.50"), 7L)));
+        when(archivedOrderRepository.aggregateByStatus()).thenReturn(List.of(
+                new OrderStatusAggregate(OrderStatus.COMPLETED, 10L, new BigDecimal("100.00"), 12L)));
+
+        Map<OrderStatus, OrderStatusStatistics> stats = ordersService.getOrderStatistics(null, null);
+
+        assertEquals(new OrderStatusStatistics(13, new BigDecimal("142.50"), 19), stats.get(OrderStatus.COMPLETED));
     }
 
     @Test
-    void getOrderStatistics_shouldReturnCountsPerStatus() {
-        for (OrderStatus status : OrderStatus.values()) {
-            // stub the method actually called when start/end are null
-            when(orderRepository.countByStatus(status)).thenReturn((long) status.ordinal() + 1);
-        }
+    void getOrderStatistics_shouldServeFromCountersWithoutQuerying() {
+        Instant start = Instant.parse("2025-11-01T00:00:00Z");
+        Instant end = Instant.parse("2025-11-30T23:59:59Z");
+        Map<OrderStatus, OrderStatusStatistics> live = Map.of(
+                OrderStatus.COMPLETED, new OrderStatusStatistics(4, new BigDecimal("40.00"), 8));
 
-        Map<OrderStatus, Long> stats = ordersService.getOrderStatistics(null, null);
+        when(orderCounters.getStatistics(start, end)).thenReturn(Optional.of(live));
 
-        for (OrderStatus status : OrderStatus.values()) {
-            assertEquals((long) status.ordinal() + 1, stats.get(status));
-            verify(orderRepository).countByStatus(status); // verify correct method
-        }
+        assertEquals(live, ordersService.getOrderStatistics(start, end));
+        verifyNoInteractions(orderRepository);
     }
 
     @Test
-    void getOrderStatistics_withDateRange_shouldReturnCountsPerStatus() {
+    void getOrderStatistics_withDateRange_shouldAggregateInOneQuery() {
         Instant start = Instant.parse("2025-11-01T00:00:00Z");
         Instant end = Instant.parse("2025-11-30T23:59:59Z");
 
-        for (OrderStatus status : OrderStatus.values()) {
-            when(orderRepository.countByStatusAndCreatedAtBetween(status, start, end))
-                    .thenReturn((long) status.ordinal() + 10);
-        }
+        when(orderRepository.aggregateByStatusBetween(start, end)).thenReturn(List.of(
+                new OrderStatusAggregate(OrderStatus.CONFIRMED, 2L, new BigDecimal("20.00"), 4L)));
 
-        Map<OrderStatus, Long> stats = ordersService.getOrderStatistics(start, end);
+        Map<OrderStatus, OrderStatusStatistics> stats = ordersService.getOrderStatistics(start, end);
 
-        for (OrderStatus status : OrderStatus.values()) {
-            assertEquals((long) status.ordinal() + 10, stats.get(status));
-            verify(orderRepository).countByStatusAndCreatedAtBetween(status, start, end);
-        }
+        assertEquals(new OrderStatusStatistics(2, new BigDecimal("20.00"), 4), stats.get(OrderStatus.CONFIRMED));
+        assertEquals(OrderStatusStatistics.EMPTY, stats.get(OrderStatus.COMPLETED));
+
+        verify(orderRepository, times(1)).aggregateByStatusBetween(start, end);
+        verify(orderRepository, never()).aggregateByStatus();
     }
 
     @Test
@@ -290,44 +668,103 @@ public class OrdersServiceImplTest {
 
     @Test
     void updateStatusValidated_shouldUpdateValidTransition() {
-        Order order = new Order(2L, Instant.now(), new BigDecimal("10"));
-        order.setId(1L);
-        order.setStatus(OrderStatus.PENDING_APPROVAL);
-        order.setItems(List.of(new OrderItem(order, 1L, "Cappuccino", new BigDecimal("10"))));
-
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        Instant createdAt = Instant.parse("2025-11-01T12:00:00Z");
+        when(orderRepository.transitionStatus(List.of(1L), Set.of("PENDING_APPROVAL"), "CONFIRMED"))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 2L, createdAt, new BigDecimal("10"), "PENDING_APPROVAL"}));
+        when(orderItemRepository.findNamesByOrderIds(List.of(1L)))
+                .thenReturn(List.of(new OrderItemName(1L, "Cappuccino")));
 
         UpdateOrderRequest request = new UpdateOrderRequest(OrderStatus.CONFIRMED);
 
         OrderDto result = ordersService.updateStatusValidated(1L, request);
 
         assertEquals(OrderStatus.CONFIRMED, result.status());
-        verify(orderRepository).findById(1L);
+        assertEquals(2L, result.userId());
+        assertEquals(List.of("Cappuccino"), result.itemNames());
+        // A single compare-and-set UPDATE, no entity load
+        verify(orderRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(OrderChangedEvent.statusChanged(result, OrderStatus.PENDING_APPROVAL));
     }
 
     @Test
-    void updateStatusValidated_shouldThrowForInvalidTransition() {
-        Order order = new Order(2L, Instant.now(), new BigDecimal("10"));
-        order.setId(1L);
-        order.setStatus(OrderStatus.COMPLETED);
+    void updateStatusValidated_shouldOnlyAllowPredecessorsFromTransitionTable() {
+        when(orderRepository.transitionStatus(eq(List.of(1L)), any(), eq("CANCELLED"))).thenReturn(List.of());
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.IN_PROGRESS));
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> ordersService.updateStatusValidated(1L, new UpdateOrderRequest(OrderStatus.CANCELLED)));
 
-        UpdateOrderRequest request = new UpdateOrderRequest(OrderStatus.CONFIRMED);
+        verify(orderRepository).transitionStatus(List.of(1L), Set.of("PENDING_APPROVAL", "CONFIRMED"), "CANCELLED");
+    }
+
+    @Test
+    void updateStatusValidated_shouldThrowForInvalidTransition() {
+        // Nothing leads back to PENDING_APPROVAL, so no UPDATE is even attempted
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.COMPLETED));
+
+        UpdateOrderRequest request = new UpdateOrderRequest(OrderStatus.PENDING_APPROVAL);
 
         assertThrows(InvalidStatusTransitionException.class,
                 () -> ordersService.updateStatusValidated(1L, request));
+        verify(orderRepository, never()).transitionStatus(any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
     void updateStatusValidated_shouldThrowIfOrderNotFound() {
-        when(orderRepository.findById(999L)).thenReturn(Optional.empty());
+        when(orderRepository.transitionStatus(eq(List.of(999L)), any(), any())).thenReturn(List.of());
+        when(orderRepository.findStatusById(999L)).thenReturn(Optional.empty());
         UpdateOrderRequest request = new UpdateOrderRequest(OrderStatus.CONFIRMED);
 
         assertThrows(OrderNotFoundException.class,
                 () -> ordersService.updateStatusValidated(999L, request));
     }
 
+    @Test
+    void bulkUpdateStatusValidated_shouldReportPerOrderOutcome() {
+        Instant createdAt = Instant.parse("2025-11-01T12:00:00Z");
+        // 1 and 3 are on the tray, 2 was already picked up, 4 does not exist; 3 is sent twice
+        when(orderRepository.transitionStatus(Set.of(1L, 2L, 3L, 4L), Set.of("IN_PROGRESS"), "READY_FOR_PICKUP"))
+                .thenReturn(List.<Object[]>of(
+                        new Object[]{1L, 2L, createdAt, new BigDecimal("10"), "IN_PROGRESS"},
+                        new Object[]{3L, 5L, createdAt, new BigDecimal("4"), "IN_PROGRESS"}));
+        when(orderItemRepository.findNamesByOrderIds(List.of(1L, 3L))).thenReturn(List.of(
+                new OrderItemName(1L, "Cappuccino"),
+                new OrderItemName(3L, "Espresso")));
+        when(orderRepository.findStatusesByIds(List.of(2L, 4L)))
+                .thenReturn(List.of(new OrderIdStatus(2L, OrderStatus.COMPLETED)));
+
+        List<StatusUpdateResult> results = ordersService.bulkUpdateStatusValidated(
+                new BulkStatusUpdateRequest(List.of(1L, 2L, 3L, 4L, 3L), OrderStatus.READY_FOR_PICKUP));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), results.stream().map(StatusUpdateResult::orderId).toList());
+        assertTrue(results.get(0).updated());
+        assertEquals(List.of("Cappuccino"), results.get(0).order().itemNames());
+        assertEquals(OrderStatus.READY_FOR_PICKUP, results.get(2).order().status());
+        assertFalse(results.get(1).updated());
+        assertEquals("Cannot change status from COMPLETED to READY_FOR_PICKUP", results.get(1).error());
+        assertEquals("Order not found: 4", results.get(3).error());
+
+        // One UPDATE for the whole tray, one event per order that moved
+        verify(orderRepository, times(1)).transitionStatus(any(), any(), any());
+        verify(eventPublisher, times(2)).publishEvent(any(OrderChangedEvent.class));
+    }
+
+    @Test
+    void deleteOrder_shouldPublishDeletedOrder() {
+        Order order = new Order(2L, Instant.now(), new BigDecimal("10"));
+        order.setId(1L);
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setItems(List.of(new OrderItem(order, 1L, "Cappuccino", new BigDecimal("10"))));
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
 
+        ordersService.deleteOrder(1L);
 
-}
+        verify(orderRepository).delete(order);
+        ArgumentCaptor<OrderChangedEvent> eventCaptor = ArgumentCaptor.forClass(OrderChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertTrue(eventCaptor.getValue().deleted());
+        assertEquals(OrderStatus.CONFIRMED, eventCaptor.getValue().previousStatus());
+    }
+}
\ No newline at end of file